@@ -0,0 +1,7 @@
+#!/bin/sh
+# Lets the replica of docker-compose.replica.yaml stream from this primary.
+set -e
+
+psql -v ON_ERROR_STOP=1 -U "$POSTGRES_USER" -d "$POSTGRES_DB" \
+    -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';"
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -6,13 +6,13 @@ import com.euandresimoes.spring_crm.auth.exception.*;
 import com.euandresimoes.spring_crm.shared.security.JwtService;
 
 // No import needed for same package JwtService
-import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -80,6 +80,7 @@ public class AuthService {
                         });
     }
 
+    @Transactional(readOnly = true)
     public FindUserResponse findUserByID(@NonNull UUID id) {
         UserEntity user = repo.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id.toString()));
@@ -87,6 +88,7 @@ public class AuthService {
         return FindUserResponse.from(user);
     }
 
+    @Transactional(readOnly = true)
     public FindUserResponse findUserByEmail(String email) {
         UserEntity user = repo.findByEmail(email)
                 .orElseThrow(() -> new EmailNotFoundException(email));
@@ -94,6 +96,7 @@ public class AuthService {
         return FindUserResponse.from(user);
     }
 
+    @Transactional(readOnly = true)
     public List<FindUserResponse> findAllUsers(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<UserEntity> pageResult = repo.findAll(pageable);
@@ -103,6 +106,7 @@ public class AuthService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ProfileResponse getProfile(@NonNull UUID id) {
         UserEntity user = repo.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id.toString()));
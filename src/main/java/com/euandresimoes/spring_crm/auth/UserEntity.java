@@ -9,13 +9,15 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.euandresimoes.spring_crm.shared.persistence.UuidV7Id;
+
 @Entity
 @Table(name = "users", schema = "auth")
 @EntityListeners(AuditingEntityListener.class)
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(length = 50)
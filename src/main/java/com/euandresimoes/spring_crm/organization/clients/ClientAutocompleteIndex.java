@@ -0,0 +1,269 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSuggestion;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory prefix index over client names and emails, one sorted map per
+ * organization. Each client is stored under its full name, every later word
+ * of its name and its email, so "sil" finds "Ana Silva". A lookup is a single
+ * range scan over the sorted keys and never touches the database.
+ * <p>
+ * An organization is loaded on its first lookup and then kept current from
+ * {@link ClientsChangedEvent} after each commit. Organizations are held in
+ * LRU order and the least recently used ones are dropped once the estimated
+ * footprint exceeds the memory budget; they are rebuilt on their next lookup.
+ * Like the ownership cache, the index is local to the instance.
+ */
+@Component
+public class ClientAutocompleteIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    // Rough per-entry overheads: skip list node and key String, suggestion record
+    private static final long KEY_OVERHEAD_BYTES = 96;
+    private static final long CLIENT_OVERHEAD_BYTES = 128;
+
+    private final ClientRepository clientRepo;
+    private final OrganizationOwnership ownership;
+    private final long budgetBytes;
+
+    private final LinkedHashMap<UUID, OrganizationIndex> organizations = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ClientAutocompleteIndex(
+            ClientRepository clientRepo,
+            OrganizationOwnership ownership,
+            @Value("${clients.autocomplete.memory-budget:64MB}") DataSize budget,
+            MeterRegistry meterRegistry) {
+        this.clientRepo = clientRepo;
+        this.ownership = ownership;
+        this.budgetBytes = budget.toBytes();
+
+        FunctionCounter.builder("clients.autocomplete.builds", builds, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("clients.autocomplete.evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("clients.autocomplete.bytes", totalBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * @return up to {@code limit} clients whose name, a word of their name or
+     *         email starts with {@code prefix}, in key order
+     */
+    public List<ClientSuggestion> suggest(UUID userId, UUID organizationID, String prefix, int limit) {
+        ownership.requireOwned(userId, organizationID);
+
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        OrganizationIndex index = loaded(organizationID);
+        return index.complete(normalized, Math.min(limit, MAX_LIMIT));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClientsChanged(ClientsChangedEvent event) {
+        OrganizationIndex index;
+        synchronized (organizations) {
+            // Organizations that are not loaded pick the change up when they are
+            index = organizations.get(event.organizationId());
+        }
+        if (index == null) {
+            return;
+        }
+
+        synchronized (index) {
+            for (ClientChange change : event.changes()) {
+                if (change.after() == null) {
+                    index.remove(change.clientId());
+                } else {
+                    index.put(new ClientSuggestion(change.clientId(), change.after().name(), change.after().email()));
+                }
+            }
+        }
+        evictOver(index);
+    }
+
+    public long getBuilds() {
+        return builds.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    long getBytes() {
+        return totalBytes.get();
+    }
+
+    private OrganizationIndex loaded(UUID organizationID) {
+        OrganizationIndex index;
+        synchronized (organizations) {
+            index = organizations.computeIfAbsent(organizationID, id -> new OrganizationIndex());
+        }
+        if (index.loaded) {
+            return index;
+        }
+
+        // Registered before loading so commits during the load are applied
+        // afterwards instead of being lost; puts and removes are idempotent
+        synchronized (index) {
+            if (!index.loaded) {
+                for (ClientSuggestion client : clientRepo.findSuggestions(organizationID)) {
+                    index.put(client);
+                }
+                index.loaded = true;
+                builds.increment();
+            }
+        }
+        evictOver(index);
+        return index;
+    }
+
+    private void evictOver(OrganizationIndex keep) {
+        synchronized (organizations) {
+            Iterator<Map.Entry<UUID, OrganizationIndex>> eldest = organizations.entrySet().iterator();
+            while (totalBytes.get() > budgetBytes && eldest.hasNext()) {
+                OrganizationIndex index = eldest.next().getValue();
+                // Indexes still loading are in use by definition
+                if (index == keep || !index.loaded) {
+                    continue;
+                }
+                eldest.remove();
+                synchronized (index) {
+                    index.evicted = true;
+                    totalBytes.addAndGet(-index.bytes);
+                }
+                evictions.increment();
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(text.strip(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+    private final class OrganizationIndex {
+
+        // token + '\0' + client id, so equal tokens of different clients coexist
+        private final ConcurrentSkipListMap<String, ClientSuggestion> keys = new ConcurrentSkipListMap<>();
+        private final Map<UUID, List<String>> keysByClient = new HashMap<>();
+        private volatile boolean loaded;
+        private boolean evicted;
+        private long bytes;
+
+        List<ClientSuggestion> complete(String prefix, int limit) {
+            NavigableMap<String, ClientSuggestion> range = keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            Map<UUID, ClientSuggestion> found = new LinkedHashMap<>();
+            for (ClientSuggestion client : range.values()) {
+                found.putIfAbsent(client.id(), client);
+                if (found.size() == limit) {
+                    break;
+                }
+            }
+            return new ArrayList<>(found.values());
+        }
+
+        // Callers hold the monitor of this index
+        void put(ClientSuggestion client) {
+            remove(client.id());
+
+            List<String> clientKeys = new ArrayList<>();
+            for (String token : tokens(client)) {
+                String key = token + '\0' + client.id();
+                if (keys.put(key, client) == null) {
+                    clientKeys.add(key);
+                }
+            }
+            keysByClient.put(client.id(), clientKeys);
+            resize(size(client, clientKeys));
+        }
+
+        void remove(UUID clientId) {
+            List<String> clientKeys = keysByClient.remove(clientId);
+            if (clientKeys == null) {
+                return;
+            }
+
+            ClientSuggestion client = null;
+            for (String key : clientKeys) {
+                client = keys.remove(key);
+            }
+            if (client != null) {
+                resize(-size(client, clientKeys));
+            }
+        }
+
+        private void resize(long delta) {
+            bytes += delta;
+            // A change racing with eviction must not count against the budget
+            if (!evicted) {
+                totalBytes.addAndGet(delta);
+            }
+        }
+
+        private static List<String> tokens(ClientSuggestion client) {
+            List<String> tokens = new ArrayList<>();
+            String name = normalize(client.name());
+            if (!name.isEmpty()) {
+                tokens.add(name);
+                String[] words = name.split("\\s+");
+                for (int i = 1; i < words.length; i++) {
+                    tokens.add(words[i]);
+                }
+            }
+            String email = normalize(client.email());
+            if (!email.isEmpty()) {
+                tokens.add(email);
+            }
+            return tokens.isEmpty() ? Collections.emptyList() : tokens;
+        }
+
+        private static long size(ClientSuggestion client, List<String> clientKeys) {
+            long size = CLIENT_OVERHEAD_BYTES + 2L * (length(client.name()) + length(client.email()));
+            for (String key : clientKeys) {
+                size += KEY_OVERHEAD_BYTES + 2L * key.length();
+            }
+            return size;
+        }
+
+        private static int length(String text) {
+            return text == null ? 0 : text.length();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * JDBC access for the client import. Inserts a batch of clients with a single
+ * JDBC batch statement, bypassing the persistence context; each call commits
+ * on its own and publishes one {@link ClientsChangedEvent} for the batch.
+ */
+@Component
+public class ClientBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO organization.clients
+                (id, organization_id, user_id, name, description, email, cpf_cnpj, phone, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String IDENTITIES_SQL = """
+            SELECT email, cpf_cnpj
+            FROM organization.clients
+            WHERE organization_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+    private final OrganizationChangeVersions changeVersions;
+
+    public ClientBatchWriter(JdbcTemplate jdbcTemplate, ApplicationEventPublisher events,
+            OrganizationChangeVersions changeVersions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+        this.changeVersions = changeVersions;
+    }
+
+    @Transactional
+    public void insert(UUID organizationId, UUID userId, List<ClientRow> rows) {
+        // created_at keeps the time the row was read from the import; updated_at
+        // is when it lands, so readers past their settle window still see it
+        Instant persistedAt = Instant.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row, persistedAt));
+
+        events.publishEvent(new ClientsChangedEvent(organizationId, userId, rows.stream()
+                .map(row -> ClientChange.created(row.id(),
+                        new ClientSnapshot(row.name(), row.email(), row.status())))
+                .toList()));
+        changeVersions.bumpOrganization(organizationId);
+    }
+
+    /**
+     * Streams the (email, cpf_cnpj) pair of every client of the organization.
+     */
+    public void forEachIdentity(UUID organizationId, BiConsumer<String, String> consumer) {
+        jdbcTemplate.query(IDENTITIES_SQL,
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getString(2)),
+                organizationId);
+    }
+
+    private void bind(PreparedStatement ps, ClientRow row, Instant persistedAt) throws SQLException {
+        ps.setObject(1, row.id());
+        ps.setObject(2, row.organizationId());
+        ps.setObject(3, row.userId());
+        ps.setString(4, row.name());
+        ps.setString(5, row.description());
+        ps.setString(6, row.email());
+        ps.setString(7, row.cpfCnpj());
+        ps.setString(8, row.phone());
+        ps.setString(9, row.status().name());
+        ps.setObject(10, row.createdAt().atOffset(ZoneOffset.UTC));
+        ps.setObject(11, persistedAt.atOffset(ZoneOffset.UTC));
+    }
+}
@@ -1,15 +1,33 @@
 package com.euandresimoes.spring_crm.organization.clients;
 
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientImportResponse;
 import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSearchResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientStatusCountsResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSuggestion;
 import com.euandresimoes.spring_crm.organization.clients.dto.CreateClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.dto.PatchClientCommand;
 import com.euandresimoes.spring_crm.organization.clients.dto.UpdateClientCommand;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
+import com.euandresimoes.spring_crm.shared.idempotency.IdempotencyService;
 import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+import com.euandresimoes.spring_crm.shared.web.ConditionalGet;
+import com.euandresimoes.spring_crm.shared.web.CursorPage;
+import com.euandresimoes.spring_crm.shared.web.VersionResponse;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,26 +36,122 @@ import java.util.UUID;
 public class ClientController {
 
     private final ClientService clientService;
+    private final ClientSearchService searchService;
+    private final ClientAutocompleteIndex autocompleteIndex;
+    private final ClientImportService importService;
+    private final ClientStatusCountService statusCountService;
+    private final OrganizationChangeVersions changeVersions;
+    private final IdempotencyService idempotency;
 
-    public ClientController(ClientService clientService) {
+    public ClientController(ClientService clientService, ClientSearchService searchService,
+            ClientAutocompleteIndex autocompleteIndex, ClientImportService importService,
+            ClientStatusCountService statusCountService, OrganizationChangeVersions changeVersions,
+            IdempotencyService idempotency) {
         this.clientService = clientService;
+        this.searchService = searchService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.importService = importService;
+        this.statusCountService = statusCountService;
+        this.changeVersions = changeVersions;
+        this.idempotency = idempotency;
     }
 
     @PostMapping
     public ApiResponse<ClientResponse> createClient(
             @NonNull @AuthenticationPrincipal String userId,
             @PathVariable UUID organizationID,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateClientCommand command) {
-        return ApiResponse.ok(clientService.createClient(UUID.fromString(userId), organizationID, command));
+        UUID user = UUID.fromString(userId);
+        return ApiResponse.ok(idempotency.execute(user, "client.create:" + organizationID, idempotencyKey, command,
+                ClientResponse.class, () -> clientService.createClient(user, organizationID, command)));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ApiResponse<ClientImportResponse> importClientsCsv(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            InputStream body) throws IOException {
+        return ApiResponse.ok(importService.importClients(
+                UUID.fromString(userId), organizationID, ClientImportFormat.CSV, body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ApiResponse<ClientImportResponse> importClientsNdjson(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            InputStream body) throws IOException {
+        return ApiResponse.ok(importService.importClients(
+                UUID.fromString(userId), organizationID, ClientImportFormat.NDJSON, body));
+    }
+
+    @GetMapping("/import/{importId}/report")
+    public ResponseEntity<StreamingResponseBody> downloadImportReport(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @PathVariable UUID importId) {
+        Path report = importService.report(UUID.fromString(userId), organizationID, importId);
+        StreamingResponseBody body = out -> Files.copy(report, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "text/csv")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"client-import-" + importId + ".csv\"")
+                .body(body);
     }
 
     @GetMapping("/find/all")
-    public ApiResponse<List<ClientResponse>> findClients(
+    public ResponseEntity<ApiResponse<List<ClientResponse>>> findClients(
             @NonNull @AuthenticationPrincipal String userId,
             @PathVariable UUID organizationID,
+            @RequestParam(required = false) ClientStatus status,
             @RequestParam int page,
-            @RequestParam int size) {
-        return ApiResponse.ok(clientService.findClients(UUID.fromString(userId), organizationID, page, size));
+            @RequestParam int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID user = UUID.fromString(userId);
+        String etag = changeVersions.organizationEtag(organizationID, "clients", user, status, page, size);
+        return ConditionalGet.respond(etag, ifNoneMatch,
+                () -> clientService.findClients(user, organizationID, status, page, size));
+    }
+
+    @GetMapping(value = "/find/all", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<ClientResponse>>> findClientsByCursor(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam(required = false) ClientStatus status,
+            @RequestParam String cursor,
+            @RequestParam int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID user = UUID.fromString(userId);
+        String etag = changeVersions.organizationEtag(organizationID, "clients-cursor", user, status, cursor, size);
+        return ConditionalGet.respond(etag, ifNoneMatch,
+                () -> clientService.findClientsByCursor(user, organizationID, status, cursor, size));
+    }
+
+    @GetMapping("/counts")
+    public ApiResponse<ClientStatusCountsResponse> countClientsByStatus(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID) {
+        return ApiResponse.ok(statusCountService.getCounts(UUID.fromString(userId), organizationID));
+    }
+
+    @GetMapping("/search")
+    public ApiResponse<ClientSearchResponse> searchClients(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.ok(searchService.search(UUID.fromString(userId), organizationID, q, cursor, size));
+    }
+
+    @GetMapping("/autocomplete")
+    public ApiResponse<List<ClientSuggestion>> autocompleteClients(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.ok(autocompleteIndex.suggest(UUID.fromString(userId), organizationID, prefix, limit));
     }
 
     @PutMapping
@@ -48,12 +162,20 @@ public class ClientController {
         return ApiResponse.ok(clientService.updateClient(UUID.fromString(userId), organizationID, command));
     }
 
+    @PatchMapping("/{id}")
+    public ApiResponse<VersionResponse> patchClient(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @PathVariable UUID id,
+            @Valid @RequestBody PatchClientCommand command) {
+        return ApiResponse.ok(clientService.patchClient(UUID.fromString(userId), organizationID, id, command));
+    }
+
     @DeleteMapping("/{id}")
-    public ApiResponse<Void> deleteClient(
+    public ApiResponse<Integer> deleteClient(
             @NonNull @AuthenticationPrincipal String userId,
             @PathVariable UUID organizationID,
             @PathVariable UUID id) {
-        clientService.deleteClient(UUID.fromString(userId), organizationID, id);
-        return ApiResponse.ok(null);
+        return ApiResponse.ok(clientService.deleteClient(UUID.fromString(userId), organizationID, id));
     }
 }
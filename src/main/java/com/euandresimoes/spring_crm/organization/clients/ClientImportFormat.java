@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+public enum ClientImportFormat {
+    // Header row with the CreateClientCommand field names, e.g. name,email,cpf_cnpj,status
+    CSV,
+    NDJSON
+}
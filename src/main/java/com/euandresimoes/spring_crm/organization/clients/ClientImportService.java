@@ -0,0 +1,355 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientImportResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.CreateClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.exception.ClientImportNotFoundException;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.shared.persistence.UuidV7;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Imports clients from a CSV or NDJSON stream without buffering the payload.
+ * Each row is validated like {@link CreateClientCommand}, checked for a
+ * duplicate email or cpf_cnpj against the organization and the rows before it,
+ * and inserted in JDBC batches that commit independently.
+ * <p>
+ * The outcome of every row is written to a CSV report on disk as the import
+ * progresses, so memory depends on the batch size and the number of distinct
+ * keys, not on the size of the file. Reports can be downloaded for
+ * {@link #REPORT_RETENTION} and are removed after that.
+ */
+@Service
+public class ClientImportService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientImportService.class);
+
+    static final Duration REPORT_RETENTION = Duration.ofHours(1);
+
+    private static final String REPORT_HEADER = "row,status,client_id,message\n";
+
+    private final ClientBatchWriter batchWriter;
+    private final OrganizationOwnership ownership;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader csvReader;
+    private final Validator validator;
+    private final int batchSize;
+
+    private final Map<UUID, ImportReport> reports = new ConcurrentHashMap<>();
+
+    public ClientImportService(
+            ClientBatchWriter batchWriter,
+            OrganizationOwnership ownership,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${clients.import.batch-size:500}") int batchSize) {
+        this.batchWriter = batchWriter;
+        this.ownership = ownership;
+        this.objectMapper = objectMapper;
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    public ClientImportResponse importClients(UUID userId, UUID organizationID, ClientImportFormat format,
+            InputStream body) throws IOException {
+        ownership.requireOwned(userId, organizationID);
+        purgeExpiredReports();
+
+        ImportKeySet keys = new ImportKeySet();
+        batchWriter.forEachIdentity(organizationID, (email, cpfCnpj) -> {
+            String emailKey = emailKey(email);
+            if (emailKey != null)
+                keys.add(ImportKeySet.hash(emailKey));
+            String cpfCnpjKey = cpfCnpjKey(cpfCnpj);
+            if (cpfCnpjKey != null)
+                keys.add(ImportKeySet.hash(cpfCnpjKey));
+        });
+
+        UUID importId = UUID.randomUUID();
+        Path file = Files.createTempFile("client-import-", ".csv");
+        Import run;
+        try (Writer report = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            report.write(REPORT_HEADER);
+            run = new Import(userId, organizationID, keys, report);
+            try {
+                if (format == ClientImportFormat.CSV) {
+                    readCsv(body, run);
+                } else {
+                    readNdjson(body, run);
+                }
+            } catch (JsonProcessingException e) {
+                // The stream cannot be resynchronized: keep what was imported and stop
+                run.malformed(e);
+            }
+            run.flush();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        reports.put(importId, new ImportReport(userId, organizationID, file, Instant.now()));
+        return run.toResponse(importId);
+    }
+
+    /**
+     * @return the report file of an import of this user and organization
+     */
+    public Path report(UUID userId, UUID organizationID, UUID importId) {
+        ImportReport report = reports.get(importId);
+        if (report == null || !report.userId().equals(userId) || !report.organizationId().equals(organizationID)) {
+            throw new ClientImportNotFoundException(importId);
+        }
+        return report.file();
+    }
+
+    private void readCsv(InputStream body, Import run) throws IOException {
+        try (MappingIterator<Map<String, String>> rows = csvReader.readValues(body)) {
+            while (rows.hasNextValue()) {
+                Map<String, String> values = rows.nextValue();
+                ObjectNode node = objectMapper.createObjectNode();
+                // Empty cells are absent values, not empty strings that fail the length checks
+                values.forEach((column, value) -> node.put(column.strip(),
+                        value == null || value.isBlank() ? null : value.strip()));
+                run.accept(node);
+            }
+        }
+    }
+
+    private void readNdjson(InputStream body, Import run) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            while (token != null) {
+                run.accept(parser.readValueAsTree());
+                token = parser.nextToken();
+            }
+        }
+    }
+
+    private void purgeExpiredReports() {
+        Instant cutoff = Instant.now().minus(REPORT_RETENTION);
+        reports.values().removeIf(report -> {
+            if (report.createdAt().isAfter(cutoff))
+                return false;
+            delete(report.file());
+            return true;
+        });
+    }
+
+    @Override
+    public void close() {
+        reports.values().forEach(report -> delete(report.file()));
+        reports.clear();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete client import report {}", file, e);
+        }
+    }
+
+    static String emailKey(String email) {
+        if (email == null || email.isBlank())
+            return null;
+        return "e:" + email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Formatted and unformatted documents are the same document
+    static String cpfCnpjKey(String cpfCnpj) {
+        if (cpfCnpj == null)
+            return null;
+        String digits = cpfCnpj.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : "c:" + digits;
+    }
+
+    private static String csv(String value) {
+        if (value == null)
+            return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private record ImportReport(UUID userId, UUID organizationId, Path file, Instant createdAt) {
+    }
+
+    private record RowResult(int row, ImportRowStatus status, ClientRow client, String message) {
+    }
+
+    /**
+     * State of one running import. Row results are held until their batch is
+     * written so the report stays in row order.
+     */
+    private final class Import {
+
+        private final UUID userId;
+        private final UUID organizationId;
+        private final ImportKeySet keys;
+        private final Writer report;
+        private final List<RowResult> pending = new ArrayList<>(batchSize);
+
+        private int received;
+        private int imported;
+        private int duplicates;
+        private int invalid;
+        private int failed;
+
+        Import(UUID userId, UUID organizationId, ImportKeySet keys, Writer report) {
+            this.userId = userId;
+            this.organizationId = organizationId;
+            this.keys = keys;
+            this.report = report;
+        }
+
+        void accept(JsonNode node) throws IOException {
+            int row = ++received;
+            pending.add(toResult(row, node));
+            if (pending.size() >= batchSize)
+                flush();
+        }
+
+        void malformed(JsonProcessingException e) throws IOException {
+            flush();
+            invalid++;
+            write(received + 1, ImportRowStatus.INVALID, null, "Malformed input, import stopped: " + e.getOriginalMessage());
+        }
+
+        private RowResult toResult(int row, JsonNode node) {
+            CreateClientCommand command;
+            try {
+                command = objectMapper.treeToValue(node, CreateClientCommand.class);
+            } catch (JsonProcessingException e) {
+                return new RowResult(row, ImportRowStatus.INVALID, null, "Malformed row: " + e.getOriginalMessage());
+            }
+
+            if (command == null)
+                return new RowResult(row, ImportRowStatus.INVALID, null, "Row is null");
+
+            Set<ConstraintViolation<CreateClientCommand>> violations = validator.validate(command);
+            if (!violations.isEmpty()) {
+                return new RowResult(row, ImportRowStatus.INVALID, null, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+
+            String emailKey = emailKey(command.email());
+            String cpfCnpjKey = cpfCnpjKey(command.cpf_cnpj());
+            if (emailKey != null && keys.contains(ImportKeySet.hash(emailKey)))
+                return new RowResult(row, ImportRowStatus.DUPLICATE, null, "Duplicate email");
+            if (cpfCnpjKey != null && keys.contains(ImportKeySet.hash(cpfCnpjKey)))
+                return new RowResult(row, ImportRowStatus.DUPLICATE, null, "Duplicate cpf_cnpj");
+
+            if (emailKey != null)
+                keys.add(ImportKeySet.hash(emailKey));
+            if (cpfCnpjKey != null)
+                keys.add(ImportKeySet.hash(cpfCnpjKey));
+
+            return new RowResult(row, ImportRowStatus.IMPORTED, new ClientRow(
+                    UuidV7.generate(),
+                    organizationId,
+                    userId,
+                    command.name(),
+                    command.description(),
+                    command.email(),
+                    command.cpf_cnpj(),
+                    command.phone(),
+                    command.status(),
+                    Instant.now()), null);
+        }
+
+        void flush() throws IOException {
+            List<ClientRow> batch = pending.stream()
+                    .map(RowResult::client)
+                    .filter(client -> client != null)
+                    .toList();
+            Map<ClientRow, String> insertFailures = insert(batch);
+
+            for (RowResult result : pending) {
+                if (result.client() == null) {
+                    if (result.status() == ImportRowStatus.DUPLICATE)
+                        duplicates++;
+                    else
+                        invalid++;
+                    write(result.row(), result.status(), null, result.message());
+                } else if (insertFailures.containsKey(result.client())) {
+                    failed++;
+                    write(result.row(), ImportRowStatus.FAILED, null, insertFailures.get(result.client()));
+                } else {
+                    imported++;
+                    write(result.row(), ImportRowStatus.IMPORTED, result.client().id(), null);
+                }
+            }
+            pending.clear();
+        }
+
+        private Map<ClientRow, String> insert(List<ClientRow> batch) {
+            if (batch.isEmpty())
+                return Map.of();
+
+            try {
+                batchWriter.insert(organizationId, userId, batch);
+                return Map.of();
+            } catch (DataAccessException batchFailure) {
+                // The whole batch rolled back: retry row by row to isolate the offending rows
+                Map<ClientRow, String> failures = new IdentityHashMap<>();
+                for (ClientRow client : batch) {
+                    try {
+                        batchWriter.insert(organizationId, userId, List.of(client));
+                    } catch (DataAccessException e) {
+                        failures.put(client, "Insert failed: " + e.getMostSpecificCause().getMessage());
+                    }
+                }
+                return failures;
+            }
+        }
+
+        private void write(int row, ImportRowStatus status, UUID clientId, String message) throws IOException {
+            report.write(row + "," + status + "," + (clientId == null ? "" : clientId) + "," + csv(message) + "\n");
+        }
+
+        ClientImportResponse toResponse(UUID importId) {
+            return new ClientImportResponse(importId, received, imported, duplicates, invalid, failed);
+        }
+    }
+}
@@ -1,18 +1,150 @@
 package com.euandresimoes.spring_crm.organization.clients;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSuggestion;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ClientRepository extends JpaRepository<ClientEntity, UUID> {
-    Page<ClientEntity> findAllByUserIdAndOrganization_Id(UUID userId, UUID organizationID, Pageable pageable);
+    // Read paths below project straight into ClientResponse: organization.id resolves to the
+    // FK column, so neither the organizations row nor managed ClientEntity instances are loaded.
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse(
+                c.id, c.organization.id, c.userId, c.name, c.description, c.email, c.cpfCnpj, c.phone,
+                c.status, c.createdAt, c.updatedAt, c.version)
+            from ClientEntity c
+            where c.userId = :userId and c.organization.id = :organizationId
+            """)
+    List<ClientResponse> findResponses(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID,
+            Pageable pageable);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse(
+                c.id, c.organization.id, c.userId, c.name, c.description, c.email, c.cpfCnpj, c.phone,
+                c.status, c.createdAt, c.updatedAt, c.version)
+            from ClientEntity c
+            where c.userId = :userId and c.organization.id = :organizationId
+            order by c.createdAt desc, c.id desc
+            """)
+    Slice<ClientResponse> findFirstSlice(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID,
+            Pageable pageable);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse(
+                c.id, c.organization.id, c.userId, c.name, c.description, c.email, c.cpfCnpj, c.phone,
+                c.status, c.createdAt, c.updatedAt, c.version)
+            from ClientEntity c
+            where c.userId = :userId and c.organization.id = :organizationId
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc
+            """)
+    Slice<ClientResponse> findSliceAfter(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
+
+    // Status-filtered variants of the three queries above, served by
+    // idx_clients_org_status_created_id
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse(
+                c.id, c.organization.id, c.userId, c.name, c.description, c.email, c.cpfCnpj, c.phone,
+                c.status, c.createdAt, c.updatedAt, c.version)
+            from ClientEntity c
+            where c.userId = :userId and c.organization.id = :organizationId and c.status = :status
+            """)
+    List<ClientResponse> findResponsesByStatus(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID,
+            @Param("status") ClientStatus status,
+            Pageable pageable);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse(
+                c.id, c.organization.id, c.userId, c.name, c.description, c.email, c.cpfCnpj, c.phone,
+                c.status, c.createdAt, c.updatedAt, c.version)
+            from ClientEntity c
+            where c.userId = :userId and c.organization.id = :organizationId and c.status = :status
+            order by c.createdAt desc, c.id desc
+            """)
+    Slice<ClientResponse> findFirstSliceByStatus(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID,
+            @Param("status") ClientStatus status,
+            Pageable pageable);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse(
+                c.id, c.organization.id, c.userId, c.name, c.description, c.email, c.cpfCnpj, c.phone,
+                c.status, c.createdAt, c.updatedAt, c.version)
+            from ClientEntity c
+            where c.userId = :userId and c.organization.id = :organizationId and c.status = :status
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc
+            """)
+    Slice<ClientResponse> findSliceAfterByStatus(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID,
+            @Param("status") ClientStatus status,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
 
     Optional<ClientEntity> findByIdAndUserIdAndOrganization_Id(UUID id, UUID userId, UUID organizationID);
 
-    void deleteByIdAndUserIdAndOrganization_Id(UUID id, UUID userId, UUID organizationID);
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.dto.ClientSuggestion(c.id, c.name, c.email)
+            from ClientEntity c
+            where c.organization.id = :organizationId
+            """)
+    List<ClientSuggestion> findSuggestions(@Param("organizationId") UUID organizationID);
+
+    /**
+     * Reads and row-locks the derived-data columns of a client about to be
+     * deleted, so listeners see the row that is actually removed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot(c.name, c.email, c.status)
+            from ClientEntity c
+            where c.id = :id and c.userId = :userId and c.organization.id = :organizationId
+            """)
+    Optional<ClientSnapshot> lockSnapshot(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID);
+
+    // Single DELETE statement; nothing is loaded into the persistence context
+    @Modifying
+    @Query("""
+            delete from ClientEntity c
+            where c.id = :id and c.userId = :userId and c.organization.id = :organizationId
+            """)
+    int deleteByIdAndUserIdAndOrganization_Id(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationID);
 }
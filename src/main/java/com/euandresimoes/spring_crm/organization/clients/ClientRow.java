@@ -0,0 +1,20 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A fully resolved client ready to be written by {@link ClientBatchWriter}.
+ */
+public record ClientRow(
+        UUID id,
+        UUID organizationId,
+        UUID userId,
+        String name,
+        String description,
+        String email,
+        String cpfCnpj,
+        String phone,
+        ClientStatus status,
+        Instant createdAt) {
+}
@@ -0,0 +1,46 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.euandresimoes.spring_crm.shared.web.exception.InvalidCursorException;
+
+/**
+ * Position in a search result ordered by {@code (rank, lower(name), id)},
+ * exchanged with clients as an opaque URL-safe string. {@code returned} counts
+ * the matches handed out so far, which the match limit is checked against.
+ */
+public record ClientSearchCursor(
+        int rank,
+        String sortName,
+        UUID id,
+        int returned) {
+
+    public String encode() {
+        // The name goes last so colons inside it survive the split
+        String raw = rank + ":" + returned + ":" + id + ":" + sortName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ClientSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length != 4)
+                throw new InvalidCursorException(cursor);
+
+            int returned = Integer.parseInt(parts[1]);
+            if (returned < 0)
+                throw new InvalidCursorException(cursor);
+
+            return new ClientSearchCursor(
+                    Integer.parseInt(parts[0]),
+                    parts[3],
+                    UUID.fromString(parts[2]),
+                    returned);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
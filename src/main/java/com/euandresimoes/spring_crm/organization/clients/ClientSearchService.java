@@ -0,0 +1,158 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSearchResponse;
+import com.euandresimoes.spring_crm.organization.clients.exception.InvalidSearchQueryException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Prefix and substring search over a client's name, email, CPF/CNPJ and phone.
+ * <p>
+ * Every searched column is compared lower-cased with {@code LIKE}, which on
+ * Postgres is served by the trigram GIN indexes from
+ * {@code db/vendor/postgresql/V8}; on H2 the same query scans the
+ * organization's clients. Matches are ranked name prefix first, then a prefix
+ * of any other field, then a substring of the name, then everything else, and
+ * ordered by name within a rank.
+ * <p>
+ * Terms need at least three characters, the length of a trigram; shorter ones
+ * cannot use the indexes. Each page is a top-N sort of the matches after the
+ * cursor, so its memory stays bounded by the page size whatever the term. A
+ * search pages through at most {@code maxMatches} matches, the first ones in
+ * rank order; the page reaching that limit reports {@code truncated} when
+ * more matches exist, and the term needs refining.
+ */
+@Service
+public class ClientSearchService {
+
+    static final int MIN_QUERY_LENGTH = 3;
+
+    private static final String SEARCH_SQL = """
+            SELECT * FROM (
+                SELECT id, organization_id, user_id, name, description, email, cpf_cnpj, phone, status,
+                       created_at, updated_at, version,
+                       LOWER(name) AS sort_name,
+                       CASE
+                           WHEN LOWER(name) LIKE :prefix ESCAPE '\\' THEN 0
+                           WHEN LOWER(email) LIKE :prefix ESCAPE '\\'
+                                OR LOWER(cpf_cnpj) LIKE :prefix ESCAPE '\\'
+                                OR LOWER(phone) LIKE :prefix ESCAPE '\\' THEN 1
+                           WHEN LOWER(name) LIKE :contains ESCAPE '\\' THEN 2
+                           ELSE 3
+                       END AS search_rank
+                FROM organization.clients
+                WHERE organization_id = :organizationId AND user_id = :userId
+                  AND (LOWER(name) LIKE :contains ESCAPE '\\'
+                       OR LOWER(email) LIKE :contains ESCAPE '\\'
+                       OR LOWER(cpf_cnpj) LIKE :contains ESCAPE '\\'
+                       OR LOWER(phone) LIKE :contains ESCAPE '\\')
+            ) ranked
+            %s
+            ORDER BY search_rank, sort_name, id
+            LIMIT :limit
+            """;
+
+    private static final String AFTER_CURSOR = """
+            WHERE search_rank > :rank
+               OR (search_rank = :rank AND (sort_name > :sortName OR (sort_name = :sortName AND id > :id)))
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxMatches;
+
+    public ClientSearchService(NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${clients.search.max-matches:1000}") int maxMatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxMatches = maxMatches;
+    }
+
+    public ClientSearchResponse search(UUID userId, UUID organizationID, String query, String cursor, int size) {
+        String term = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_QUERY_LENGTH) {
+            throw new InvalidSearchQueryException(MIN_QUERY_LENGTH);
+        }
+
+        ClientSearchCursor after = cursor == null || cursor.isBlank() ? null : ClientSearchCursor.decode(cursor);
+        int returned = after == null ? 0 : after.returned();
+        int pageSize = Math.min(Math.max(1, size), Math.max(0, maxMatches - returned));
+        if (pageSize == 0) {
+            return new ClientSearchResponse(List.of(), null, true);
+        }
+
+        String escaped = escapeLike(term);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("organizationId", organizationID)
+                .addValue("userId", userId)
+                .addValue("prefix", escaped + "%")
+                .addValue("contains", "%" + escaped + "%")
+                // One extra row tells whether another page exists
+                .addValue("limit", pageSize + 1);
+
+        String sql;
+        if (after == null) {
+            sql = SEARCH_SQL.formatted("");
+        } else {
+            params.addValue("rank", after.rank())
+                    .addValue("sortName", after.sortName())
+                    .addValue("id", after.id());
+            sql = SEARCH_SQL.formatted(AFTER_CURSOR);
+        }
+
+        List<RankedClient> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> mapRow(rs));
+
+        String nextCursor = null;
+        boolean truncated = false;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            returned += pageSize;
+            if (returned >= maxMatches) {
+                truncated = true;
+            } else {
+                RankedClient last = rows.get(pageSize - 1);
+                nextCursor = new ClientSearchCursor(last.rank(), last.sortName(), last.client().id(), returned)
+                        .encode();
+            }
+        }
+
+        return new ClientSearchResponse(rows.stream().map(RankedClient::client).toList(), nextCursor, truncated);
+    }
+
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static RankedClient mapRow(ResultSet rs) throws SQLException {
+        ClientResponse client = new ClientResponse(
+                rs.getObject("id", UUID.class),
+                rs.getObject("organization_id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getString("email"),
+                rs.getString("cpf_cnpj"),
+                rs.getString("phone"),
+                rs.getString("status"),
+                toInstant(rs.getObject("created_at", OffsetDateTime.class)),
+                toInstant(rs.getObject("updated_at", OffsetDateTime.class)),
+                rs.getLong("version"));
+        return new RankedClient(rs.getInt("search_rank"), rs.getString("sort_name"), client);
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+
+    private record RankedClient(int rank, String sortName, ClientResponse client) {
+    }
+}
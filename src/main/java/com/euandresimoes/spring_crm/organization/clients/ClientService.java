@@ -2,18 +2,31 @@ package com.euandresimoes.spring_crm.organization.clients;
 
 import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
 import com.euandresimoes.spring_crm.organization.clients.dto.CreateClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.dto.PatchClientCommand;
 import com.euandresimoes.spring_crm.organization.clients.dto.UpdateClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
 import com.euandresimoes.spring_crm.organization.clients.exception.ClientNotFoundException;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
 import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
-import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
-import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
-import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.shared.persistence.VersionedUpdate;
+import com.euandresimoes.spring_crm.shared.web.CursorPage;
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import com.euandresimoes.spring_crm.shared.web.VersionResponse;
+import com.euandresimoes.spring_crm.shared.web.exception.VersionConflictException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,16 +34,23 @@ import java.util.UUID;
 public class ClientService {
 
     private final ClientRepository clientRepo;
-    private final OrganizationRepository organizationRepo;
+    private final OrganizationOwnership ownership;
+    private final ApplicationEventPublisher events;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OrganizationChangeVersions changeVersions;
 
-    public ClientService(ClientRepository clientRepo, OrganizationRepository organizationRepo) {
+    public ClientService(ClientRepository clientRepo, OrganizationOwnership ownership,
+            ApplicationEventPublisher events, NamedParameterJdbcTemplate jdbcTemplate,
+            OrganizationChangeVersions changeVersions) {
         this.clientRepo = clientRepo;
-        this.organizationRepo = organizationRepo;
+        this.ownership = ownership;
+        this.events = events;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeVersions = changeVersions;
     }
 
     public ClientResponse createClient(UUID userId, UUID organizationID, CreateClientCommand command) {
-        OrganizationEntity org = organizationRepo.findByIdAndUserId(organizationID, userId)
-                .orElseThrow(() -> new OrganizationNotFoundException(organizationID));
+        OrganizationEntity org = ownership.requireOwned(userId, organizationID);
 
         ClientEntity client = new ClientEntity(
                 org,
@@ -43,28 +63,73 @@ public class ClientService {
                 command.status());
 
         clientRepo.save(client);
+        events.publishEvent(ClientsChangedEvent.of(organizationID, userId,
+                ClientChange.created(client.getId(), ClientSnapshot.from(client))));
+        changeVersions.bumpOrganization(organizationID);
+
         return ClientResponse.from(client);
     }
 
-    public void deleteClient(UUID userId, UUID organizationID, UUID id) {
-        clientRepo.deleteByIdAndUserIdAndOrganization_Id(
+    public int deleteClient(UUID userId, UUID organizationID, UUID id) {
+        Optional<ClientSnapshot> before = clientRepo.lockSnapshot(id, userId, organizationID);
+        if (before.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = clientRepo.deleteByIdAndUserIdAndOrganization_Id(
                 id,
                 userId,
                 organizationID);
+        if (deleted > 0) {
+            events.publishEvent(ClientsChangedEvent.of(organizationID, userId,
+                    ClientChange.deleted(id, before.get())));
+            changeVersions.bumpOrganization(organizationID);
+        }
+        return deleted;
     }
 
-    public List<ClientResponse> findClients(UUID userId, UUID organizationID, int page, int size) {
+    /**
+     * @param status optional filter; null lists clients in every status
+     */
+    @Transactional(readOnly = true)
+    public List<ClientResponse> findClients(UUID userId, UUID organizationID, ClientStatus status, int page,
+            int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ClientEntity> pageResult = clientRepo.findAllByUserIdAndOrganization_Id(
+        if (status != null) {
+            return clientRepo.findResponsesByStatus(userId, organizationID, status, pageable);
+        }
+        return clientRepo.findResponses(
                 userId,
                 organizationID,
                 pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ClientResponse> findClientsByCursor(UUID userId, UUID organizationID, ClientStatus status,
+            String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<ClientResponse> slice;
 
-        return pageResult
-                .getContent()
-                .stream()
-                .map(ClientResponse::from)
-                .toList();
+        if (cursor == null || cursor.isBlank()) {
+            slice = status == null
+                    ? clientRepo.findFirstSlice(userId, organizationID, pageable)
+                    : clientRepo.findFirstSliceByStatus(userId, organizationID, status, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = status == null
+                    ? clientRepo.findSliceAfter(userId, organizationID, after.createdAt(), after.id(), pageable)
+                    : clientRepo.findSliceAfterByStatus(userId, organizationID, status, after.createdAt(),
+                            after.id(), pageable);
+        }
+
+        List<ClientResponse> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            ClientResponse last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.created_at(), last.id()).encode();
+        }
+
+        return new CursorPage<>(content, nextCursor);
     }
 
     public ClientResponse updateClient(UUID userId, UUID organizationID, UpdateClientCommand command) {
@@ -73,6 +138,8 @@ public class ClientService {
                 userId,
                 organizationID)
                 .orElseThrow(() -> new ClientNotFoundException(command.id()));
+
+        ClientSnapshot before = ClientSnapshot.from(client);
         client.setName(command.name());
         client.setDescription(command.description());
         client.setEmail(command.email());
@@ -80,6 +147,57 @@ public class ClientService {
         client.setPhone(command.phone());
         client.setStatus(command.status());
 
-        return ClientResponse.from(clientRepo.save(client));
+        ClientEntity saved = clientRepo.save(client);
+        events.publishEvent(ClientsChangedEvent.of(organizationID, userId,
+                ClientChange.updated(saved.getId(), before, ClientSnapshot.from(saved))));
+        changeVersions.bumpOrganization(organizationID);
+
+        return ClientResponse.from(saved);
+    }
+
+    /**
+     * Writes only the fields present in the command, as one UPDATE conditioned
+     * on the caller's version.
+     *
+     * @throws VersionConflictException when the client was changed since that version
+     */
+    public VersionResponse patchClient(UUID userId, UUID organizationID, UUID id, PatchClientCommand command) {
+        VersionedUpdate update = VersionedUpdate.table("organization.clients")
+                .set("name", command.name())
+                .set("description", command.description())
+                .set("email", command.email())
+                .set("cpf_cnpj", command.cpf_cnpj())
+                .set("phone", command.phone())
+                .set("status", command.status())
+                .where("id", id)
+                .where("user_id", userId)
+                .where("organization_id", organizationID);
+
+        // Every successful patch publishes a change, so the outbox sees edits of
+        // any column; listeners also need the previous name, email and status
+        ClientSnapshot before = null;
+        if (!update.isEmpty()) {
+            before = clientRepo.lockSnapshot(id, userId, organizationID)
+                    .orElseThrow(() -> new ClientNotFoundException(id));
+        }
+
+        if (update.isEmpty() || update.execute(jdbcTemplate, command.version(), Instant.now()) == 0) {
+            long current = update.currentVersion(jdbcTemplate)
+                    .orElseThrow(() -> new ClientNotFoundException(id));
+            if (!update.isEmpty() || current != command.version()) {
+                throw new VersionConflictException(id, command.version(), current);
+            }
+            return new VersionResponse(id, current);
+        }
+
+        ClientSnapshot after = new ClientSnapshot(
+                command.name() != null ? command.name() : before.name(),
+                command.email() != null ? command.email() : before.email(),
+                command.status() != null ? command.status() : before.status());
+        events.publishEvent(ClientsChangedEvent.of(organizationID, userId,
+                ClientChange.updated(id, before, after)));
+        changeVersions.bumpOrganization(organizationID);
+
+        return new VersionResponse(id, command.version() + 1);
     }
 }
@@ -0,0 +1,66 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Number of an organization's clients in one {@link ClientStatus}, kept in
+ * step by {@link ClientStatusCountService}.
+ */
+@Entity
+@Table(name = "client_status_counts", schema = "organization")
+@IdClass(ClientStatusCountId.class)
+public class ClientStatusCountEntity {
+
+    @Id
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ClientStatus status;
+
+    @Column(name = "client_count", nullable = false)
+    private long count;
+
+    public ClientStatusCountEntity() {
+    }
+
+    public ClientStatusCountEntity(UUID organizationId, ClientStatus status, long count) {
+        this.organizationId = organizationId;
+        this.status = status;
+        this.count = count;
+    }
+
+    public UUID getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(UUID organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public ClientStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ClientStatus status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+public record ClientStatusCountId(
+        UUID organizationId,
+        ClientStatus status) implements Serializable {
+}
@@ -0,0 +1,27 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ClientStatusCountRepository extends JpaRepository<ClientStatusCountEntity, ClientStatusCountId> {
+
+    List<ClientStatusCountEntity> findAllByOrganizationId(UUID organizationId);
+
+    @Modifying
+    @Query("""
+            update ClientStatusCountEntity c
+            set c.count = c.count + :delta
+            where c.organizationId = :organizationId and c.status = :status
+            """)
+    int addToCount(
+            @Param("organizationId") UUID organizationId,
+            @Param("status") ClientStatus status,
+            @Param("delta") long delta);
+}
@@ -0,0 +1,81 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientStatusCountsResponse;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps {@code organization.client_status_counts} in step with the clients
+ * table. Listeners run synchronously inside the writer's transaction, so a
+ * rollback of the write rolls back the delta as well.
+ */
+@Service
+@Transactional
+public class ClientStatusCountService {
+
+    private final ClientStatusCountRepository countRepo;
+    private final OrganizationOwnership ownership;
+
+    public ClientStatusCountService(ClientStatusCountRepository countRepo, OrganizationOwnership ownership) {
+        this.countRepo = countRepo;
+        this.ownership = ownership;
+    }
+
+    @EventListener
+    public void onOrganizationCreated(OrganizationCreatedEvent event) {
+        for (ClientStatus status : ClientStatus.values()) {
+            countRepo.save(new ClientStatusCountEntity(event.organizationId(), status, 0));
+        }
+    }
+
+    @EventListener
+    public void onClientsChanged(ClientsChangedEvent event) {
+        Map<ClientStatus, Long> deltas = new EnumMap<>(ClientStatus.class);
+        for (ClientChange change : event.changes()) {
+            if (change.before() != null) {
+                deltas.merge(change.before().status(), -1L, Long::sum);
+            }
+            if (change.after() != null) {
+                deltas.merge(change.after().status(), 1L, Long::sum);
+            }
+        }
+
+        // EnumMap iterates in declaration order, so concurrent writers always
+        // lock the rows of one organization in the same order
+        deltas.forEach((status, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            int updated = countRepo.addToCount(event.organizationId(), status, delta);
+            if (updated == 0) {
+                countRepo.save(new ClientStatusCountEntity(event.organizationId(), status, delta));
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ClientStatusCountsResponse getCounts(UUID userId, UUID organizationID) {
+        ownership.requireOwned(userId, organizationID);
+
+        Map<ClientStatus, Long> byStatus = new EnumMap<>(ClientStatus.class);
+        for (ClientStatus status : ClientStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+
+        long total = 0;
+        for (ClientStatusCountEntity count : countRepo.findAllByOrganizationId(organizationID)) {
+            byStatus.put(count.getStatus(), count.getCount());
+            total += count.getCount();
+        }
+        return new ClientStatusCountsResponse(total, byStatus);
+    }
+}
@@ -0,0 +1,91 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+/**
+ * Open-addressing set of 64-bit key hashes used for duplicate detection
+ * during an import. Storing hashes instead of the keys costs 8 bytes per slot
+ * whatever the key length; at these sizes a false positive from a 64-bit
+ * collision is vanishingly unlikely.
+ */
+final class ImportKeySet {
+
+    // 0 marks an empty slot, so a real hash of 0 is stored as this instead
+    private static final long ZERO_HASH = 0x9E3779B97F4A7C15L;
+
+    private long[] slots = new long[1024];
+    private int size;
+
+    /**
+     * @return false when the hash was already present
+     */
+    boolean add(long hash) {
+        if (hash == 0) {
+            hash = ZERO_HASH;
+        }
+        if (size * 2 >= slots.length) {
+            grow();
+        }
+        return insert(slots, hash);
+    }
+
+    boolean contains(long hash) {
+        if (hash == 0) {
+            hash = ZERO_HASH;
+        }
+        int mask = slots.length - 1;
+        for (int i = index(hash, mask); slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 code units, followed by a finalizer that spreads
+     * the bits so linear probing stays short.
+     */
+    static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        int i = index(hash, mask);
+        while (table[i] != 0) {
+            if (table[i] == hash) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = hash;
+        size++;
+        return true;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        size = 0;
+        for (long hash : old) {
+            if (hash != 0) {
+                insert(slots, hash);
+            }
+        }
+    }
+
+    private static int index(long hash, int mask) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,8 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+public enum ImportRowStatus {
+    IMPORTED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.organization.clients.dto;
+
+import java.util.UUID;
+
+public record ClientImportResponse(
+        UUID importId,
+        int received,
+        int imported,
+        int duplicates,
+        int invalid,
+        int failed) {
+}
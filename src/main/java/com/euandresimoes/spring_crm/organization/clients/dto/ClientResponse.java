@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 import com.euandresimoes.spring_crm.organization.clients.ClientEntity;
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
 
 public record ClientResponse(
         UUID id,
@@ -16,7 +17,18 @@ public record ClientResponse(
         String phone,
         String status,
         Instant created_at,
-        Instant updated_at) {
+        Instant updated_at,
+        long version) {
+
+    /**
+     * Used by JPQL constructor expressions, which select the enum column as-is.
+     */
+    public ClientResponse(UUID id, UUID organization_id, UUID user_id, String name, String description,
+            String email, String cpf_cnpj, String phone, ClientStatus status, Instant created_at,
+            Instant updated_at, long version) {
+        this(id, organization_id, user_id, name, description, email, cpf_cnpj, phone, status.name(), created_at,
+                updated_at, version);
+    }
 
     public static ClientResponse from(ClientEntity entity) {
         return new ClientResponse(
@@ -30,7 +42,8 @@ public record ClientResponse(
                 entity.getPhone(),
                 entity.getStatus().name(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt());
+                entity.getUpdatedAt(),
+                entity.getVersion());
     }
 
 }
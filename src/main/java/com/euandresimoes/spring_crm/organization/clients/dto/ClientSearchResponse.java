@@ -0,0 +1,14 @@
+package com.euandresimoes.spring_crm.organization.clients.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a ranked client search. {@code nextCursor} works as in
+ * {@code CursorPage}; {@code truncated} is set on the last slice when the
+ * search stopped at its match limit with more matches left.
+ */
+public record ClientSearchResponse(
+        List<ClientResponse> items,
+        String nextCursor,
+        boolean truncated) {
+}
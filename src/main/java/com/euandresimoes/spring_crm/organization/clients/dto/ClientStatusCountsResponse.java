@@ -0,0 +1,10 @@
+package com.euandresimoes.spring_crm.organization.clients.dto;
+
+import java.util.Map;
+
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
+
+public record ClientStatusCountsResponse(
+        long total,
+        Map<ClientStatus, Long> byStatus) {
+}
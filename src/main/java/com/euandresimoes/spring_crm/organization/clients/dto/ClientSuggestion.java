@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.clients.dto;
+
+import java.util.UUID;
+
+public record ClientSuggestion(
+        UUID id,
+        String name,
+        String email) {
+}
@@ -0,0 +1,23 @@
+package com.euandresimoes.spring_crm.organization.clients.dto;
+
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
+
+import org.hibernate.validator.constraints.Length;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Partial update of a client: null fields are left unchanged.
+ */
+public record PatchClientCommand(
+                @NotNull(message = "Client version is required") Long version,
+                @Length(min = 5, max = 30, message = "Client name must be between 5 and 30 characters") String name,
+                String description,
+                @Pattern(regexp = ".*\\S.*", message = "Client email must not be blank") @Email(message = "Client email is invalid") String email,
+                @Length(min = 11, max = 14, message = "Client cpf_cnpj must be between 11 and 14 characters") String cpf_cnpj,
+                @Length(min = 5, max = 20, message = "Client phone must be between 5 and 20 characters") String phone,
+                ClientStatus status) {
+
+}
@@ -0,0 +1,25 @@
+package com.euandresimoes.spring_crm.organization.clients.event;
+
+import java.util.UUID;
+
+/**
+ * One written client: {@code before} is null for inserts and {@code after}
+ * is null for deletes.
+ */
+public record ClientChange(
+        UUID clientId,
+        ClientSnapshot before,
+        ClientSnapshot after) {
+
+    public static ClientChange created(UUID clientId, ClientSnapshot after) {
+        return new ClientChange(clientId, null, after);
+    }
+
+    public static ClientChange updated(UUID clientId, ClientSnapshot before, ClientSnapshot after) {
+        return new ClientChange(clientId, before, after);
+    }
+
+    public static ClientChange deleted(UUID clientId, ClientSnapshot before) {
+        return new ClientChange(clientId, before, null);
+    }
+}
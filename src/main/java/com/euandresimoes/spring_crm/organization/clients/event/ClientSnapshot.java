@@ -0,0 +1,17 @@
+package com.euandresimoes.spring_crm.organization.clients.event;
+
+import com.euandresimoes.spring_crm.organization.clients.ClientEntity;
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
+
+/**
+ * The columns of a client that derived data depends on, at one point in time.
+ */
+public record ClientSnapshot(
+        String name,
+        String email,
+        ClientStatus status) {
+
+    public static ClientSnapshot from(ClientEntity entity) {
+        return new ClientSnapshot(entity.getName(), entity.getEmail(), entity.getStatus());
+    }
+}
@@ -0,0 +1,18 @@
+package com.euandresimoes.spring_crm.organization.clients.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published inside the writing transaction whenever clients of one
+ * organization are created, updated or deleted.
+ */
+public record ClientsChangedEvent(
+        UUID organizationId,
+        UUID userId,
+        List<ClientChange> changes) {
+
+    public static ClientsChangedEvent of(UUID organizationId, UUID userId, ClientChange change) {
+        return new ClientsChangedEvent(organizationId, userId, List.of(change));
+    }
+}
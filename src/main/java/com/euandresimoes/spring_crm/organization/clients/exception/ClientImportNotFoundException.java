@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.clients.exception;
+
+import java.util.UUID;
+
+public class ClientImportNotFoundException extends RuntimeException {
+    public ClientImportNotFoundException(UUID importId) {
+        super("Client import not found with id: " + importId);
+    }
+}
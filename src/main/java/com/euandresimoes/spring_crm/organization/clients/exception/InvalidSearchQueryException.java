@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.clients.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(int minLength) {
+        super("Search query must have at least " + minLength + " characters");
+    }
+}
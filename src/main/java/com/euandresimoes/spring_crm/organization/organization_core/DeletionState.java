@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+public enum DeletionState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,114 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change counters behind the ETags of the listing endpoints: one per
+ * organization, covering its clients and transactions, and one per user,
+ * covering their list of organizations. A listing reads the counter before
+ * querying, so a request whose {@code If-None-Match} still matches is answered
+ * 304 without a query.
+ * <p>
+ * The counters are columns of the organization and user rows, so every
+ * instance sees the same tags. An organization's counter lives on its shard and
+ * is bumped in the write transaction, becoming visible together with the
+ * write. A user's counter lives on the home database; when sharded, the write
+ * may be on another database and the bump follows its commit. A missing row
+ * reads as -1, so tags of a deleted organization stop matching.
+ */
+@Component
+public class OrganizationChangeVersions {
+
+    private static final String BUMP_ORGANIZATION_SQL = """
+            UPDATE organization.organizations SET change_version = change_version + 1 WHERE id = ?
+            """;
+
+    private static final String ORGANIZATION_VERSION_SQL = """
+            SELECT change_version FROM organization.organizations WHERE id = ?
+            """;
+
+    private static final String BUMP_USER_SQL = """
+            UPDATE auth.users SET organizations_version = organizations_version + 1 WHERE id = ?
+            """;
+
+    private static final String USER_VERSION_SQL = """
+            SELECT organizations_version FROM auth.users WHERE id = ?
+            """;
+
+    // Routed by ShardContext and joined to the current transaction
+    private final JdbcTemplate jdbcTemplate;
+    // Always the home database, where the users are
+    private final JdbcTemplate homeJdbcTemplate;
+    private final boolean sharded;
+
+    public OrganizationChangeVersions(JdbcTemplate jdbcTemplate, ShardTopology topology) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.homeJdbcTemplate = new JdbcTemplate(topology.home());
+        this.sharded = topology.isSharded();
+    }
+
+    /**
+     * Records a write to an organization's clients or transactions. Call it on
+     * the organization's shard, inside the transaction making the write.
+     */
+    public void bumpOrganization(UUID organizationId) {
+        jdbcTemplate.update(BUMP_ORGANIZATION_SQL, organizationId);
+    }
+
+    /**
+     * Records a write to a user's organizations.
+     */
+    public void bumpUser(UUID userId) {
+        if (sharded && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    homeJdbcTemplate.update(BUMP_USER_SQL, userId);
+                }
+            });
+        } else {
+            homeJdbcTemplate.update(BUMP_USER_SQL, userId);
+        }
+    }
+
+    public long organizationVersion(UUID organizationId) {
+        return version(jdbcTemplate, ORGANIZATION_VERSION_SQL, organizationId);
+    }
+
+    public long userVersion(UUID userId) {
+        return version(homeJdbcTemplate, USER_VERSION_SQL, userId);
+    }
+
+    /**
+     * @param params everything besides the organization that shapes the response body
+     * @return a weak ETag that changes with the organization's version or any parameter
+     */
+    public String organizationEtag(UUID organizationId, Object... params) {
+        return etag(organizationVersion(organizationId), params);
+    }
+
+    /**
+     * @param params everything besides the user that shapes the response body
+     * @return a weak ETag that changes with the user's version or any parameter
+     */
+    public String userEtag(UUID userId, Object... params) {
+        return etag(userVersion(userId), params);
+    }
+
+    private static long version(JdbcTemplate template, String sql, UUID id) {
+        List<Long> versions = template.queryForList(sql, Long.class, id);
+        return versions.isEmpty() ? -1 : versions.get(0);
+    }
+
+    private static String etag(long version, Object... params) {
+        return "W/\"" + version + "-" + Integer.toHexString(Arrays.hashCode(params)) + "\"";
+    }
+}
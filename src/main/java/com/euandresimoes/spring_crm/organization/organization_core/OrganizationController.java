@@ -1,11 +1,17 @@
 package com.euandresimoes.spring_crm.organization.organization_core;
 
 import com.euandresimoes.spring_crm.organization.organization_core.dto.CreateOrganizationCommand;
+import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationDeletionResponse;
 import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationResponse;
 import com.euandresimoes.spring_crm.organization.organization_core.dto.UpdateOrganizationCommand;
+import com.euandresimoes.spring_crm.shared.sharding.ShardContext;
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
 import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+import com.euandresimoes.spring_crm.shared.web.ConditionalGet;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -18,36 +24,65 @@ import java.util.UUID;
 public class OrganizationController {
 
     private final OrganizationService organizationService;
+    private final OrganizationDeletionService deletionService;
+    private final OrganizationChangeVersions changeVersions;
+    private final ShardDirectory directory;
 
-    public OrganizationController(OrganizationService organizationService) {
+    public OrganizationController(OrganizationService organizationService,
+            OrganizationDeletionService deletionService, OrganizationChangeVersions changeVersions,
+            ShardDirectory directory) {
         this.organizationService = organizationService;
+        this.deletionService = deletionService;
+        this.changeVersions = changeVersions;
+        this.directory = directory;
     }
 
     @PostMapping
     public ApiResponse<OrganizationResponse> createOrganization(
             @NonNull @AuthenticationPrincipal String userId,
             @RequestBody CreateOrganizationCommand command) {
-        return ApiResponse.ok(organizationService.createOrganization(UUID.fromString(userId), command.name()));
+        UUID user = UUID.fromString(userId);
+        return ApiResponse.ok(ShardContext.call(directory.placeFor(user),
+                () -> organizationService.createOrganization(user, command.name())));
     }
 
     @GetMapping("/find/all")
-    public ApiResponse<List<OrganizationResponse>> findAll(@NonNull @AuthenticationPrincipal String userId) {
-        return ApiResponse.ok(organizationService.findAllOrganizations(UUID.fromString(userId)));
+    public ResponseEntity<ApiResponse<List<OrganizationResponse>>> findAll(
+            @NonNull @AuthenticationPrincipal String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID user = UUID.fromString(userId);
+        String etag = changeVersions.userEtag(user, "organizations");
+        return ConditionalGet.respond(etag, ifNoneMatch, () -> directory.fanOut(user, () -> organizationService.findAllOrganizations(user)));
     }
 
     @PutMapping
     public ApiResponse<Void> updateOrganization(
             @NonNull @AuthenticationPrincipal String userId,
             @Valid @RequestBody UpdateOrganizationCommand command) {
-        organizationService.updateOrganization(UUID.fromString(userId), command);
+        // The organization id is in the body, so the routing interceptor cannot see it
+        ShardContext.run(directory.shardForWrite(command.id()),
+                () -> organizationService.updateOrganization(UUID.fromString(userId), command));
         return ApiResponse.ok(null);
     }
 
-    @DeleteMapping("/{id}")
-    public ApiResponse<Void> deleteOrganization(
+    @DeleteMapping("/{organizationID}")
+    public ApiResponse<Integer> deleteOrganization(
             @NonNull @AuthenticationPrincipal String userId,
-            @PathVariable UUID id) {
-        organizationService.deleteOrganization(UUID.fromString(userId), id);
-        return ApiResponse.ok(null);
+            @PathVariable UUID organizationID) {
+        return ApiResponse.ok(organizationService.deleteOrganization(UUID.fromString(userId), organizationID));
+    }
+
+    @DeleteMapping(value = "/{organizationID}", params = "async=true")
+    public ApiResponse<OrganizationDeletionResponse> deleteOrganizationAsync(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID) {
+        return ApiResponse.ok(deletionService.start(UUID.fromString(userId), organizationID));
+    }
+
+    @GetMapping("/deletion/{jobId}")
+    public ApiResponse<OrganizationDeletionResponse> getDeletionStatus(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID jobId) {
+        return ApiResponse.ok(deletionService.status(UUID.fromString(userId), jobId));
     }
 }
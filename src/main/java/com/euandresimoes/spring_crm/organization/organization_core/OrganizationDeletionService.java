@@ -0,0 +1,191 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationDeletionResponse;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationDeletedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationDeletionNotFoundException;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.shared.sharding.ShardContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes very large organizations in the background. Transactions and then
+ * clients are removed in fixed-size chunks, each chunk in its own short
+ * database transaction, and the organization row goes last so its cascades
+ * only sweep the small derived tables. Progress is kept in memory on the
+ * instance that runs the job, which works on the shard the request was routed to.
+ */
+@Service
+public class OrganizationDeletionService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganizationDeletionService.class);
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private static final String DELETE_TRANSACTIONS_CHUNK_SQL = """
+            DELETE FROM organization.transactions
+            WHERE id IN (
+                SELECT id FROM organization.transactions WHERE organization_id = ? LIMIT ?)
+            """;
+
+    private static final String DELETE_CLIENTS_CHUNK_SQL = """
+            DELETE FROM organization.clients
+            WHERE id IN (
+                SELECT id FROM organization.clients WHERE organization_id = ? LIMIT ?)
+            """;
+
+    private final OrganizationRepository organizationRepo;
+    private final OrganizationOwnership ownership;
+    private final OrganizationChangeVersions changeVersions;
+    private final ApplicationEventPublisher events;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "organization-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    public OrganizationDeletionService(
+            OrganizationRepository organizationRepo,
+            OrganizationOwnership ownership,
+            OrganizationChangeVersions changeVersions,
+            ApplicationEventPublisher events,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${organizations.deletion.chunk-size:5000}") int chunkSize) {
+        this.organizationRepo = organizationRepo;
+        this.ownership = ownership;
+        this.changeVersions = changeVersions;
+        this.events = events;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Queues the deletion, or returns the job already running for the organization.
+     */
+    public OrganizationDeletionResponse start(UUID userId, UUID organizationID) {
+        organizationRepo.findByIdAndUserId(organizationID, userId)
+                .orElseThrow(() -> new OrganizationNotFoundException(organizationID));
+
+        purgeFinishedJobs();
+        for (Job job : jobs.values()) {
+            if (job.organizationId.equals(organizationID) && job.state == DeletionState.RUNNING) {
+                return job.toResponse();
+            }
+        }
+
+        Job job = new Job(UUID.randomUUID(), userId, organizationID, ShardContext.current());
+        jobs.put(job.id, job);
+        ownership.invalidate(userId, organizationID);
+        executor.execute(() -> ShardContext.run(job.shard, () -> run(job)));
+        return job.toResponse();
+    }
+
+    public OrganizationDeletionResponse status(UUID userId, UUID jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new OrganizationDeletionNotFoundException(jobId);
+        }
+        return job.toResponse();
+    }
+
+    void run(Job job) {
+        try {
+            deleteInChunks(DELETE_TRANSACTIONS_CHUNK_SQL, job.organizationId, job.transactionsDeleted);
+            deleteInChunks(DELETE_CLIENTS_CHUNK_SQL, job.organizationId, job.clientsDeleted);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (organizationRepo.deleteByIdAndUserId(job.organizationId, job.userId) > 0) {
+                    events.publishEvent(new OrganizationDeletedEvent(job.organizationId, job.userId));
+                    changeVersions.bumpUser(job.userId);
+                }
+            });
+            ownership.invalidate(job.userId, job.organizationId);
+            job.finish(DeletionState.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("Deletion of organization {} failed", job.organizationId, e);
+            job.finish(DeletionState.FAILED, e.getMessage());
+        }
+    }
+
+    private void deleteInChunks(String sql, UUID organizationId, AtomicLong progress) {
+        int deleted;
+        do {
+            // Each chunk commits on its own, so listings must stop matching as it does
+            deleted = transactionTemplate.execute(status -> {
+                int chunk = jdbcTemplate.update(sql, organizationId, chunkSize);
+                changeVersions.bumpOrganization(organizationId);
+                return chunk;
+            });
+            progress.addAndGet(deleted);
+        } while (deleted > 0);
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    static final class Job {
+        private final UUID id;
+        private final UUID userId;
+        private final UUID organizationId;
+        private final String shard;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong transactionsDeleted = new AtomicLong();
+        private final AtomicLong clientsDeleted = new AtomicLong();
+        private volatile DeletionState state = DeletionState.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        Job(UUID id, UUID userId, UUID organizationId, String shard) {
+            this.id = id;
+            this.userId = userId;
+            this.organizationId = organizationId;
+            this.shard = shard;
+        }
+
+        void finish(DeletionState state, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+        }
+
+        OrganizationDeletionResponse toResponse() {
+            return new OrganizationDeletionResponse(
+                    id,
+                    organizationId,
+                    state,
+                    transactionsDeleted.get(),
+                    clientsDeleted.get(),
+                    startedAt,
+                    finishedAt,
+                    error);
+        }
+    }
+}
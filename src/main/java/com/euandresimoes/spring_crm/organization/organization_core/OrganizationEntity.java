@@ -10,14 +10,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.euandresimoes.spring_crm.organization.clients.ClientEntity;
 import com.euandresimoes.spring_crm.organization.transactions.TransactionEntity;
+import com.euandresimoes.spring_crm.shared.persistence.UuidV7Id;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -28,7 +27,7 @@ import jakarta.persistence.Table;
 public class OrganizationEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
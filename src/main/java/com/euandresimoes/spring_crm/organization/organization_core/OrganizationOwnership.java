@@ -0,0 +1,111 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Answers "does this user own this organization" for the write paths, backed
+ * by a bounded LRU set of confirmed (userId, organizationId) pairs. On a hit
+ * the organization is returned as an uninitialized reference, which is all a
+ * child entity needs to set its foreign key, so no SELECT is issued.
+ * <p>
+ * Only positive answers are cached. The cache is local to the instance;
+ * {@link OrganizationService#deleteOrganization} invalidates it here, and a
+ * stale entry elsewhere surfaces as a foreign key violation on insert.
+ */
+@Component
+public class OrganizationOwnership {
+
+    private final OrganizationRepository organizationRepo;
+    private final Map<OwnershipKey, Boolean> owned;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public OrganizationOwnership(
+            OrganizationRepository organizationRepo,
+            @Value("${organizations.ownership-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this.organizationRepo = organizationRepo;
+        this.owned = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<OwnershipKey, Boolean> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+
+        FunctionCounter.builder("organizations.ownership.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("organizations.ownership.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("organizations.ownership.cache.evictions", evictions, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("organizations.ownership.cache.size", owned, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @return the organization, possibly as a lazy reference
+     * @throws OrganizationNotFoundException when it does not exist or belongs to another user
+     */
+    public OrganizationEntity requireOwned(UUID userId, UUID organizationID) {
+        OwnershipKey key = new OwnershipKey(userId, organizationID);
+
+        if (owned.get(key) != null) {
+            hits.increment();
+            return organizationRepo.getReferenceById(organizationID);
+        }
+
+        misses.increment();
+        OrganizationEntity org = organizationRepo.findByIdAndUserId(organizationID, userId)
+                .orElseThrow(() -> new OrganizationNotFoundException(organizationID));
+        owned.put(key, Boolean.TRUE);
+        return org;
+    }
+
+    public void invalidate(UUID userId, UUID organizationID) {
+        OwnershipKey key = new OwnershipKey(userId, organizationID);
+        owned.remove(key);
+
+        // A concurrent request may re-cache the pair before the delete commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    owned.remove(key);
+                }
+            });
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private record OwnershipKey(UUID userId, UUID organizationId) {
+    }
+}
@@ -5,6 +5,9 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 // OrganizationEntity is now in the same package
@@ -15,5 +18,12 @@ public interface OrganizationRepository extends JpaRepository<OrganizationEntity
 
     Optional<OrganizationEntity> findByIdAndUserId(UUID id, UUID userId);
 
-    void deleteByIdAndUserId(UUID id, UUID userId);
+    // Single DELETE; clients, transactions and derived rows go with it through
+    // the ON DELETE CASCADE foreign keys instead of the entity's cascade
+    @Modifying
+    @Query("delete from OrganizationEntity o where o.id = :id and o.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("select o.id from OrganizationEntity o")
+    List<UUID> findAllIds();
 }
@@ -2,9 +2,13 @@ package com.euandresimoes.spring_crm.organization.organization_core;
 
 import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationResponse;
 import com.euandresimoes.spring_crm.organization.organization_core.dto.UpdateOrganizationCommand;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationDeletedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationUpdatedEvent;
 import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
-import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,23 +18,40 @@ import java.util.UUID;
 public class OrganizationService {
 
     private final OrganizationRepository repo;
+    private final ApplicationEventPublisher events;
+    private final OrganizationOwnership ownership;
+    private final OrganizationChangeVersions changeVersions;
 
-    public OrganizationService(OrganizationRepository repo) {
+    public OrganizationService(OrganizationRepository repo, ApplicationEventPublisher events,
+            OrganizationOwnership ownership, OrganizationChangeVersions changeVersions) {
         this.repo = repo;
+        this.events = events;
+        this.ownership = ownership;
+        this.changeVersions = changeVersions;
     }
 
     public OrganizationResponse createOrganization(UUID userId, String name) {
         OrganizationEntity org = repo.save(new OrganizationEntity(
                 userId,
                 name));
+        events.publishEvent(new OrganizationCreatedEvent(org.getId(), userId));
+        changeVersions.bumpUser(userId);
 
         return new OrganizationResponse(org.getId(), org.getName(), org.getCreatedAt(), org.getUpdatedAt());
     }
 
-    public void deleteOrganization(UUID userId, UUID id) {
-        repo.deleteByIdAndUserId(id, userId);
+    public int deleteOrganization(UUID userId, UUID id) {
+        int deleted = repo.deleteByIdAndUserId(id, userId);
+        ownership.invalidate(userId, id);
+        if (deleted > 0) {
+            events.publishEvent(new OrganizationDeletedEvent(id, userId));
+            // The organization's own tags stop matching with its row gone
+            changeVersions.bumpUser(userId);
+        }
+        return deleted;
     }
 
+    @Transactional(readOnly = true)
     public List<OrganizationResponse> findAllOrganizations(UUID userId) {
         List<OrganizationEntity> orgs = repo.findAllByUserId(userId);
         return orgs.stream().map(
@@ -44,5 +65,7 @@ public class OrganizationService {
 
         org.setName(command.name());
         repo.save(org);
+        events.publishEvent(new OrganizationUpdatedEvent(org.getId(), userId, org.getName()));
+        changeVersions.bumpUser(userId);
     }
 }
@@ -0,0 +1,17 @@
+package com.euandresimoes.spring_crm.organization.organization_core.dto;
+
+import com.euandresimoes.spring_crm.organization.organization_core.DeletionState;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record OrganizationDeletionResponse(
+        UUID jobId,
+        UUID organizationId,
+        DeletionState state,
+        long transactionsDeleted,
+        long clientsDeleted,
+        Instant startedAt,
+        Instant finishedAt,
+        String error) {
+}
@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.organization.organization_core.event;
+
+import java.util.UUID;
+
+/**
+ * Published inside the creating transaction so listeners can set up
+ * per-organization rows atomically with the organization itself.
+ */
+public record OrganizationCreatedEvent(
+        UUID organizationId,
+        UUID userId) {
+}
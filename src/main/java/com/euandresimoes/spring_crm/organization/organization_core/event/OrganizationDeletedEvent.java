@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.organization.organization_core.event;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that removes the organization row. Its
+ * clients and transactions go with it without events of their own.
+ */
+public record OrganizationDeletedEvent(
+        UUID organizationId,
+        UUID userId) {
+}
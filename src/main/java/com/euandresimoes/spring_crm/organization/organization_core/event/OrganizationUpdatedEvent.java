@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.organization.organization_core.event;
+
+import java.util.UUID;
+
+/**
+ * Published inside the updating transaction after an organization is renamed.
+ */
+public record OrganizationUpdatedEvent(
+        UUID organizationId,
+        UUID userId,
+        String name) {
+}
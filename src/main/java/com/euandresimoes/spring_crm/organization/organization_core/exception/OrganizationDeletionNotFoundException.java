@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.organization_core.exception;
+
+import java.util.UUID;
+
+public class OrganizationDeletionNotFoundException extends RuntimeException {
+    public OrganizationDeletionNotFoundException(UUID jobId) {
+        super("Organization deletion not found with id: " + jobId);
+    }
+}
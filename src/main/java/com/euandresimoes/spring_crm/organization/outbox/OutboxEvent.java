@@ -0,0 +1,14 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import java.util.UUID;
+
+/**
+ * One message to publish. {@code eventType} doubles as the routing key and
+ * {@code payload} is serialized to JSON when the row is written.
+ */
+public record OutboxEvent(
+        String eventType,
+        UUID aggregateId,
+        UUID organizationId,
+        Object payload) {
+}
@@ -0,0 +1,93 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationDeletedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationUpdatedEvent;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Turns the domain events published by the client, transaction and
+ * organization services into outbox rows. Listeners run synchronously inside
+ * the writer's transaction, like the other derived data, so batch writes and
+ * imports are covered without touching each write path.
+ * <p>
+ * Payloads are thin: the ids plus the before/after snapshots the events
+ * already carry. Consumers that need the full record read it from the API.
+ */
+@Component
+@Transactional
+public class OutboxEventListener {
+
+    private final OutboxWriter writer;
+
+    public OutboxEventListener(OutboxWriter writer) {
+        this.writer = writer;
+    }
+
+    @EventListener
+    public void onClientsChanged(ClientsChangedEvent event) {
+        writer.append(event.changes().stream()
+                .map(change -> new OutboxEvent(
+                        "client." + kind(change.before(), change.after()),
+                        change.clientId(),
+                        event.organizationId(),
+                        new ChangePayload(change.clientId(), event.organizationId(), event.userId(),
+                                change.before(), change.after())))
+                .toList());
+    }
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        writer.append(event.changes().stream()
+                .map(change -> new OutboxEvent(
+                        "transaction." + kind(change.before(), change.after()),
+                        change.transactionId(),
+                        event.organizationId(),
+                        new ChangePayload(change.transactionId(), event.organizationId(), event.userId(),
+                                change.before(), change.after())))
+                .toList());
+    }
+
+    @EventListener
+    public void onOrganizationCreated(OrganizationCreatedEvent event) {
+        writer.append(List.of(organizationEvent("organization.created", event.organizationId(), event.userId(),
+                null)));
+    }
+
+    @EventListener
+    public void onOrganizationUpdated(OrganizationUpdatedEvent event) {
+        writer.append(List.of(organizationEvent("organization.updated", event.organizationId(), event.userId(),
+                event.name())));
+    }
+
+    @EventListener
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        writer.append(List.of(organizationEvent("organization.deleted", event.organizationId(), event.userId(),
+                null)));
+    }
+
+    private static String kind(Object before, Object after) {
+        if (before == null) {
+            return "created";
+        }
+        return after == null ? "deleted" : "updated";
+    }
+
+    private static OutboxEvent organizationEvent(String type, UUID organizationId, UUID userId, String name) {
+        return new OutboxEvent(type, organizationId, organizationId,
+                new OrganizationPayload(organizationId, userId, name));
+    }
+
+    record ChangePayload(UUID id, UUID organizationId, UUID userId, Object before, Object after) {
+    }
+
+    record OrganizationPayload(UUID id, UUID userId, String name) {
+    }
+}
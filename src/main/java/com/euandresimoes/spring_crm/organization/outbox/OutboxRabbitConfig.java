@@ -0,0 +1,22 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Declares the topic exchange the outbox relay publishes to. Routing keys are
+ * the event types, e.g. {@code client.created}, so consumers bind with
+ * patterns such as {@code client.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class OutboxRabbitConfig {
+
+    @Bean
+    public TopicExchange outboxExchange(@Value("${outbox.relay.exchange:crm.events}") String exchange) {
+        return new TopicExchange(exchange, true, false);
+    }
+}
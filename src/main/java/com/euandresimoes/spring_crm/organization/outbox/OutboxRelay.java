@@ -0,0 +1,231 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code organization.outbox_events} to RabbitMQ in batches.
+ * <p>
+ * A batch is claimed by stamping a lease token on the oldest pending rows, so
+ * several instances can relay side by side without holding row locks while
+ * the broker confirms. The whole batch goes out on one channel and is
+ * confirmed with a single wait; only then are the rows marked sent. A failed
+ * batch is released for the next run, and a claim left behind by a crashed
+ * instance expires after the claim timeout. Delivery is therefore
+ * at-least-once: consumers dedupe on the message id, which is the outbox id.
+ * With sharding every shard's outbox is drained in turn.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CLAIM_SQL = """
+            UPDATE organization.outbox_events
+            SET claim_token = :token, claimed_at = :now
+            WHERE id IN (
+                SELECT id FROM organization.outbox_events
+                WHERE sent_at IS NULL AND (claimed_at IS NULL OR claimed_at < :staleBefore)
+                ORDER BY id
+                LIMIT :limit)
+              AND sent_at IS NULL AND (claimed_at IS NULL OR claimed_at < :staleBefore)
+            """;
+
+    private static final String CLAIMED_SQL = """
+            SELECT id, event_type, aggregate_id, organization_id, payload, created_at
+            FROM organization.outbox_events
+            WHERE claim_token = :token
+            ORDER BY id
+            """;
+
+    private static final String MARK_SENT_SQL = """
+            UPDATE organization.outbox_events SET sent_at = :now WHERE claim_token = :token
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE organization.outbox_events SET claim_token = NULL, claimed_at = NULL
+            WHERE claim_token = :token AND sent_at IS NULL
+            """;
+
+    private static final String OLDEST_PENDING_SQL = """
+            SELECT created_at FROM organization.outbox_events
+            WHERE sent_at IS NULL
+            ORDER BY id
+            LIMIT 1
+            """;
+
+    private static final String PURGE_SENT_SQL = """
+            DELETE FROM organization.outbox_events WHERE sent_at < :cutoff
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ShardTopology topology;
+    private final RabbitTemplate rabbitTemplate;
+    private final Clock clock;
+    private final String exchange;
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final Duration confirmTimeout;
+    private final Duration sentRetention;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ShardTopology topology,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.exchange:crm.events}") String exchange,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.claim-timeout:1m}") Duration claimTimeout,
+            @Value("${outbox.relay.confirm-timeout:10s}") Duration confirmTimeout,
+            @Value("${outbox.relay.sent-retention:24h}") Duration sentRetention) {
+        this(jdbcTemplate, topology, rabbitTemplate, meterRegistry, Clock.systemUTC(), exchange, batchSize,
+                claimTimeout, confirmTimeout, sentRetention);
+    }
+
+    OutboxRelay(NamedParameterJdbcTemplate jdbcTemplate, ShardTopology topology, RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry, Clock clock, String exchange, int batchSize, Duration claimTimeout,
+            Duration confirmTimeout, Duration sentRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topology = topology;
+        this.rabbitTemplate = rabbitTemplate;
+        this.clock = clock;
+        this.exchange = exchange;
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+        this.confirmTimeout = confirmTimeout;
+        this.sentRetention = sentRetention;
+
+        this.published = Counter.builder("outbox.relay.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures").register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").register(meterRegistry);
+        TimeGauge.builder("outbox.relay.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publishes batches until each shard's outbox is drained or a batch fails.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:1s}")
+    public void drain() {
+        topology.forEachShard(() -> {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        });
+        updateLag();
+    }
+
+    /**
+     * @return rows published by this batch, or -1 when it failed and was released
+     */
+    int relayBatch() {
+        UUID token = UUID.randomUUID();
+        Instant now = clock.instant();
+        int claimed = jdbcTemplate.update(CLAIM_SQL, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("now", now.atOffset(ZoneOffset.UTC))
+                .addValue("staleBefore", now.minus(claimTimeout).atOffset(ZoneOffset.UTC))
+                .addValue("limit", batchSize));
+        if (claimed == 0) {
+            return 0;
+        }
+
+        MapSqlParameterSource byToken = new MapSqlParameterSource("token", token);
+        List<Message> messages = jdbcTemplate.query(CLAIMED_SQL, byToken, (rs, rowNum) -> toMessage(rs));
+        try {
+            batchTimer.record(() -> publish(messages));
+        } catch (AmqpException e) {
+            failures.increment();
+            jdbcTemplate.update(RELEASE_SQL, byToken);
+            log.warn("Outbox batch of {} events not confirmed, will retry", messages.size(), e);
+            return -1;
+        }
+
+        byToken.addValue("now", clock.instant().atOffset(ZoneOffset.UTC));
+        jdbcTemplate.update(MARK_SENT_SQL, byToken);
+        published.increment(messages.size());
+        return messages.size();
+    }
+
+    private void publish(List<Message> messages) {
+        rabbitTemplate.invoke(operations -> {
+            for (Message message : messages) {
+                operations.send(exchange, message.getMessageProperties().getType(), message);
+            }
+            // One wait covers the whole batch; a nack or timeout fails all of it
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    private void updateLag() {
+        AtomicLong lag = new AtomicLong();
+        topology.forEachShard(() -> {
+            List<OffsetDateTime> oldest = jdbcTemplate.query(OLDEST_PENDING_SQL, new MapSqlParameterSource(),
+                    (rs, rowNum) -> rs.getObject("created_at", OffsetDateTime.class));
+            if (!oldest.isEmpty()) {
+                lag.accumulateAndGet(Duration.between(oldest.get(0).toInstant(), clock.instant()).toMillis(),
+                        Math::max);
+            }
+        });
+        lagMillis.set(lag.get());
+    }
+
+    @Scheduled(cron = "${outbox.relay.purge-cron:0 45 4 * * *}")
+    public int purgeSent() {
+        Instant cutoff = clock.instant().minus(sentRetention);
+        MapSqlParameterSource params = new MapSqlParameterSource("cutoff", cutoff.atOffset(ZoneOffset.UTC));
+        return topology.sumOverShards(() -> jdbcTemplate.update(PURGE_SENT_SQL, params));
+    }
+
+    private static Message toMessage(ResultSet rs) throws SQLException {
+        return MessageBuilder.withBody(rs.getString("payload").getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(Long.toString(rs.getLong("id")))
+                .setType(rs.getString("event_type"))
+                .setTimestamp(Date.from(rs.getObject("created_at", OffsetDateTime.class).toInstant()))
+                .setHeader("organizationId", rs.getObject("organization_id", UUID.class).toString())
+                .setHeader("aggregateId", rs.getObject("aggregate_id", UUID.class).toString())
+                .build();
+    }
+}
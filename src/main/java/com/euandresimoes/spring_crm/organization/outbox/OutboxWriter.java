@@ -0,0 +1,59 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Appends rows to {@code organization.outbox_events} with one JDBC batch.
+ * Joins the caller's transaction, so an event is stored exactly when the
+ * change it describes commits.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO organization.outbox_events
+                (event_type, aggregate_id, organization_id, payload, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        OffsetDateTime createdAt = Instant.now().atOffset(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.eventType());
+            ps.setObject(2, event.aggregateId());
+            ps.setObject(3, event.organizationId());
+            ps.setString(4, toJson(event.payload()));
+            ps.setObject(5, createdAt);
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
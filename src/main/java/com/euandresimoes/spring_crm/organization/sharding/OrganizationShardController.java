@@ -0,0 +1,26 @@
+package com.euandresimoes.spring_crm.organization.sharding;
+
+import com.euandresimoes.spring_crm.organization.sharding.dto.ShardMoveResponse;
+import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/organizations")
+public class OrganizationShardController {
+
+    private final OrganizationShardMover mover;
+
+    public OrganizationShardController(OrganizationShardMover mover) {
+        this.mover = mover;
+    }
+
+    @PostMapping("/{organizationID}/move")
+    public ApiResponse<ShardMoveResponse> move(
+            @PathVariable UUID organizationID,
+            @RequestParam String shard) {
+        return ApiResponse.ok(mover.move(organizationID, shard));
+    }
+}
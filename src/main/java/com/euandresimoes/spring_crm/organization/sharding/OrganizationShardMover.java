@@ -0,0 +1,319 @@
+package com.euandresimoes.spring_crm.organization.sharding;
+
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.organization.sharding.dto.ShardMoveResponse;
+import com.euandresimoes.spring_crm.organization.sharding.exception.InvalidShardMoveException;
+import com.euandresimoes.spring_crm.organization.sync.SyncEntityType;
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves an organization with its clients, transactions and derived rows to
+ * another shard while it stays online.
+ * <ol>
+ * <li>The rows are copied in id-ordered chunks, each chunk in its own short
+ * transaction on the target, while the organization is still written to.</li>
+ * <li>Writes are frozen by marking the directory entry MOVING, and the mover
+ * waits until no instance can still hold the old entry in its directory cache
+ * or be finishing a write that started before. Rows changed since the copy
+ * began are copied again, rows deleted since are deleted on the target, and
+ * the small per-organization tables are replaced as a whole.</li>
+ * <li>The directory entry is pointed at the target, which lifts the freeze.</li>
+ * <li>Once cached entries naming the source have expired the source rows are
+ * deleted in chunks.</li>
+ * </ol>
+ * Writes are refused with 503 only during the second step, which takes about
+ * the directory cache TTL plus the settle time. A failure before the cut over
+ * lifts the freeze and discards the copy. Run one move per organization at a
+ * time; a concurrent move on the same instance is refused.
+ * <p>
+ * Outbox rows stay behind on purpose: the source's relay still publishes the
+ * pending ones.
+ */
+@Service
+public class OrganizationShardMover {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganizationShardMover.class);
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private static final String ORGANIZATIONS = "organization.organizations";
+    private static final String CLIENTS = "organization.clients";
+    private static final String TRANSACTIONS = "organization.transactions";
+    private static final String IDEMPOTENCY_KEYS = "organization.idempotency_keys";
+
+    // Small per organization, so replaced in one go once writes are frozen
+    private static final List<String> PER_ORGANIZATION_TABLES = List.of(
+            "organization.client_status_counts",
+            "organization.transaction_totals",
+            "organization.transaction_daily_rollups",
+            "organization.sync_tombstones",
+            "organization.transaction_ingest_failures");
+
+    private static final String DELETED_SINCE_SQL = """
+            SELECT entity_type, entity_id FROM organization.sync_tombstones
+            WHERE organization_id = ? AND deleted_at >= ?
+            """;
+
+    private final ShardTopology topology;
+    private final ShardDirectory directory;
+    private final Duration settle;
+    private final int chunkSize;
+    private final Set<UUID> inProgress = ConcurrentHashMap.newKeySet();
+
+    public OrganizationShardMover(
+            ShardTopology topology,
+            ShardDirectory directory,
+            @Value("${sharding.move.settle:2s}") Duration settle,
+            @Value("${sharding.move.chunk-size:1000}") int chunkSize) {
+        this.topology = topology;
+        this.directory = directory;
+        this.settle = settle;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Blocks until the organization has been moved.
+     */
+    public ShardMoveResponse move(UUID organizationId, String target) {
+        if (!topology.contains(target)) {
+            throw new InvalidShardMoveException("Unknown shard: " + target);
+        }
+        ShardDirectory.Placement placement = directory.lookup(organizationId);
+        if (placement == null) {
+            throw new OrganizationNotFoundException(organizationId);
+        }
+        if (placement.shard().equals(target)) {
+            throw new InvalidShardMoveException("Organization " + organizationId + " is already on shard " + target);
+        }
+        if (placement.moving() || !inProgress.add(organizationId)) {
+            throw new OrganizationMovingException(organizationId);
+        }
+
+        try {
+            return new Move(organizationId, placement.shard(), target).run();
+        } finally {
+            inProgress.remove(organizationId);
+        }
+    }
+
+    private final class Move {
+        private final UUID organizationId;
+        private final String sourceShard;
+        private final String targetShard;
+        private final JdbcTemplate source;
+        private final JdbcTemplate target;
+        private final TransactionTemplate targetTransaction;
+        private final Instant startedAt = Instant.now();
+        private long clientsCopied;
+        private long transactionsCopied;
+
+        Move(UUID organizationId, String sourceShard, String targetShard) {
+            this.organizationId = organizationId;
+            this.sourceShard = sourceShard;
+            this.targetShard = targetShard;
+            // Straight to the shards' pools, whatever the current thread is routed to
+            this.source = new JdbcTemplate(topology.dataSource(sourceShard));
+            this.target = new JdbcTemplate(topology.dataSource(targetShard));
+            this.targetTransaction = new TransactionTemplate(
+                    new DataSourceTransactionManager(topology.dataSource(targetShard)));
+        }
+
+        ShardMoveResponse run() {
+            UUID userId = (UUID) readOrganization().get("user_id");
+            boolean frozen = false;
+            try {
+                copyOrganization();
+                clientsCopied += copyRows(CLIENTS, null);
+                transactionsCopied += copyRows(TRANSACTIONS, null);
+
+                if (!directory.markMoving(organizationId, sourceShard)) {
+                    throw new OrganizationMovingException(organizationId);
+                }
+                frozen = true;
+                pause(directory.cacheTtl().plus(settle));
+
+                // Rows written while the bulk copy ran, with settle covering clock skew and late commits
+                Instant since = startedAt.minus(settle);
+                copyOrganization();
+                clientsCopied += copyRows(CLIENTS, since);
+                transactionsCopied += copyRows(TRANSACTIONS, since);
+                applyDeletions(since);
+                targetTransaction.executeWithoutResult(status -> {
+                    PER_ORGANIZATION_TABLES.forEach(this::replace);
+                    replaceIdempotencyKeys(userId);
+                });
+
+                if (!directory.relocate(organizationId, sourceShard, targetShard)) {
+                    throw new IllegalStateException(
+                            "The directory entry of organization " + organizationId + " changed during the move");
+                }
+            } catch (RuntimeException e) {
+                log.error("Moving organization {} from {} to {} failed", organizationId, sourceShard, targetShard, e);
+                try {
+                    if (frozen) {
+                        directory.markActive(organizationId, sourceShard);
+                    }
+                    deleteOrganization(target, userId);
+                } catch (RuntimeException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+                throw e;
+            }
+
+            try {
+                pause(directory.cacheTtl());
+            } finally {
+                deleteOrganization(source, userId);
+            }
+            log.info("Moved organization {} from {} to {}: {} clients, {} transactions copied",
+                    organizationId, sourceShard, targetShard, clientsCopied, transactionsCopied);
+            return new ShardMoveResponse(organizationId, sourceShard, targetShard, clientsCopied,
+                    transactionsCopied, startedAt, Instant.now());
+        }
+
+        private Map<String, Object> readOrganization() {
+            try {
+                return source.queryForMap("SELECT * FROM " + ORGANIZATIONS + " WHERE id = ?", organizationId);
+            } catch (EmptyResultDataAccessException e) {
+                throw new OrganizationNotFoundException(organizationId);
+            }
+        }
+
+        private void copyOrganization() {
+            Map<String, Object> organization = readOrganization();
+            targetTransaction.executeWithoutResult(status -> {
+                // Updated in place: deleting the row would cascade to the rows copied so far
+                if (update(target, ORGANIZATIONS, organization) == 0) {
+                    insert(target, ORGANIZATIONS, List.of(organization));
+                }
+            });
+        }
+
+        /**
+         * @param since only rows updated at or after it, or null for all of them
+         */
+        private long copyRows(String table, Instant since) {
+            String sql = "SELECT * FROM " + table + " WHERE organization_id = ? AND id > ?"
+                    + (since == null ? "" : " AND updated_at >= ?")
+                    + " ORDER BY id LIMIT ?";
+            long copied = 0;
+            UUID after = FIRST_ID;
+            List<Map<String, Object>> rows;
+            do {
+                rows = since == null
+                        ? source.queryForList(sql, organizationId, after, chunkSize)
+                        : source.queryForList(sql, organizationId, after, since.atOffset(ZoneOffset.UTC), chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Map<String, Object>> chunk = rows;
+                targetTransaction.executeWithoutResult(status -> {
+                    target.batchUpdate("DELETE FROM " + table + " WHERE id = ?",
+                            chunk.stream().map(row -> new Object[] { row.get("id") }).toList());
+                    insert(target, table, chunk);
+                });
+                copied += rows.size();
+                after = (UUID) rows.get(rows.size() - 1).get("id");
+            } while (rows.size() == chunkSize);
+            return copied;
+        }
+
+        private void applyDeletions(Instant since) {
+            for (Map<String, Object> deleted : source.queryForList(DELETED_SINCE_SQL, organizationId,
+                    since.atOffset(ZoneOffset.UTC))) {
+                String table = SyncEntityType.valueOf((String) deleted.get("entity_type")) == SyncEntityType.CLIENT
+                        ? CLIENTS
+                        : TRANSACTIONS;
+                target.update("DELETE FROM " + table + " WHERE id = ?", deleted.get("entity_id"));
+            }
+        }
+
+        private void replace(String table) {
+            target.update("DELETE FROM " + table + " WHERE organization_id = ?", organizationId);
+            insert(target, table,
+                    source.queryForList("SELECT * FROM " + table + " WHERE organization_id = ?", organizationId));
+        }
+
+        // Create scopes end in the organization id, so retries keep replaying after the move
+        private void replaceIdempotencyKeys(UUID userId) {
+            String scopes = "%:" + organizationId;
+            target.update("DELETE FROM " + IDEMPOTENCY_KEYS + " WHERE user_id = ? AND scope LIKE ?", userId, scopes);
+            insert(target, IDEMPOTENCY_KEYS, source.queryForList(
+                    "SELECT * FROM " + IDEMPOTENCY_KEYS + " WHERE user_id = ? AND scope LIKE ? AND status = 'COMPLETED'",
+                    userId, scopes));
+        }
+
+        /**
+         * Deletes the organization's rows from one shard, the big tables in
+         * chunks that commit on their own so no long transaction builds up.
+         */
+        private void deleteOrganization(JdbcTemplate shard, UUID userId) {
+            for (String table : List.of(TRANSACTIONS, CLIENTS)) {
+                String sql = "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table
+                        + " WHERE organization_id = ? LIMIT ?)";
+                int deleted;
+                do {
+                    deleted = shard.update(sql, organizationId, chunkSize);
+                } while (deleted > 0);
+            }
+            shard.update("DELETE FROM organization.transaction_ingest_failures WHERE organization_id = ?",
+                    organizationId);
+            shard.update("DELETE FROM " + IDEMPOTENCY_KEYS + " WHERE user_id = ? AND scope LIKE ?", userId,
+                    "%:" + organizationId);
+            // Cascades to the remaining per-organization tables
+            shard.update("DELETE FROM " + ORGANIZATIONS + " WHERE id = ?", organizationId);
+        }
+    }
+
+    private static int update(JdbcTemplate jdbcTemplate, String table, Map<String, Object> row) {
+        List<String> columns = new ArrayList<>(row.keySet());
+        columns.removeIf(column -> column.equalsIgnoreCase("id"));
+        List<Object> values = new ArrayList<>(columns.size() + 1);
+        columns.forEach(column -> values.add(row.get(column)));
+        values.add(row.get("id"));
+        return jdbcTemplate.update("UPDATE " + table + " SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ?",
+                values.toArray());
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        jdbcTemplate.batchUpdate(sql, rows.stream()
+                .map(row -> columns.stream().map(row::get).toArray())
+                .toList());
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving an organization", e);
+        }
+    }
+}
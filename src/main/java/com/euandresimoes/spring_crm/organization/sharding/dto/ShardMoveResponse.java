@@ -0,0 +1,14 @@
+package com.euandresimoes.spring_crm.organization.sharding.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ShardMoveResponse(
+        UUID organizationId,
+        String source,
+        String target,
+        long clientsCopied,
+        long transactionsCopied,
+        Instant startedAt,
+        Instant finishedAt) {
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.sharding.exception;
+
+public class InvalidShardMoveException extends RuntimeException {
+    public InvalidShardMoveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.euandresimoes.spring_crm.organization.summary;
+
+import com.euandresimoes.spring_crm.organization.summary.dto.OrganizationSummaryResponse;
+import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/organization/summary")
+public class OrganizationSummaryController {
+
+    private final OrganizationSummaryService summaryService;
+
+    public OrganizationSummaryController(OrganizationSummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    @GetMapping
+    public ApiResponse<List<OrganizationSummaryResponse>> summary(@NonNull @AuthenticationPrincipal String userId) {
+        return ApiResponse.ok(summaryService.summary(UUID.fromString(userId)));
+    }
+}
@@ -0,0 +1,197 @@
+package com.euandresimoes.spring_crm.organization.summary;
+
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationDeletedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationUpdatedEvent;
+import com.euandresimoes.spring_crm.organization.summary.dto.OrganizationSummaryResponse;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The landing page summary: every organization of a user with its client
+ * count, transaction count and net balance, read in one statement from the
+ * counter tables kept by {@code ClientStatusCountService} and
+ * {@code TransactionTotalsService} instead of from the detail rows.
+ * <p>
+ * Results are cached per user in a bounded LRU. Every client, transaction and
+ * organization write publishes an event inside its transaction, and the
+ * writing user's entry is dropped once that transaction commits; other users
+ * keep theirs. A load that overlapped such a commit is returned but not
+ * cached, so an invalidation cannot be undone by a slower reader. Writes
+ * made through another instance are not seen here, so entries also expire
+ * {@code ttl} after they were loaded, which bounds how stale they can get.
+ * With sharding the statement runs on each of the user's shards, and the
+ * organizations are listed shard by shard.
+ */
+@Service
+public class OrganizationSummaryService {
+
+    // Balances are derived from the per-type totals, so no transaction row is read
+    private static final String SUMMARY_SQL = """
+            SELECT o.id, o.name,
+                (SELECT COALESCE(SUM(c.client_count), 0)
+                 FROM organization.client_status_counts c
+                 WHERE c.organization_id = o.id) AS client_count,
+                (SELECT COALESCE(SUM(t.tx_count), 0)
+                 FROM organization.transaction_totals t
+                 WHERE t.organization_id = o.id) AS transaction_count,
+                (SELECT COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.total ELSE -t.total END), 0)
+                 FROM organization.transaction_totals t
+                 WHERE t.organization_id = o.id) AS net_balance
+            FROM organization.organizations o
+            WHERE o.user_id = ?
+            ORDER BY o.created_at, o.id
+            """;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardDirectory directory;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<UUID, Cached> cache;
+    // Bumped per user stripe on every invalidation; a load only caches if its stripe did not move
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public OrganizationSummaryService(
+            JdbcTemplate jdbcTemplate,
+            ShardDirectory directory,
+            @Value("${organizations.summary-cache.ttl:30s}") Duration ttl,
+            @Value("${organizations.summary-cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this(jdbcTemplate, directory, ttl, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    OrganizationSummaryService(JdbcTemplate jdbcTemplate, ShardDirectory directory, Duration ttl, int maxEntries,
+            MeterRegistry meterRegistry, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = directory;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        FunctionCounter.builder("organizations.summary.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("organizations.summary.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("organizations.summary.cache.size", cache, Map::size).register(meterRegistry);
+    }
+
+    public List<OrganizationSummaryResponse> summary(UUID userId) {
+        Instant now = clock.instant();
+        Cached cached = cache.get(userId);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            hits.increment();
+            return cached.summary();
+        }
+
+        misses.increment();
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        List<OrganizationSummaryResponse> summary = directory.fanOut(userId, () -> jdbcTemplate.query(SUMMARY_SQL,
+                (rs, rowNum) -> new OrganizationSummaryResponse(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("name"),
+                        rs.getLong("client_count"),
+                        rs.getLong("transaction_count"),
+                        rs.getBigDecimal("net_balance")),
+                userId));
+
+        synchronized (cache) {
+            if (generations.get(stripe) == generation) {
+                cache.put(userId, new Cached(summary, now.plus(ttl)));
+            }
+        }
+        return summary;
+    }
+
+    @EventListener
+    public void onClientsChanged(ClientsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onOrganizationCreated(OrganizationCreatedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onOrganizationUpdated(OrganizationUpdatedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @EventListener
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        invalidate(event.userId());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void invalidate(UUID userId) {
+        evict(userId);
+
+        // A reader may load the pre-commit state and cache it before the write commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID userId) {
+        synchronized (cache) {
+            generations.incrementAndGet(stripe(userId));
+            cache.remove(userId);
+        }
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private record Cached(List<OrganizationSummaryResponse> summary, Instant expiresAt) {
+    }
+}
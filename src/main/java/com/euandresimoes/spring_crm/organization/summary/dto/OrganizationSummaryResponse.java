@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.organization.summary.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrganizationSummaryResponse(
+        UUID id,
+        String name,
+        long clientCount,
+        long transactionCount,
+        BigDecimal netBalance) {
+}
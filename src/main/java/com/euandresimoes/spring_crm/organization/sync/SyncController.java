@@ -0,0 +1,29 @@
+package com.euandresimoes.spring_crm.organization.sync;
+
+import com.euandresimoes.spring_crm.organization.sync.dto.SyncResponse;
+import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/organization/{organizationID}/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public ApiResponse<SyncResponse> changesSince(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int size) {
+        return ApiResponse.ok(syncService.changesSince(UUID.fromString(userId), organizationID, cursor, size));
+    }
+}
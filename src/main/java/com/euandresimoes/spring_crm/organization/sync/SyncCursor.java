@@ -0,0 +1,30 @@
+package com.euandresimoes.spring_crm.organization.sync;
+
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import com.euandresimoes.spring_crm.shared.web.exception.InvalidCursorException;
+
+/**
+ * Position of a sync client in each of the three change streams of an
+ * organization, ordered by {@code (updated_at, id)} for rows and
+ * {@code (deleted_at, entity_id)} for tombstones. Each part reuses the keyset
+ * encoding; the three are joined with a dot, which the URL-safe Base64
+ * alphabet never produces.
+ */
+public record SyncCursor(
+        KeysetCursor clients,
+        KeysetCursor transactions,
+        KeysetCursor tombstones) {
+
+    public String encode() {
+        return clients.encode() + "." + transactions.encode() + "." + tombstones.encode();
+    }
+
+    public static SyncCursor decode(String cursor) {
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length != 3)
+            throw new InvalidCursorException(cursor);
+
+        return new SyncCursor(KeysetCursor.decode(parts[0]), KeysetCursor.decode(parts[1]),
+                KeysetCursor.decode(parts[2]));
+    }
+}
@@ -0,0 +1,6 @@
+package com.euandresimoes.spring_crm.organization.sync;
+
+public enum SyncEntityType {
+    CLIENT,
+    TRANSACTION
+}
@@ -0,0 +1,228 @@
+package com.euandresimoes.spring_crm.organization.sync;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.sync.dto.SyncResponse;
+import com.euandresimoes.spring_crm.organization.sync.dto.SyncTombstone;
+import com.euandresimoes.spring_crm.organization.sync.exception.SyncCursorExpiredException;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * "Changes since" feed of an organization for offline-capable clients. Rows
+ * are read in {@code (updated_at, id)} order and deletions come from
+ * {@code organization.sync_tombstones}, each stream seeking from its own part
+ * of the cursor on the {@code db/migration/V11} indexes, so a sync costs what
+ * changed rather than what exists.
+ * <p>
+ * {@code updated_at} is stamped before the writing transaction commits, so a
+ * row can become visible with a timestamp behind a position already handed
+ * out. Rows newer than the settle window are therefore held back until every
+ * write stamped before them has had time to commit. Clients apply the rows of
+ * a page before its deletions.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private static final String CLIENTS_SQL = """
+            SELECT id, organization_id, user_id, name, description, email, cpf_cnpj, phone, status,
+                   created_at, updated_at, version
+            FROM organization.clients
+            WHERE organization_id = :organizationId AND user_id = :userId
+              AND (updated_at > :after OR (updated_at = :after AND id > :afterId))
+              AND updated_at <= :horizon
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """;
+
+    private static final String TRANSACTIONS_SQL = """
+            SELECT id, description, amount, type, created_at, updated_at, version
+            FROM organization.transactions
+            WHERE organization_id = :organizationId AND user_id = :userId
+              AND (updated_at > :after OR (updated_at = :after AND id > :afterId))
+              AND updated_at <= :horizon
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """;
+
+    private static final String TOMBSTONES_SQL = """
+            SELECT entity_type, entity_id, deleted_at
+            FROM organization.sync_tombstones
+            WHERE organization_id = :organizationId AND user_id = :userId
+              AND (deleted_at > :after OR (deleted_at = :after AND entity_id > :afterId))
+              AND deleted_at <= :horizon
+            ORDER BY deleted_at, entity_id
+            LIMIT :limit
+            """;
+
+    private static final String PURGE_TOMBSTONES_SQL = """
+            DELETE FROM organization.sync_tombstones WHERE deleted_at < :cutoff
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ShardTopology topology;
+    private final Clock clock;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    public SyncService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            ShardTopology topology,
+            @Value("${sync.settle-window:5s}") Duration settleWindow,
+            @Value("${sync.tombstones.retention:30d}") Duration tombstoneRetention) {
+        this(jdbcTemplate, topology, Clock.systemUTC(), settleWindow, tombstoneRetention);
+    }
+
+    SyncService(NamedParameterJdbcTemplate jdbcTemplate, ShardTopology topology, Clock clock,
+            Duration settleWindow, Duration tombstoneRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topology = topology;
+        this.clock = clock;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * @param cursor the {@code nextCursor} of the previous sync, or null for a full initial sync
+     * @param size   maximum items per stream, capped at {@link #MAX_PAGE_SIZE}
+     */
+    public SyncResponse changesSince(UUID userId, UUID organizationID, String cursor, int size) {
+        Instant now = clock.instant();
+        Instant horizon = now.minus(settleWindow);
+        int pageSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+
+        SyncCursor from;
+        if (cursor == null || cursor.isBlank()) {
+            // A fresh copy holds nothing that could have been deleted before now
+            KeysetCursor start = new KeysetCursor(Instant.EPOCH, MIN_ID);
+            from = new SyncCursor(start, start, new KeysetCursor(horizon, MIN_ID));
+        } else {
+            from = SyncCursor.decode(cursor);
+            if (from.tombstones().createdAt().isBefore(now.minus(tombstoneRetention))) {
+                throw new SyncCursorExpiredException();
+            }
+        }
+
+        List<ClientResponse> clients = query(CLIENTS_SQL, userId, organizationID, from.clients(), horizon,
+                pageSize, SyncService::mapClient);
+        List<TransactionResponse> transactions = query(TRANSACTIONS_SQL, userId, organizationID,
+                from.transactions(), horizon, pageSize, SyncService::mapTransaction);
+        List<SyncTombstone> deleted = query(TOMBSTONES_SQL, userId, organizationID, from.tombstones(), horizon,
+                pageSize, SyncService::mapTombstone);
+
+        boolean hasMore = clients.size() > pageSize || transactions.size() > pageSize || deleted.size() > pageSize;
+        clients = clients.subList(0, Math.min(clients.size(), pageSize));
+        transactions = transactions.subList(0, Math.min(transactions.size(), pageSize));
+
+        KeysetCursor tombstonesNext;
+        if (deleted.size() > pageSize) {
+            deleted = deleted.subList(0, pageSize);
+            SyncTombstone last = deleted.get(pageSize - 1);
+            tombstonesNext = new KeysetCursor(last.deletedAt(), last.id());
+        } else if (from.tombstones().createdAt().isBefore(horizon)) {
+            // Caught up: move to the horizon so a quiet organization's cursor does not age past retention
+            tombstonesNext = new KeysetCursor(horizon, MIN_ID);
+        } else {
+            tombstonesNext = from.tombstones();
+        }
+
+        SyncCursor next = new SyncCursor(
+                clients.isEmpty() ? from.clients()
+                        : new KeysetCursor(clients.get(clients.size() - 1).updated_at(),
+                                clients.get(clients.size() - 1).id()),
+                transactions.isEmpty() ? from.transactions()
+                        : new KeysetCursor(transactions.get(transactions.size() - 1).updatedAt(),
+                                transactions.get(transactions.size() - 1).id()),
+                tombstonesNext);
+
+        return new SyncResponse(clients, transactions, deleted, next.encode(), hasMore);
+    }
+
+    @Scheduled(cron = "${sync.tombstones.purge-cron:0 15 4 * * *}")
+    public int purgeTombstones() {
+        Instant cutoff = clock.instant().minus(tombstoneRetention);
+        MapSqlParameterSource params = new MapSqlParameterSource("cutoff", cutoff.atOffset(ZoneOffset.UTC));
+        int purged = topology.sumOverShards(() -> jdbcTemplate.update(PURGE_TOMBSTONES_SQL, params));
+        if (purged > 0) {
+            log.info("Purged {} sync tombstones older than {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private <T> List<T> query(String sql, UUID userId, UUID organizationID, KeysetCursor after, Instant horizon,
+            int pageSize, RowMapper<T> mapper) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("organizationId", organizationID)
+                .addValue("userId", userId)
+                .addValue("after", after.createdAt().atOffset(ZoneOffset.UTC))
+                .addValue("afterId", after.id())
+                .addValue("horizon", horizon.atOffset(ZoneOffset.UTC))
+                // One extra row tells whether another page exists
+                .addValue("limit", pageSize + 1);
+        return jdbcTemplate.query(sql, params, mapper);
+    }
+
+    private static ClientResponse mapClient(ResultSet rs, int rowNum) throws SQLException {
+        return new ClientResponse(
+                rs.getObject("id", UUID.class),
+                rs.getObject("organization_id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getString("email"),
+                rs.getString("cpf_cnpj"),
+                rs.getString("phone"),
+                rs.getString("status"),
+                toInstant(rs.getObject("created_at", OffsetDateTime.class)),
+                toInstant(rs.getObject("updated_at", OffsetDateTime.class)),
+                rs.getLong("version"));
+    }
+
+    private static TransactionResponse mapTransaction(ResultSet rs, int rowNum) throws SQLException {
+        return new TransactionResponse(
+                rs.getObject("id", UUID.class),
+                rs.getString("description"),
+                rs.getBigDecimal("amount"),
+                rs.getString("type"),
+                toInstant(rs.getObject("created_at", OffsetDateTime.class)),
+                toInstant(rs.getObject("updated_at", OffsetDateTime.class)),
+                rs.getLong("version"));
+    }
+
+    private static SyncTombstone mapTombstone(ResultSet rs, int rowNum) throws SQLException {
+        return new SyncTombstone(
+                SyncEntityType.valueOf(rs.getString("entity_type")),
+                rs.getObject("entity_id", UUID.class),
+                toInstant(rs.getObject("deleted_at", OffsetDateTime.class)));
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+}
@@ -0,0 +1,68 @@
+package com.euandresimoes.spring_crm.organization.sync;
+
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records a tombstone for every deleted client and transaction. Listeners run
+ * synchronously inside the writer's transaction, so a tombstone exists exactly
+ * when the delete committed.
+ */
+@Component
+@Transactional
+public class SyncTombstoneWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO organization.sync_tombstones
+                (entity_type, entity_id, organization_id, user_id, deleted_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyncTombstoneWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void onClientsChanged(ClientsChangedEvent event) {
+        record(SyncEntityType.CLIENT, event.organizationId(), event.userId(), event.changes().stream()
+                .filter(change -> change.after() == null)
+                .map(ClientChange::clientId)
+                .toList());
+    }
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        record(SyncEntityType.TRANSACTION, event.organizationId(), event.userId(), event.changes().stream()
+                .filter(change -> change.after() == null)
+                .map(TransactionChange::transactionId)
+                .toList());
+    }
+
+    private void record(SyncEntityType type, UUID organizationId, UUID userId, List<UUID> deletedIds) {
+        if (deletedIds.isEmpty()) {
+            return;
+        }
+        OffsetDateTime deletedAt = Instant.now().atOffset(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_SQL, deletedIds, deletedIds.size(), (ps, id) -> {
+            ps.setString(1, type.name());
+            ps.setObject(2, id);
+            ps.setObject(3, organizationId);
+            ps.setObject(4, userId);
+            ps.setObject(5, deletedAt);
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.euandresimoes.spring_crm.organization.sync.dto;
+
+import java.util.List;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
+
+/**
+ * One page of the change feed. {@code nextCursor} is always set and is the
+ * position to resume from next time; {@code hasMore} tells whether to ask
+ * again right away or wait for the next sync.
+ */
+public record SyncResponse(
+        List<ClientResponse> clients,
+        List<TransactionResponse> transactions,
+        List<SyncTombstone> deleted,
+        String nextCursor,
+        boolean hasMore) {
+}
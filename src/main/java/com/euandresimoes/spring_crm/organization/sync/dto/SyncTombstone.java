@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.organization.sync.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.euandresimoes.spring_crm.organization.sync.SyncEntityType;
+
+public record SyncTombstone(
+        SyncEntityType type,
+        UUID id,
+        Instant deletedAt) {
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.sync.exception;
+
+public class SyncCursorExpiredException extends RuntimeException {
+    public SyncCursorExpiredException() {
+        super("Sync cursor is older than the deletion history, a full resync is required");
+    }
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+public enum IngestStatus {
+    QUEUED,
+    PERSISTED,
+    FAILED
+}
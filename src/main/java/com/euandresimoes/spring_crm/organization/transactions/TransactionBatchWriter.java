@@ -0,0 +1,79 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts a batch of transactions with a single JDBC batch statement, bypassing
+ * the persistence context. Each call commits on its own, together with the
+ * derived data updated by {@link TransactionsChangedEvent} listeners.
+ */
+@Component
+public class TransactionBatchWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO organization.transactions
+                (id, organization_id, user_id, description, amount, type, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+    private final OrganizationChangeVersions changeVersions;
+
+    public TransactionBatchWriter(JdbcTemplate jdbcTemplate, ApplicationEventPublisher events,
+            OrganizationChangeVersions changeVersions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+        this.changeVersions = changeVersions;
+    }
+
+    @Transactional
+    public void insert(List<TransactionRow> rows) {
+        // created_at keeps the time the row was accepted, which for queued rows
+        // can be well behind; updated_at is when the row lands, so the sync feed
+        // and shard moves, which read past their settle window, still see it
+        Instant persistedAt = Instant.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row, persistedAt));
+
+        Map<UUID, List<TransactionRow>> byOrganization = rows.stream()
+                .collect(Collectors.groupingBy(TransactionRow::organizationId, LinkedHashMap::new, Collectors.toList()));
+        byOrganization.forEach((organizationId, orgRows) -> {
+            events.publishEvent(new TransactionsChangedEvent(
+                    organizationId,
+                    orgRows.get(0).userId(),
+                    orgRows.stream()
+                            .map(row -> TransactionChange.created(row.id(),
+                                    new TransactionSnapshot(row.type(), row.amount(), row.createdAt())))
+                            .toList()));
+            changeVersions.bumpOrganization(organizationId);
+        });
+    }
+
+    private void bind(PreparedStatement ps, TransactionRow row, Instant persistedAt) throws SQLException {
+        ps.setObject(1, row.id());
+        ps.setObject(2, row.organizationId());
+        ps.setObject(3, row.userId());
+        ps.setString(4, row.description());
+        ps.setBigDecimal(5, row.amount());
+        ps.setString(6, row.type().name());
+        ps.setObject(7, row.createdAt().atOffset(ZoneOffset.UTC));
+        ps.setObject(8, persistedAt.atOffset(ZoneOffset.UTC));
+    }
+}
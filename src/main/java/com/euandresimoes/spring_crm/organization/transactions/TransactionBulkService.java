@@ -0,0 +1,166 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BulkIngestResponse;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BulkItemError;
+import com.euandresimoes.spring_crm.organization.transactions.dto.CreateTransactionCommand;
+import com.euandresimoes.spring_crm.shared.persistence.UuidV7;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests a stream of {@link CreateTransactionCommand}s, either as a JSON array
+ * or as newline-delimited JSON, without buffering the whole payload. Valid
+ * items are inserted in JDBC batches that commit independently; invalid items
+ * are reported back by their position in the stream. Malformed JSON ends the
+ * ingestion at that position, keeping the batches written before it.
+ */
+@Service
+public class TransactionBulkService {
+
+    private final TransactionBatchWriter batchWriter;
+    private final OrganizationOwnership ownership;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+
+    public TransactionBulkService(
+            TransactionBatchWriter batchWriter,
+            OrganizationOwnership ownership,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${transactions.bulk.batch-size:500}") int batchSize) {
+        this.batchWriter = batchWriter;
+        this.ownership = ownership;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    public BulkIngestResponse ingest(UUID userId, UUID organizationID, InputStream body) throws IOException {
+        ownership.requireOwned(userId, organizationID);
+
+        List<BulkItemError> errors = new ArrayList<>();
+        List<CreateTransactionCommand> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        int received = 0;
+        int inserted = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            // A top-level array is read element by element; otherwise every root value is an item (NDJSON)
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array)
+                token = parser.nextToken();
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = parser.readValueAsTree();
+                int index = received++;
+
+                CreateTransactionCommand command = toCommand(index, node, errors);
+                if (command != null) {
+                    batch.add(command);
+                    batchIndexes.add(index);
+                }
+
+                if (batch.size() >= batchSize) {
+                    inserted += flush(userId, organizationID, batch, batchIndexes, errors);
+                }
+
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // The stream cannot be resynchronized: keep what was inserted and stop
+            errors.add(new BulkItemError(received, "Malformed input at line %d, column %d, ingestion stopped: %s"
+                    .formatted(e.getLocation().getLineNr(), e.getLocation().getColumnNr(), e.getOriginalMessage())));
+        }
+
+        inserted += flush(userId, organizationID, batch, batchIndexes, errors);
+        return new BulkIngestResponse(received, inserted, errors);
+    }
+
+    private CreateTransactionCommand toCommand(int index, JsonNode node, List<BulkItemError> errors) {
+        CreateTransactionCommand command;
+        try {
+            command = objectMapper.treeToValue(node, CreateTransactionCommand.class);
+        } catch (JsonProcessingException e) {
+            errors.add(new BulkItemError(index, "Malformed item: " + e.getOriginalMessage()));
+            return null;
+        }
+
+        if (command == null) {
+            errors.add(new BulkItemError(index, "Item is null"));
+            return null;
+        }
+
+        Set<ConstraintViolation<CreateTransactionCommand>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            errors.add(new BulkItemError(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return null;
+        }
+
+        return command;
+    }
+
+    private int flush(UUID userId, UUID organizationID, List<CreateTransactionCommand> batch,
+            List<Integer> batchIndexes, List<BulkItemError> errors) {
+        if (batch.isEmpty())
+            return 0;
+
+        // Stamped as the batch is written rather than as each item is parsed,
+        // so no row is already older than its insert
+        Instant createdAt = Instant.now();
+        List<TransactionRow> rows = batch.stream()
+                .map(command -> new TransactionRow(
+                        UuidV7.generate(),
+                        organizationID,
+                        userId,
+                        command.description(),
+                        command.amount(),
+                        command.type(),
+                        createdAt))
+                .toList();
+
+        int inserted = 0;
+        try {
+            batchWriter.insert(rows);
+            inserted = rows.size();
+        } catch (DataAccessException batchFailure) {
+            // The whole batch rolled back: retry row by row to isolate the offending items
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    batchWriter.insert(List.of(rows.get(i)));
+                    inserted++;
+                } catch (DataAccessException e) {
+                    errors.add(new BulkItemError(
+                            batchIndexes.get(i),
+                            "Insert failed: " + e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+
+        batch.clear();
+        batchIndexes.clear();
+        return inserted;
+    }
+}
@@ -1,14 +1,33 @@
 package com.euandresimoes.spring_crm.organization.transactions;
 
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BalanceResponse;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BulkIngestResponse;
 import com.euandresimoes.spring_crm.organization.transactions.dto.CreateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.dto.PatchTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.dto.RollupBucketResponse;
 import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
 import com.euandresimoes.spring_crm.organization.transactions.dto.UpdateTransactionCommand;
+import com.euandresimoes.spring_crm.shared.idempotency.IdempotencyService;
+import com.euandresimoes.spring_crm.shared.sharding.ShardContext;
 import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+import com.euandresimoes.spring_crm.shared.web.ConditionalGet;
+import com.euandresimoes.spring_crm.shared.web.CursorPage;
+import com.euandresimoes.spring_crm.shared.web.VersionResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,26 +36,114 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService exportService;
+    private final TransactionBulkService bulkService;
+    private final TransactionTotalsService totalsService;
+    private final TransactionRollupService rollupService;
+    private final OrganizationChangeVersions changeVersions;
+    private final IdempotencyService idempotency;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionExportService exportService,
+            TransactionBulkService bulkService, TransactionTotalsService totalsService,
+            TransactionRollupService rollupService, OrganizationChangeVersions changeVersions,
+            IdempotencyService idempotency) {
         this.transactionService = transactionService;
+        this.exportService = exportService;
+        this.bulkService = bulkService;
+        this.totalsService = totalsService;
+        this.rollupService = rollupService;
+        this.changeVersions = changeVersions;
+        this.idempotency = idempotency;
     }
 
     @PostMapping
     public ApiResponse<TransactionResponse> createTransaction(
             @NonNull @AuthenticationPrincipal String userId,
             @PathVariable UUID organizationID,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateTransactionCommand command) {
-        return ApiResponse.ok(transactionService.createTransaction(UUID.fromString(userId), organizationID, command));
+        UUID user = UUID.fromString(userId);
+        return ApiResponse.ok(idempotency.execute(user, "transaction.create:" + organizationID, idempotencyKey,
+                command, TransactionResponse.class,
+                () -> transactionService.createTransaction(user, organizationID, command)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ApiResponse<BulkIngestResponse> bulkCreateTransactions(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            InputStream body) throws IOException {
+        return ApiResponse.ok(bulkService.ingest(UUID.fromString(userId), organizationID, body));
     }
 
     @GetMapping("/find/all")
-    public ApiResponse<List<TransactionResponse>> findTransactions(
+    public ResponseEntity<ApiResponse<List<TransactionResponse>>> findTransactions(
             @NonNull @AuthenticationPrincipal String userId,
             @PathVariable UUID organizationID,
             @RequestParam int page,
-            @RequestParam int size) {
-        return ApiResponse.ok(transactionService.findTransactions(UUID.fromString(userId), organizationID, page, size));
+            @RequestParam int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID user = UUID.fromString(userId);
+        String etag = changeVersions.organizationEtag(organizationID, "transactions", user, page, size);
+        return ConditionalGet.respond(etag, ifNoneMatch,
+                () -> transactionService.findTransactions(user, organizationID, page, size));
+    }
+
+    @GetMapping(value = "/find/all", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> findTransactionsByCursor(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam String cursor,
+            @RequestParam int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UUID user = UUID.fromString(userId);
+        String etag = changeVersions.organizationEtag(organizationID, "transactions-cursor", user, cursor, size);
+        return ConditionalGet.respond(etag, ifNoneMatch,
+                () -> transactionService.findTransactionsByCursor(user, organizationID, cursor, size));
+    }
+
+    @GetMapping("/balance")
+    public ApiResponse<BalanceResponse> getBalance(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID) {
+        return ApiResponse.ok(totalsService.getBalance(UUID.fromString(userId), organizationID));
+    }
+
+    @GetMapping("/rollups")
+    public ApiResponse<List<RollupBucketResponse>> findRollups(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") RollupBucket bucket) {
+        return ApiResponse.ok(rollupService.findRollups(UUID.fromString(userId), organizationID, from, to, bucket));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        UUID user = UUID.fromString(userId);
+        // Checked before streaming starts so a missing organization still gets a normal error response
+        exportService.requireOwnership(user, organizationID);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = ShardContext.bind(
+                out -> exportService.export(user, organizationID, format, from, to, gzip, out));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions-" + organizationID + "." + format.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip)
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        return response.body(body);
     }
 
     @PutMapping
@@ -47,12 +154,20 @@ public class TransactionController {
         return ApiResponse.ok(transactionService.updateTransaction(UUID.fromString(userId), organizationID, command));
     }
 
+    @PatchMapping("/{id}")
+    public ApiResponse<VersionResponse> patchTransaction(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @PathVariable UUID id,
+            @Valid @RequestBody PatchTransactionCommand command) {
+        return ApiResponse.ok(transactionService.patchTransaction(UUID.fromString(userId), organizationID, id, command));
+    }
+
     @DeleteMapping("/{id}")
-    public ApiResponse<Void> deleteTransaction(
+    public ApiResponse<Integer> deleteTransaction(
             @NonNull @AuthenticationPrincipal String userId,
             @PathVariable UUID organizationID,
             @PathVariable UUID id) {
-        transactionService.deleteTransaction(UUID.fromString(userId), organizationID, id);
-        return ApiResponse.ok(null);
+        return ApiResponse.ok(transactionService.deleteTransaction(UUID.fromString(userId), organizationID, id));
     }
 }
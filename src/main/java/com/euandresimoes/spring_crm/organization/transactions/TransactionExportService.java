@@ -0,0 +1,148 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams an organization's transactions row by row from a forward-only JDBC
+ * cursor, so memory use does not depend on how many rows are exported.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,description,amount,type,created_at,updated_at\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrganizationOwnership ownership;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            OrganizationOwnership ownership,
+            ObjectMapper objectMapper,
+            @Value("${transactions.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.ownership = ownership;
+        this.objectMapper = objectMapper;
+    }
+
+    public void requireOwnership(UUID userId, UUID organizationID) {
+        ownership.requireOwned(userId, organizationID);
+    }
+
+    /**
+     * Writes the transactions created in {@code [from, to)} to {@code out}; a
+     * null bound leaves that side open. The output is gzip-compressed when
+     * {@code gzip} is set.
+     */
+    public void export(UUID userId, UUID organizationID, ExportFormat format, Instant from, Instant to,
+            boolean gzip, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, description, amount, type, created_at, updated_at, version
+                FROM organization.transactions
+                WHERE organization_id = ? AND user_id = ?
+                """);
+        List<Object> args = new ArrayList<>(List.of(organizationID, userId));
+
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(from.atOffset(ZoneOffset.UTC));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(to.atOffset(ZoneOffset.UTC));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 8192) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV)
+            writer.write(CSV_HEADER);
+
+        try {
+            // Postgres only honours the fetch size (server-side cursor) inside a transaction
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    sql.toString(),
+                    (RowCallbackHandler) rs -> writeRow(writer, format, rs),
+                    args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzipOut != null)
+            gzipOut.finish();
+    }
+
+    private void writeRow(Writer writer, ExportFormat format, ResultSet rs) throws SQLException {
+        TransactionResponse row = new TransactionResponse(
+                rs.getObject("id", UUID.class),
+                rs.getString("description"),
+                rs.getBigDecimal("amount"),
+                rs.getString("type"),
+                toInstant(rs.getObject("created_at", OffsetDateTime.class)),
+                toInstant(rs.getObject("updated_at", OffsetDateTime.class)),
+                rs.getLong("version"));
+
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(toCsvLine(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsvLine(TransactionResponse row) {
+        return String.join(",",
+                row.id().toString(),
+                escapeCsv(row.description()),
+                row.amount().toPlainString(),
+                row.type(),
+                row.createdAt().toString(),
+                row.updatedAt() == null ? "" : row.updatedAt().toString()) + "\n";
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r"))
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        return value;
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+}
@@ -0,0 +1,180 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardContext;
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persisting side of the write-behind ingestion. Each batch handed over by
+ * the listener container is written with one JDBC batch insert through
+ * {@link TransactionBatchWriter}, so totals, rollups and the outbox are kept
+ * in step as for any other insert.
+ * <p>
+ * When the batch insert fails the rows are retried one by one. A duplicate
+ * key then means an earlier delivery already committed the row, which makes
+ * redelivery after a crash harmless; any other error is recorded as a failure
+ * for the status endpoint. Messages are acknowledged once the batch returns.
+ * With sharding a batch is split by the shard of each item's organization;
+ * items of an organization that is being moved fail the batch once the rest
+ * is written, so the broker redelivers it after the move.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.ingest.enabled", havingValue = "true")
+public class TransactionIngestConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestConsumer.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT_FAILURE_SQL = """
+            INSERT INTO organization.transaction_ingest_failures
+                (id, organization_id, user_id, error, failed_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String PURGE_FAILURES_SQL = """
+            DELETE FROM organization.transaction_ingest_failures WHERE failed_at < ?
+            """;
+
+    private final TransactionBatchWriter batchWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardTopology topology;
+    private final ShardDirectory directory;
+    private final ObjectMapper objectMapper;
+    private final Duration statusRetention;
+
+    private final Counter persisted;
+    private final Counter failed;
+    private final Timer latency;
+    private final DistributionSummary batchSizes;
+
+    public TransactionIngestConsumer(
+            TransactionBatchWriter batchWriter,
+            JdbcTemplate jdbcTemplate,
+            ShardTopology topology,
+            ShardDirectory directory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${transactions.ingest.status-retention:24h}") Duration statusRetention) {
+        this.batchWriter = batchWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.topology = topology;
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.statusRetention = statusRetention;
+
+        this.persisted = Counter.builder("transactions.ingest.persisted").register(meterRegistry);
+        this.failed = Counter.builder("transactions.ingest.failed").register(meterRegistry);
+        // Acceptance to commit, i.e. what the caller of the async endpoint waits for
+        this.latency = Timer.builder("transactions.ingest.latency").publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("transactions.ingest.batch.size").register(meterRegistry);
+    }
+
+    @RabbitListener(queues = "${transactions.ingest.queue:transactions.ingest}",
+            containerFactory = "transactionIngestContainerFactory")
+    public void onBatch(List<Message> messages) {
+        List<TransactionIngestMessage> items = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                items.add(objectMapper.readValue(message.getBody(), TransactionIngestMessage.class));
+            } catch (IOException e) {
+                failed.increment();
+                log.warn("Dropping unreadable ingest message {}", message.getMessageProperties().getMessageId(), e);
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+        batchSizes.record(items.size());
+
+        Map<String, List<TransactionIngestMessage>> byShard = new LinkedHashMap<>();
+        OrganizationMovingException moving = null;
+        for (TransactionIngestMessage item : items) {
+            try {
+                byShard.computeIfAbsent(directory.shardForWrite(item.organizationId()), shard -> new ArrayList<>())
+                        .add(item);
+            } catch (OrganizationMovingException e) {
+                moving = e;
+            }
+        }
+        byShard.forEach((shard, shardItems) -> ShardContext.run(shard, () -> persist(shardItems)));
+
+        if (moving != null) {
+            // The batch is redelivered; rows persisted above are then skipped as duplicates
+            throw moving;
+        }
+    }
+
+    private void persist(List<TransactionIngestMessage> items) {
+        try {
+            batchWriter.insert(items.stream().map(TransactionIngestMessage::toRow).toList());
+            items.forEach(this::recordPersisted);
+        } catch (DataAccessException e) {
+            log.info("Batch insert of {} ingested transactions failed, retrying one by one", items.size(), e);
+            items.forEach(this::insertOne);
+        }
+    }
+
+    private void insertOne(TransactionIngestMessage item) {
+        try {
+            batchWriter.insert(List.of(item.toRow()));
+            recordPersisted(item);
+        } catch (DuplicateKeyException e) {
+            // Committed by an earlier delivery of the same message
+        } catch (DataAccessException e) {
+            recordFailure(item, e);
+        }
+    }
+
+    private void recordPersisted(TransactionIngestMessage item) {
+        persisted.increment();
+        latency.record(Duration.between(item.acceptedAt(), Instant.now()));
+    }
+
+    private void recordFailure(TransactionIngestMessage item, DataAccessException e) {
+        failed.increment();
+        String error = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        try {
+            jdbcTemplate.update(INSERT_FAILURE_SQL, item.id(), item.organizationId(), item.userId(), error,
+                    Instant.now().atOffset(ZoneOffset.UTC));
+        } catch (DuplicateKeyException duplicate) {
+            // Already recorded by an earlier delivery
+        }
+    }
+
+    @Scheduled(cron = "${transactions.ingest.purge-cron:0 0 5 * * *}")
+    public int purgeFailures() {
+        Object cutoff = Instant.now().minus(statusRetention).atOffset(ZoneOffset.UTC);
+        return topology.sumOverShards(() -> jdbcTemplate.update(PURGE_FAILURES_SQL, cutoff));
+    }
+}
@@ -0,0 +1,44 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.transactions.dto.CreateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionIngestResponse;
+import com.euandresimoes.spring_crm.shared.web.ApiResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/organization/{organizationID}/transaction")
+@ConditionalOnProperty(name = "transactions.ingest.enabled", havingValue = "true")
+public class TransactionIngestController {
+
+    private final TransactionIngestService ingestService;
+
+    public TransactionIngestController(TransactionIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @PostMapping(params = "async=true")
+    public ResponseEntity<ApiResponse<TransactionIngestResponse>> ingestTransaction(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @Valid @RequestBody CreateTransactionCommand command) {
+        TransactionIngestResponse response = ingestService.accept(UUID.fromString(userId), organizationID, command);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(HttpStatus.ACCEPTED.value(), null, response));
+    }
+
+    @GetMapping("/ingest/{id}")
+    public ApiResponse<TransactionIngestResponse> getIngestStatus(
+            @NonNull @AuthenticationPrincipal String userId,
+            @PathVariable UUID organizationID,
+            @PathVariable UUID id) {
+        return ApiResponse.ok(ingestService.status(UUID.fromString(userId), organizationID, id));
+    }
+}
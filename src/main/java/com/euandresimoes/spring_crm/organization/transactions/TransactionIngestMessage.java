@@ -0,0 +1,23 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Body of a queued transaction, as JSON. The id is assigned on acceptance and
+ * becomes the transaction's id, so redeliveries are detected by key.
+ */
+public record TransactionIngestMessage(
+        UUID id,
+        UUID organizationId,
+        UUID userId,
+        String description,
+        BigDecimal amount,
+        TransactionType type,
+        Instant acceptedAt) {
+
+    TransactionRow toRow() {
+        return new TransactionRow(id, organizationId, userId, description, amount, type, acceptedAt);
+    }
+}
@@ -0,0 +1,44 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Queue and listener container of the write-behind ingestion. The container
+ * hands the consumer a batch once it holds {@code batch-size} messages or
+ * {@code batch-timeout} has passed since the first one, whichever comes first.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transactions.ingest.enabled", havingValue = "true")
+public class TransactionIngestRabbitConfig {
+
+    @Bean
+    public Queue transactionIngestQueue(@Value("${transactions.ingest.queue:transactions.ingest}") String queue) {
+        return new Queue(queue, true);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory transactionIngestContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${transactions.ingest.batch-size:500}") int batchSize,
+            @Value("${transactions.ingest.batch-timeout:200ms}") Duration batchTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(batchTimeout.toMillis());
+        // Enough unacknowledged messages in flight to fill the next batch while one is written
+        factory.setPrefetchCount(batchSize * 2);
+        return factory;
+    }
+}
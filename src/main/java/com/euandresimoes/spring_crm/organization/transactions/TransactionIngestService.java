@@ -0,0 +1,136 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.transactions.dto.CreateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionIngestResponse;
+import com.euandresimoes.spring_crm.organization.transactions.exception.TransactionIngestNotFoundException;
+import com.euandresimoes.spring_crm.shared.persistence.UuidV7;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Accepting side of the write-behind ingestion: a transaction is validated,
+ * checked for ownership and queued, and the caller gets its future id back
+ * without waiting for the database. The send waits for the broker's publisher
+ * confirm, so an accepted transaction is durable on the queue.
+ * <p>
+ * Status needs no bookkeeping of its own: a persisted transaction is its own
+ * record, failures are kept by the consumer, and anything else is still queued
+ * as long as the acceptance time embedded in the UUIDv7 id is recent.
+ */
+@Service
+@ConditionalOnProperty(name = "transactions.ingest.enabled", havingValue = "true")
+public class TransactionIngestService {
+
+    private static final String PERSISTED_SQL = """
+            SELECT COUNT(*) FROM organization.transactions
+            WHERE id = ? AND organization_id = ? AND user_id = ?
+            """;
+
+    private static final String FAILURE_SQL = """
+            SELECT error FROM organization.transaction_ingest_failures
+            WHERE id = ? AND organization_id = ? AND user_id = ?
+            """;
+
+    private final OrganizationOwnership ownership;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final String queue;
+    private final Duration confirmTimeout;
+    private final Duration statusRetention;
+    private final Counter accepted;
+
+    public TransactionIngestService(
+            OrganizationOwnership ownership,
+            RabbitTemplate rabbitTemplate,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${transactions.ingest.queue:transactions.ingest}") String queue,
+            @Value("${transactions.ingest.confirm-timeout:5s}") Duration confirmTimeout,
+            @Value("${transactions.ingest.status-retention:24h}") Duration statusRetention) {
+        this.ownership = ownership;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = queue;
+        this.confirmTimeout = confirmTimeout;
+        this.statusRetention = statusRetention;
+        this.accepted = Counter.builder("transactions.ingest.accepted").register(meterRegistry);
+    }
+
+    public TransactionIngestResponse accept(UUID userId, UUID organizationID, CreateTransactionCommand command) {
+        ownership.requireOwned(userId, organizationID);
+
+        TransactionIngestMessage body = new TransactionIngestMessage(
+                UuidV7.generate(),
+                organizationID,
+                userId,
+                command.description(),
+                command.amount(),
+                command.type(),
+                Instant.now());
+        Message message = MessageBuilder.withBody(toJson(body))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setMessageId(body.id().toString())
+                .build();
+
+        rabbitTemplate.invoke(operations -> {
+            operations.send("", queue, message);
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+        accepted.increment();
+
+        return new TransactionIngestResponse(body.id(), IngestStatus.QUEUED, body.acceptedAt(), null);
+    }
+
+    public TransactionIngestResponse status(UUID userId, UUID organizationID, UUID id) {
+        ownership.requireOwned(userId, organizationID);
+
+        Instant acceptedAt = UuidV7.timestamp(id);
+        if (acceptedAt == null) {
+            throw new TransactionIngestNotFoundException(id);
+        }
+
+        Long persisted = jdbcTemplate.queryForObject(PERSISTED_SQL, Long.class, id, organizationID, userId);
+        if (persisted != null && persisted > 0) {
+            return new TransactionIngestResponse(id, IngestStatus.PERSISTED, acceptedAt, null);
+        }
+
+        List<String> errors = jdbcTemplate.queryForList(FAILURE_SQL, String.class, id, organizationID, userId);
+        if (!errors.isEmpty()) {
+            return new TransactionIngestResponse(id, IngestStatus.FAILED, acceptedAt, errors.get(0));
+        }
+
+        if (acceptedAt.isBefore(Instant.now().minus(statusRetention))) {
+            throw new TransactionIngestNotFoundException(id);
+        }
+        return new TransactionIngestResponse(id, IngestStatus.QUEUED, acceptedAt, null);
+    }
+
+    private byte[] toJson(TransactionIngestMessage body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
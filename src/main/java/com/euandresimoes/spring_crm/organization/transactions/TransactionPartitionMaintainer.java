@@ -0,0 +1,124 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code organization.transactions} ahead of
+ * time and detaches the ones past retention. Only meaningful on the Postgres
+ * layout created by {@code db/vendor/postgresql/V7}, so it is enabled from the
+ * prod profile. Every shard's table is maintained.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.partitions.enabled", havingValue = "true")
+public class TransactionPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionMaintainer.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'organization.transactions'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardTopology topology;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    @Autowired
+    public TransactionPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            ShardTopology topology,
+            @Value("${transactions.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${transactions.partitions.retention-months:0}") int retentionMonths) {
+        this(jdbcTemplate, topology, Clock.systemUTC(), monthsAhead, retentionMonths);
+    }
+
+    TransactionPartitionMaintainer(JdbcTemplate jdbcTemplate, ShardTopology topology, Clock clock, int monthsAhead,
+            int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topology = topology;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transactions.partitions.maintenance-cron:0 0 2 * * *}")
+    public void maintain() {
+        topology.forEachShard(() -> {
+            ensureFuturePartitions();
+            if (retentionMonths > 0) {
+                detachExpiredPartitions();
+            }
+        });
+    }
+
+    public void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = current.plusMonths(i).atDay(1);
+            jdbcTemplate.queryForObject("SELECT organization.ensure_transaction_partition(?)", String.class, month);
+        }
+    }
+
+    /**
+     * Detaches every monthly partition entirely older than the retention
+     * window. Detached tables keep their data and can be dumped and dropped
+     * without touching the live table.
+     *
+     * @return the names of the detached partitions
+     */
+    public List<String> detachExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.now(clock).minusMonths(retentionMonths);
+        List<String> detached = new ArrayList<>();
+
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            YearMonth month = parseMonth(partition);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            String name = jdbcTemplate.queryForObject("SELECT organization.detach_transaction_partition(?)",
+                    String.class, month.atDay(1));
+            if (name != null) {
+                log.info("Detached transactions partition {}", name);
+                detached.add(name);
+            }
+        }
+        return detached;
+    }
+
+    private static YearMonth parseMonth(String partition) {
+        if (!partition.startsWith("transactions_")) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring("transactions_".length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            // transactions_default and anything not created by the maintainer
+            return null;
+        }
+    }
+}
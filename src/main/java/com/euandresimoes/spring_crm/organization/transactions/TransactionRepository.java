@@ -1,19 +1,95 @@
 package com.euandresimoes.spring_crm.organization.transactions;
 
-import org.springframework.data.domain.Page;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionEntity, UUID> {
 
-    void deleteByIdAndUserIdAndOrganization_Id(UUID id, UUID userId, UUID organizationId);
+    /**
+     * Reads and row-locks the aggregate columns of a transaction about to be
+     * deleted, so the totals delta matches the row that is actually removed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot(
+                t.type, t.amount, t.createdAt)
+            from TransactionEntity t
+            where t.id = :id and t.userId = :userId and t.organization.id = :organizationId
+            """)
+    Optional<TransactionSnapshot> lockSnapshot(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationId);
 
-    Page<TransactionEntity> findAllByUserIdAndOrganization_Id(UUID userId, UUID organizationId, Pageable pageable);
+    // Single DELETE statement; nothing is loaded into the persistence context
+    @Modifying
+    @Query("""
+            delete from TransactionEntity t
+            where t.id = :id and t.userId = :userId and t.organization.id = :organizationId
+            """)
+    int deleteByIdAndUserIdAndOrganization_Id(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationId);
+
+    // Read paths below project straight into TransactionResponse, so no managed
+    // TransactionEntity or organizations row is loaded for a listing. Bounds on
+    // createdAt are kept as plain top-level predicates so Postgres can prune
+    // the monthly partitions.
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse(
+                t.id, t.description, t.amount, t.type, t.createdAt, t.updatedAt, t.version)
+            from TransactionEntity t
+            where t.userId = :userId and t.organization.id = :organizationId
+            """)
+    List<TransactionResponse> findResponses(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationId,
+            Pageable pageable);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse(
+                t.id, t.description, t.amount, t.type, t.createdAt, t.updatedAt, t.version)
+            from TransactionEntity t
+            where t.userId = :userId and t.organization.id = :organizationId
+            order by t.createdAt desc, t.id desc
+            """)
+    Slice<TransactionResponse> findFirstSlice(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationId,
+            Pageable pageable);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse(
+                t.id, t.description, t.amount, t.type, t.createdAt, t.updatedAt, t.version)
+            from TransactionEntity t
+            where t.userId = :userId and t.organization.id = :organizationId
+              and t.createdAt <= :createdAt
+              and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id))
+            order by t.createdAt desc, t.id desc
+            """)
+    Slice<TransactionResponse> findSliceAfter(
+            @Param("userId") UUID userId,
+            @Param("organizationId") UUID organizationId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable);
 
     Optional<TransactionEntity> findByIdAndUserIdAndOrganization_Id(UUID id, UUID userId, UUID organizationId);
 }
@@ -0,0 +1,94 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Sum and count of an organization's transactions of one {@link TransactionType}
+ * created on one UTC day, kept in step by {@link TransactionRollupService}.
+ */
+@Entity
+@Table(name = "transaction_daily_rollups", schema = "organization")
+@IdClass(TransactionRollupId.class)
+public class TransactionRollupEntity {
+
+    @Id
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Id
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+
+    public TransactionRollupEntity() {
+    }
+
+    public TransactionRollupEntity(UUID organizationId, LocalDate day, TransactionType type, BigDecimal total,
+            long count) {
+        this.organizationId = organizationId;
+        this.day = day;
+        this.type = type;
+        this.total = total;
+        this.count = count;
+    }
+
+    public UUID getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(UUID organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
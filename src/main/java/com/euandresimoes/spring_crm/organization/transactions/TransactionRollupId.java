@@ -0,0 +1,11 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record TransactionRollupId(
+        UUID organizationId,
+        LocalDate day,
+        TransactionType type) implements Serializable {
+}
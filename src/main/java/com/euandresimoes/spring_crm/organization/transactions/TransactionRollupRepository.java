@@ -0,0 +1,34 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollupEntity, TransactionRollupId> {
+
+    List<TransactionRollupEntity> findAllByOrganizationIdAndDayBetweenOrderByDay(
+            UUID organizationId,
+            LocalDate from,
+            LocalDate to);
+
+    @Modifying
+    @Query("""
+            update TransactionRollupEntity r
+            set r.total = r.total + :amount, r.count = r.count + :count
+            where r.organizationId = :organizationId and r.day = :day and r.type = :type
+            """)
+    int addToRollup(
+            @Param("organizationId") UUID organizationId,
+            @Param("day") LocalDate day,
+            @Param("type") TransactionType type,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+}
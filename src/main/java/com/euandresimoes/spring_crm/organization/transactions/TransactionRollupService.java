@@ -0,0 +1,165 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.transactions.dto.RollupBucketResponse;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import com.euandresimoes.spring_crm.organization.transactions.exception.InvalidRollupRangeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maintains per-organization daily rollups of transactions and answers chart
+ * queries by merging them into larger buckets. Days are UTC calendar days of
+ * the transaction's {@code created_at}.
+ */
+@Service
+@Transactional
+public class TransactionRollupService {
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::day)
+            .thenComparing(RollupKey::type);
+
+    private final TransactionRollupRepository rollupRepo;
+    private final OrganizationOwnership ownership;
+    private final int maxBuckets;
+
+    public TransactionRollupService(
+            TransactionRollupRepository rollupRepo,
+            OrganizationOwnership ownership,
+            @Value("${transactions.rollups.max-buckets:1000}") int maxBuckets) {
+        this.rollupRepo = rollupRepo;
+        this.ownership = ownership;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Runs after {@link TransactionTotalsService} has updated, and therefore
+     * locked, the organization's totals rows, so the update-then-insert below
+     * never races another writer of the same organization.
+     */
+    @EventListener
+    @Order(1)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<RollupKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                deltas.computeIfAbsent(RollupKey.of(change.before()), k -> new Delta()).subtract(change.before());
+            }
+            if (change.after() != null) {
+                deltas.computeIfAbsent(RollupKey.of(change.after()), k -> new Delta()).add(change.after());
+            }
+        }
+
+        deltas.forEach((key, delta) -> {
+            if (delta.isZero()) {
+                return;
+            }
+            int updated = rollupRepo.addToRollup(event.organizationId(), key.day(), key.type(), delta.amount,
+                    delta.count);
+            if (updated == 0) {
+                rollupRepo.save(new TransactionRollupEntity(event.organizationId(), key.day(), key.type(),
+                        delta.amount, delta.count));
+            }
+        });
+    }
+
+    /**
+     * Returns one entry per bucket between {@code from} and {@code to}
+     * (inclusive), including empty buckets, so charts get a continuous axis.
+     */
+    @Transactional(readOnly = true)
+    public List<RollupBucketResponse> findRollups(UUID userId, UUID organizationID, LocalDate from, LocalDate to,
+            RollupBucket bucket) {
+        if (from.isAfter(to)) {
+            throw new InvalidRollupRangeException("Range start " + from + " is after its end " + to);
+        }
+
+        ownership.requireOwned(userId, organizationID);
+
+        Map<LocalDate, Bucket> buckets = new TreeMap<>();
+        for (LocalDate start = bucket.start(from); !start.isAfter(to); start = bucket.next(start)) {
+            if (buckets.size() == maxBuckets) {
+                throw new InvalidRollupRangeException(
+                        "Range yields more than " + maxBuckets + " " + bucket + " buckets");
+            }
+            buckets.put(start, new Bucket());
+        }
+
+        List<TransactionRollupEntity> days = rollupRepo.findAllByOrganizationIdAndDayBetweenOrderByDay(
+                organizationID, from, to);
+        for (TransactionRollupEntity day : days) {
+            buckets.get(bucket.start(day.getDay())).add(day);
+        }
+
+        List<RollupBucketResponse> response = new ArrayList<>(buckets.size());
+        buckets.forEach((start, b) -> response.add(new RollupBucketResponse(
+                start,
+                b.income,
+                b.expense,
+                b.income.subtract(b.expense),
+                b.incomeCount,
+                b.expenseCount)));
+        return response;
+    }
+
+    private record RollupKey(LocalDate day, TransactionType type) {
+        static RollupKey of(TransactionSnapshot snapshot) {
+            return new RollupKey(LocalDate.ofInstant(snapshot.createdAt(), ZoneOffset.UTC), snapshot.type());
+        }
+    }
+
+    private static final class Delta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        void add(TransactionSnapshot snapshot) {
+            amount = amount.add(snapshot.amount());
+            count++;
+        }
+
+        void subtract(TransactionSnapshot snapshot) {
+            amount = amount.subtract(snapshot.amount());
+            count--;
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    private static final class Bucket {
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+        private long incomeCount;
+        private long expenseCount;
+
+        void add(TransactionRollupEntity day) {
+            switch (day.getType()) {
+                case INCOME -> {
+                    income = income.add(day.getTotal());
+                    incomeCount += day.getCount();
+                }
+                case EXPENSE -> {
+                    expense = expense.add(day.getTotal());
+                    expenseCount += day.getCount();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A fully resolved transaction ready to be written by {@link TransactionBatchWriter}.
+ */
+public record TransactionRow(
+        UUID id,
+        UUID organizationId,
+        UUID userId,
+        String description,
+        BigDecimal amount,
+        TransactionType type,
+        Instant createdAt) {
+}
@@ -1,19 +1,32 @@
 package com.euandresimoes.spring_crm.organization.transactions;
 
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
 import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
-import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
-import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
 import com.euandresimoes.spring_crm.organization.transactions.dto.CreateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.dto.PatchTransactionCommand;
 import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
 import com.euandresimoes.spring_crm.organization.transactions.dto.UpdateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
 import com.euandresimoes.spring_crm.organization.transactions.exception.TransactionNotFoundException;
-import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
+import com.euandresimoes.spring_crm.shared.persistence.VersionedUpdate;
+import com.euandresimoes.spring_crm.shared.web.CursorPage;
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import com.euandresimoes.spring_crm.shared.web.VersionResponse;
+import com.euandresimoes.spring_crm.shared.web.exception.VersionConflictException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,16 +34,23 @@ import java.util.UUID;
 public class TransactionService {
 
     private final TransactionRepository transactionRepo;
-    private final OrganizationRepository organizationRepo;
+    private final OrganizationOwnership ownership;
+    private final ApplicationEventPublisher events;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OrganizationChangeVersions changeVersions;
 
-    public TransactionService(TransactionRepository transactionRepo, OrganizationRepository organizationRepo) {
+    public TransactionService(TransactionRepository transactionRepo, OrganizationOwnership ownership,
+            ApplicationEventPublisher events, NamedParameterJdbcTemplate jdbcTemplate,
+            OrganizationChangeVersions changeVersions) {
         this.transactionRepo = transactionRepo;
-        this.organizationRepo = organizationRepo;
+        this.ownership = ownership;
+        this.events = events;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeVersions = changeVersions;
     }
 
     public TransactionResponse createTransaction(UUID userId, UUID organizationID, CreateTransactionCommand command) {
-        OrganizationEntity org = organizationRepo.findByIdAndUserId(organizationID, userId)
-                .orElseThrow(() -> new OrganizationNotFoundException(organizationID));
+        OrganizationEntity org = ownership.requireOwned(userId, organizationID);
 
         TransactionEntity transaction = new TransactionEntity(
                 org,
@@ -40,28 +60,60 @@ public class TransactionService {
                 command.type());
 
         transactionRepo.save(transaction);
+        events.publishEvent(TransactionsChangedEvent.of(organizationID, userId,
+                TransactionChange.created(transaction.getId(), TransactionSnapshot.from(transaction))));
+        changeVersions.bumpOrganization(organizationID);
+
         return TransactionResponse.from(transaction);
     }
 
-    public void deleteTransaction(UUID userId, UUID organizationID, UUID id) {
-        transactionRepo.deleteByIdAndUserIdAndOrganization_Id(
+    public int deleteTransaction(UUID userId, UUID organizationID, UUID id) {
+        Optional<TransactionSnapshot> before = transactionRepo.lockSnapshot(id, userId, organizationID);
+        if (before.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = transactionRepo.deleteByIdAndUserIdAndOrganization_Id(
                 id,
                 userId,
                 organizationID);
+        if (deleted > 0) {
+            events.publishEvent(TransactionsChangedEvent.of(organizationID, userId,
+                    TransactionChange.deleted(id, before.get())));
+            changeVersions.bumpOrganization(organizationID);
+        }
+        return deleted;
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponse> findTransactions(UUID userId, UUID organizationID, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<TransactionEntity> pageResult = transactionRepo.findAllByUserIdAndOrganization_Id(
+        return transactionRepo.findResponses(
                 userId,
                 organizationID,
                 pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> findTransactionsByCursor(UUID userId, UUID organizationID, String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<TransactionResponse> slice;
 
-        return pageResult
-                .getContent()
-                .stream()
-                .map(TransactionResponse::from)
-                .toList();
+        if (cursor == null || cursor.isBlank()) {
+            slice = transactionRepo.findFirstSlice(userId, organizationID, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = transactionRepo.findSliceAfter(userId, organizationID, after.createdAt(), after.id(), pageable);
+        }
+
+        List<TransactionResponse> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            TransactionResponse last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return new CursorPage<>(content, nextCursor);
     }
 
     public TransactionResponse updateTransaction(UUID userId, UUID organizationID, UpdateTransactionCommand command) {
@@ -71,10 +123,60 @@ public class TransactionService {
                 organizationID)
                 .orElseThrow(() -> new TransactionNotFoundException(command.id()));
 
+        TransactionSnapshot before = TransactionSnapshot.from(transaction);
         transaction.setDescription(command.description());
         transaction.setAmount(command.amount());
         transaction.setType(command.type());
 
-        return TransactionResponse.from(transactionRepo.save(transaction));
+        TransactionEntity saved = transactionRepo.save(transaction);
+        events.publishEvent(TransactionsChangedEvent.of(organizationID, userId,
+                TransactionChange.updated(saved.getId(), before, TransactionSnapshot.from(saved))));
+        changeVersions.bumpOrganization(organizationID);
+
+        return TransactionResponse.from(saved);
+    }
+
+    /**
+     * Writes only the fields present in the command, as one UPDATE conditioned
+     * on the caller's version.
+     *
+     * @throws VersionConflictException when the transaction was changed since that version
+     */
+    public VersionResponse patchTransaction(UUID userId, UUID organizationID, UUID id,
+            PatchTransactionCommand command) {
+        VersionedUpdate update = VersionedUpdate.table("organization.transactions")
+                .set("description", command.description())
+                .set("amount", command.amount())
+                .set("type", command.type())
+                .where("id", id)
+                .where("user_id", userId)
+                .where("organization_id", organizationID);
+
+        // Every successful patch publishes a change, so the outbox sees edits of
+        // any column; totals and rollups also need the previous type and amount
+        TransactionSnapshot before = null;
+        if (!update.isEmpty()) {
+            before = transactionRepo.lockSnapshot(id, userId, organizationID)
+                    .orElseThrow(() -> new TransactionNotFoundException(id));
+        }
+
+        if (update.isEmpty() || update.execute(jdbcTemplate, command.version(), Instant.now()) == 0) {
+            long current = update.currentVersion(jdbcTemplate)
+                    .orElseThrow(() -> new TransactionNotFoundException(id));
+            if (!update.isEmpty() || current != command.version()) {
+                throw new VersionConflictException(id, command.version(), current);
+            }
+            return new VersionResponse(id, current);
+        }
+
+        TransactionSnapshot after = new TransactionSnapshot(
+                command.type() != null ? command.type() : before.type(),
+                command.amount() != null ? command.amount() : before.amount(),
+                before.createdAt());
+        events.publishEvent(TransactionsChangedEvent.of(organizationID, userId,
+                TransactionChange.updated(id, before, after)));
+        changeVersions.bumpOrganization(organizationID);
+
+        return new VersionResponse(id, command.version() + 1);
     }
 }
@@ -0,0 +1,79 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Running sum and count of an organization's transactions of one
+ * {@link TransactionType}, kept in step by {@link TransactionTotalsService}.
+ */
+@Entity
+@Table(name = "transaction_totals", schema = "organization")
+@IdClass(TransactionTotalId.class)
+public class TransactionTotalEntity {
+
+    @Id
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private TransactionType type;
+
+    @Column(name = "total", nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+
+    public TransactionTotalEntity() {
+    }
+
+    public TransactionTotalEntity(UUID organizationId, TransactionType type, BigDecimal total, long count) {
+        this.organizationId = organizationId;
+        this.type = type;
+        this.total = total;
+        this.count = count;
+    }
+
+    public UUID getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(UUID organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
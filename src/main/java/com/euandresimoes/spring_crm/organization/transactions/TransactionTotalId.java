@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+public record TransactionTotalId(
+        UUID organizationId,
+        TransactionType type) implements Serializable {
+}
@@ -0,0 +1,44 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TransactionTotalRepository extends JpaRepository<TransactionTotalEntity, TransactionTotalId> {
+
+    List<TransactionTotalEntity> findAllByOrganizationId(UUID organizationId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TransactionTotalEntity t where t.organizationId = :organizationId order by t.type")
+    List<TransactionTotalEntity> lockAllByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    @Modifying
+    @Query("""
+            update TransactionTotalEntity t
+            set t.total = t.total + :amount, t.count = t.count + :count
+            where t.organizationId = :organizationId and t.type = :type
+            """)
+    int addToTotal(
+            @Param("organizationId") UUID organizationId,
+            @Param("type") TransactionType type,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+
+    @Query("""
+            select new com.euandresimoes.spring_crm.organization.transactions.TransactionTypeTotal(
+                t.type, sum(t.amount), count(t))
+            from TransactionEntity t
+            where t.organization.id = :organizationId
+            group by t.type
+            """)
+    List<TransactionTypeTotal> sumByType(@Param("organizationId") UUID organizationId);
+}
@@ -0,0 +1,144 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.shared.sharding.ShardContext;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes every organization's transaction totals from the transactions
+ * table and repairs rows that drifted. Organizations are processed in parallel,
+ * each in its own short transaction that holds the totals rows locked while
+ * summing, so concurrent writers wait instead of racing the comparison.
+ * With sharding the organizations of every shard are reconciled on their shard.
+ */
+@Component
+public class TransactionTotalsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionTotalsReconciler.class);
+
+    private final OrganizationRepository organizationRepo;
+    private final TransactionTotalRepository totalRepo;
+    private final ShardTopology topology;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final Counter driftCounter;
+
+    public TransactionTotalsReconciler(
+            OrganizationRepository organizationRepo,
+            TransactionTotalRepository totalRepo,
+            ShardTopology topology,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${transactions.totals.reconcile-parallelism:4}") int parallelism) {
+        this.organizationRepo = organizationRepo;
+        this.totalRepo = totalRepo;
+        this.topology = topology;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = Math.max(1, parallelism);
+        this.driftCounter = Counter.builder("transactions.totals.drift")
+                .description("Totals rows corrected by the reconciliation job")
+                .register(registry);
+    }
+
+    /**
+     * @return the number of totals rows that had drifted and were corrected
+     */
+    @Scheduled(cron = "${transactions.totals.reconcile-cron:-}")
+    public int reconcileAll() {
+        Map<String, List<UUID>> organizationIds = new LinkedHashMap<>();
+        int organizations = 0;
+        for (String shard : topology.names()) {
+            List<UUID> ids = ShardContext.call(shard, organizationRepo::findAllIds);
+            organizationIds.put(shard, ids);
+            organizations += ids.size();
+        }
+        AtomicInteger drifted = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, organizations)));
+        try {
+            List<Future<?>> futures = new ArrayList<>(organizations);
+            organizationIds.forEach((shard, ids) -> {
+                for (UUID organizationId : ids) {
+                    futures.add(pool.submit(
+                            () -> drifted.addAndGet(ShardContext.call(shard, () -> reconcile(organizationId)))));
+                }
+            });
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("Totals reconciliation failed for one organization", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        log.info("Reconciled transaction totals of {} organizations, {} rows corrected",
+                organizations, drifted.get());
+        return drifted.get();
+    }
+
+    public int reconcile(UUID organizationId) {
+        Integer corrected = transactionTemplate.execute(status -> {
+            Map<TransactionType, TransactionTotalEntity> stored = new EnumMap<>(TransactionType.class);
+            for (TransactionTotalEntity total : totalRepo.lockAllByOrganizationId(organizationId)) {
+                stored.put(total.getType(), total);
+            }
+
+            Map<TransactionType, TransactionTypeTotal> actual = new EnumMap<>(TransactionType.class);
+            for (TransactionTypeTotal total : totalRepo.sumByType(organizationId)) {
+                actual.put(total.type(), total);
+            }
+
+            int fixed = 0;
+            for (TransactionType type : TransactionType.values()) {
+                TransactionTypeTotal expected = actual.get(type);
+                BigDecimal expectedTotal = expected == null ? BigDecimal.ZERO : expected.total();
+                long expectedCount = expected == null ? 0 : expected.count();
+
+                TransactionTotalEntity row = stored.get(type);
+                if (row == null) {
+                    row = new TransactionTotalEntity(organizationId, type, BigDecimal.ZERO, 0);
+                } else if (row.getTotal().compareTo(expectedTotal) == 0 && row.getCount() == expectedCount) {
+                    continue;
+                }
+
+                log.warn("Transaction totals drift for organization {} type {}: stored {}/{} actual {}/{}",
+                        organizationId, type, row.getTotal(), row.getCount(), expectedTotal, expectedCount);
+                row.setTotal(expectedTotal);
+                row.setCount(expectedCount);
+                totalRepo.save(row);
+                fixed++;
+            }
+            return fixed;
+        });
+
+        driftCounter.increment(corrected);
+        return corrected;
+    }
+}
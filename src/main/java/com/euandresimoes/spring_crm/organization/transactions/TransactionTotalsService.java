@@ -0,0 +1,118 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BalanceResponse;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps {@code organization.transaction_totals} in step with the transactions
+ * table. Listeners run synchronously inside the writer's transaction, so a
+ * rollback of the write rolls back the delta as well.
+ */
+@Service
+@Transactional
+public class TransactionTotalsService {
+
+    private final TransactionTotalRepository totalRepo;
+    private final OrganizationOwnership ownership;
+
+    public TransactionTotalsService(TransactionTotalRepository totalRepo, OrganizationOwnership ownership) {
+        this.totalRepo = totalRepo;
+        this.ownership = ownership;
+    }
+
+    @EventListener
+    public void onOrganizationCreated(OrganizationCreatedEvent event) {
+        for (TransactionType type : TransactionType.values()) {
+            totalRepo.save(new TransactionTotalEntity(event.organizationId(), type, BigDecimal.ZERO, 0));
+        }
+    }
+
+    @EventListener
+    @Order(0)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<TransactionType, Delta> deltas = new EnumMap<>(TransactionType.class);
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                deltas.computeIfAbsent(change.before().type(), t -> new Delta()).subtract(change.before());
+            }
+            if (change.after() != null) {
+                deltas.computeIfAbsent(change.after().type(), t -> new Delta()).add(change.after());
+            }
+        }
+
+        // EnumMap iterates in declaration order, so concurrent writers always
+        // lock the rows of one organization in the same order
+        deltas.forEach((type, delta) -> {
+            if (delta.isZero()) {
+                return;
+            }
+            int updated = totalRepo.addToTotal(event.organizationId(), type, delta.amount, delta.count);
+            if (updated == 0) {
+                totalRepo.save(new TransactionTotalEntity(event.organizationId(), type, delta.amount, delta.count));
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalance(UUID userId, UUID organizationID) {
+        ownership.requireOwned(userId, organizationID);
+
+        List<TransactionTotalEntity> totals = totalRepo.findAllByOrganizationId(organizationID);
+        return toBalance(totals);
+    }
+
+    static BalanceResponse toBalance(List<TransactionTotalEntity> totals) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        long incomeCount = 0;
+        long expenseCount = 0;
+
+        for (TransactionTotalEntity total : totals) {
+            switch (total.getType()) {
+                case INCOME -> {
+                    income = total.getTotal();
+                    incomeCount = total.getCount();
+                }
+                case EXPENSE -> {
+                    expense = total.getTotal();
+                    expenseCount = total.getCount();
+                }
+            }
+        }
+
+        return new BalanceResponse(income, expense, income.subtract(expense), incomeCount, expenseCount);
+    }
+
+    private static final class Delta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        void add(TransactionSnapshot snapshot) {
+            amount = amount.add(snapshot.amount());
+            count++;
+        }
+
+        void subtract(TransactionSnapshot snapshot) {
+            amount = amount.subtract(snapshot.amount());
+            count--;
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+}
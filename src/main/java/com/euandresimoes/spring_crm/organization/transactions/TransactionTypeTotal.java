@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import java.math.BigDecimal;
+
+public record TransactionTypeTotal(
+        TransactionType type,
+        BigDecimal total,
+        Long count) {
+}
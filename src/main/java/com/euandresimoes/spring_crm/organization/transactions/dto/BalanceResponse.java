@@ -0,0 +1,11 @@
+package com.euandresimoes.spring_crm.organization.transactions.dto;
+
+import java.math.BigDecimal;
+
+public record BalanceResponse(
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net,
+        long incomeCount,
+        long expenseCount) {
+}
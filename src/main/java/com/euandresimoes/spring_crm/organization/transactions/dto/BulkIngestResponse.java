@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.transactions.dto;
+
+import java.util.List;
+
+public record BulkIngestResponse(
+        int received,
+        int inserted,
+        List<BulkItemError> errors) {
+}
@@ -0,0 +1,6 @@
+package com.euandresimoes.spring_crm.organization.transactions.dto;
+
+public record BulkItemError(
+        int index,
+        String message) {
+}
@@ -0,0 +1,18 @@
+package com.euandresimoes.spring_crm.organization.transactions.dto;
+
+import com.euandresimoes.spring_crm.organization.transactions.TransactionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial update of a transaction: null fields are left unchanged.
+ */
+public record PatchTransactionCommand(
+        @NotNull(message = "Version is required") Long version,
+        @Pattern(regexp = ".*\\S.*", message = "Description must not be blank") String description,
+        @Positive(message = "Amount must be positive") BigDecimal amount,
+        TransactionType type) {
+}
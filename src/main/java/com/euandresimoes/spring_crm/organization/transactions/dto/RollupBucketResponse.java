@@ -0,0 +1,13 @@
+package com.euandresimoes.spring_crm.organization.transactions.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RollupBucketResponse(
+        LocalDate start,
+        BigDecimal income,
+        BigDecimal expense,
+        BigDecimal net,
+        long incomeCount,
+        long expenseCount) {
+}
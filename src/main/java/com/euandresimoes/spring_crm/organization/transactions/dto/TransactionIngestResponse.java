@@ -0,0 +1,17 @@
+package com.euandresimoes.spring_crm.organization.transactions.dto;
+
+import com.euandresimoes.spring_crm.organization.transactions.IngestStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of an asynchronously ingested transaction. {@code id} is the id the
+ * transaction has once persisted; {@code error} is only set when it failed.
+ */
+public record TransactionIngestResponse(
+        UUID id,
+        IngestStatus status,
+        Instant acceptedAt,
+        String error) {
+}
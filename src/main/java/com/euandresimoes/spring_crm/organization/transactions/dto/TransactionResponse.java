@@ -1,6 +1,7 @@
 package com.euandresimoes.spring_crm.organization.transactions.dto;
 
 import com.euandresimoes.spring_crm.organization.transactions.TransactionEntity;
+import com.euandresimoes.spring_crm.organization.transactions.TransactionType;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -12,7 +13,16 @@ public record TransactionResponse(
         BigDecimal amount,
         String type,
         Instant createdAt,
-        Instant updatedAt) {
+        Instant updatedAt,
+        long version) {
+
+    /**
+     * Used by JPQL constructor expressions, which select the enum column as-is.
+     */
+    public TransactionResponse(UUID id, String description, BigDecimal amount, TransactionType type,
+            Instant createdAt, Instant updatedAt, long version) {
+        this(id, description, amount, type.name(), createdAt, updatedAt, version);
+    }
 
     public static TransactionResponse from(TransactionEntity entity) {
         return new TransactionResponse(
@@ -21,6 +31,7 @@ public record TransactionResponse(
                 entity.getAmount(),
                 entity.getType().name(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt());
+                entity.getUpdatedAt(),
+                entity.getVersion());
     }
 }
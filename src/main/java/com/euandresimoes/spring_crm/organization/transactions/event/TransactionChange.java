@@ -0,0 +1,25 @@
+package com.euandresimoes.spring_crm.organization.transactions.event;
+
+import java.util.UUID;
+
+/**
+ * One written transaction: {@code before} is null for inserts and
+ * {@code after} is null for deletes.
+ */
+public record TransactionChange(
+        UUID transactionId,
+        TransactionSnapshot before,
+        TransactionSnapshot after) {
+
+    public static TransactionChange created(UUID transactionId, TransactionSnapshot after) {
+        return new TransactionChange(transactionId, null, after);
+    }
+
+    public static TransactionChange updated(UUID transactionId, TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChange(transactionId, before, after);
+    }
+
+    public static TransactionChange deleted(UUID transactionId, TransactionSnapshot before) {
+        return new TransactionChange(transactionId, before, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.euandresimoes.spring_crm.organization.transactions.event;
+
+import com.euandresimoes.spring_crm.organization.transactions.TransactionEntity;
+import com.euandresimoes.spring_crm.organization.transactions.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The aggregate-relevant columns of a transaction at one point in time.
+ */
+public record TransactionSnapshot(
+        TransactionType type,
+        BigDecimal amount,
+        Instant createdAt) {
+
+    public static TransactionSnapshot from(TransactionEntity entity) {
+        return new TransactionSnapshot(entity.getType(), entity.getAmount(), entity.getCreatedAt());
+    }
+}
@@ -0,0 +1,19 @@
+package com.euandresimoes.spring_crm.organization.transactions.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published inside the writing transaction whenever transactions of one
+ * organization are created, updated or deleted, so derived data can be kept
+ * in step atomically. Batch writes publish one event per batch.
+ */
+public record TransactionsChangedEvent(
+        UUID organizationId,
+        UUID userId,
+        List<TransactionChange> changes) {
+
+    public static TransactionsChangedEvent of(UUID organizationId, UUID userId, TransactionChange change) {
+        return new TransactionsChangedEvent(organizationId, userId, List.of(change));
+    }
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.organization.transactions.exception;
+
+public class InvalidRollupRangeException extends RuntimeException {
+    public InvalidRollupRangeException(String message) {
+        super(message);
+    }
+}
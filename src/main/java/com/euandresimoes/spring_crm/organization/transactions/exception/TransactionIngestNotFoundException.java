@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.organization.transactions.exception;
+
+import java.util.UUID;
+
+public class TransactionIngestNotFoundException extends RuntimeException {
+    public TransactionIngestNotFoundException(UUID id) {
+        super("Ingested transaction not found with id: " + id);
+    }
+}
@@ -0,0 +1,314 @@
+package com.euandresimoes.spring_crm.shared.idempotency;
+
+import com.euandresimoes.spring_crm.shared.idempotency.exception.IdempotencyKeyInProgressException;
+import com.euandresimoes.spring_crm.shared.idempotency.exception.IdempotencyKeyReusedException;
+import com.euandresimoes.spring_crm.shared.idempotency.exception.InvalidIdempotencyKeyException;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key} and replays
+ * its response to every retry carrying the same key.
+ * <p>
+ * Completed responses are served from a bounded in-memory LRU while their TTL
+ * lasts, and from {@code organization.idempotency_keys} after an eviction or
+ * restart. A duplicate arriving while the first request is still running
+ * waits for it: on the same instance through the in-flight future, on
+ * another instance by polling the row, which the first request claimed as
+ * PENDING before running. The row is completed in the same transaction as the
+ * write itself, so a crash can never leave a committed insert without its
+ * recorded response. A failed request releases its claim and the exception
+ * reaches every waiter; a later retry runs the request again. With sharding
+ * the row lives on the shard of the organization the request writes to.
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO organization.idempotency_keys
+                (user_id, scope, idempotency_key, request_hash, status, created_at, expires_at)
+            VALUES (?, ?, ?, ?, 'PENDING', ?, ?)
+            """;
+
+    // Expired rows, and pending ones abandoned by a crashed request, are taken over
+    private static final String TAKE_OVER_SQL = """
+            UPDATE organization.idempotency_keys
+            SET request_hash = ?, status = 'PENDING', response = NULL, created_at = ?, expires_at = ?
+            WHERE user_id = ? AND scope = ? AND idempotency_key = ?
+              AND (expires_at <= ? OR (status = 'PENDING' AND created_at < ?))
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status, response, expires_at
+            FROM organization.idempotency_keys
+            WHERE user_id = ? AND scope = ? AND idempotency_key = ? AND expires_at > ?
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE organization.idempotency_keys SET status = 'COMPLETED', response = ?
+            WHERE user_id = ? AND scope = ? AND idempotency_key = ?
+            """;
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM organization.idempotency_keys
+            WHERE user_id = ? AND scope = ? AND idempotency_key = ? AND status = 'PENDING'
+            """;
+
+    private static final String PURGE_SQL = """
+            DELETE FROM organization.idempotency_keys WHERE expires_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardTopology topology;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration pendingTimeout;
+
+    private final Map<Key, Completed> completed;
+    private final Map<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder replays = new LongAdder();
+
+    public IdempotencyService(
+            JdbcTemplate jdbcTemplate,
+            ShardTopology topology,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${idempotency.pending-timeout:1m}") Duration pendingTimeout,
+            @Value("${idempotency.cache.max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topology = topology;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.pendingTimeout = pendingTimeout;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Completed> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        FunctionCounter.builder("idempotency.replays", replays, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("idempotency.cache.size", completed, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @param idempotencyKey the header value; without one the action simply runs
+     * @param scope          what the key is unique within, e.g. the endpoint and organization
+     * @param request        the request body, whose hash must match on every retry
+     */
+    public <T> T execute(UUID userId, String scope, String idempotencyKey, Object request, Class<T> responseType,
+            Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(MAX_KEY_LENGTH);
+        }
+
+        Key key = new Key(userId, scope, idempotencyKey);
+        String requestHash = hash(request);
+
+        Completed cached = completed.get(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return replay(key, requestHash, cached.requestHash(), responseType.cast(cached.response()));
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(key, requestHash, running.requestHash(), responseType.cast(await(key, running.result())));
+        }
+
+        try {
+            T result = claimAndRun(key, requestHash, responseType, action);
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(cron = "${idempotency.purge-cron:0 30 4 * * *}")
+    public int purgeExpired() {
+        OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+        return topology.sumOverShards(() -> jdbcTemplate.update(PURGE_SQL, now));
+    }
+
+    private <T> T claimAndRun(Key key, String requestHash, Class<T> responseType, Supplier<T> action) {
+        Instant deadline = Instant.now().plus(waitTimeout);
+        while (true) {
+            Instant now = Instant.now();
+            if (claim(key, requestHash, now)) {
+                return run(key, requestHash, now, action);
+            }
+
+            // Claimed by another instance, or by a request before a restart
+            List<StoredRow> rows = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredRow(
+                    rs.getString("request_hash"),
+                    rs.getString("status"),
+                    rs.getString("response"),
+                    rs.getObject("expires_at", OffsetDateTime.class).toInstant()),
+                    key.userId(), key.scope(), key.idempotencyKey(), now.atOffset(ZoneOffset.UTC));
+            if (!rows.isEmpty() && rows.get(0).status().equals("COMPLETED")) {
+                StoredRow row = rows.get(0);
+                T response = fromJson(row.response(), responseType);
+                completed.put(key, new Completed(row.requestHash(), response, row.expiresAt()));
+                return replay(key, requestHash, row.requestHash(), response);
+            }
+            if (!rows.isEmpty() && !rows.get(0).requestHash().equals(requestHash)) {
+                throw new IdempotencyKeyReusedException(key.idempotencyKey());
+            }
+
+            if (now.isAfter(deadline)) {
+                throw new IdempotencyKeyInProgressException(key.idempotencyKey());
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyInProgressException(key.idempotencyKey());
+            }
+        }
+    }
+
+    private boolean claim(Key key, String requestHash, Instant now) {
+        OffsetDateTime createdAt = now.atOffset(ZoneOffset.UTC);
+        OffsetDateTime expiresAt = now.plus(ttl).atOffset(ZoneOffset.UTC);
+        try {
+            jdbcTemplate.update(CLAIM_SQL, key.userId(), key.scope(), key.idempotencyKey(), requestHash, createdAt,
+                    expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update(TAKE_OVER_SQL, requestHash, createdAt, expiresAt,
+                    key.userId(), key.scope(), key.idempotencyKey(),
+                    createdAt, now.minus(pendingTimeout).atOffset(ZoneOffset.UTC)) == 1;
+        }
+    }
+
+    private <T> T run(Key key, String requestHash, Instant now, Supplier<T> action) {
+        T result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                T value = action.get();
+                jdbcTemplate.update(COMPLETE_SQL, toJson(value), key.userId(), key.scope(), key.idempotencyKey());
+                return value;
+            });
+        } catch (RuntimeException e) {
+            jdbcTemplate.update(RELEASE_SQL, key.userId(), key.scope(), key.idempotencyKey());
+            throw e;
+        }
+        completed.put(key, new Completed(requestHash, result, now.plus(ttl)));
+        return result;
+    }
+
+    private Object await(Key key, CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(key.idempotencyKey());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key.idempotencyKey());
+        }
+    }
+
+    private <T> T replay(Key key, String requestHash, String storedHash, T response) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(key.idempotencyKey());
+        }
+        replays.increment();
+        return response;
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(UUID userId, String scope, String idempotencyKey) {
+    }
+
+    private record Completed(String requestHash, Object response, Instant expiresAt) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Object> result) {
+    }
+
+    private record StoredRow(String requestHash, String status, String response, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.shared.idempotency.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String key) {
+        super("A request with Idempotency-Key " + key + " is still in progress, retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.shared.idempotency.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key " + key + " was already used with a different request body");
+    }
+}
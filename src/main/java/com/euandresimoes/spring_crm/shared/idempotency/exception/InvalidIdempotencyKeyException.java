@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.shared.idempotency.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(int maxLength) {
+        super("Idempotency-Key must be between 1 and " + maxLength + " characters");
+    }
+}
@@ -0,0 +1,89 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a user's reads on the primary while the replicas may still lag behind
+ * their writes. A request with an unsafe method is pinned to the primary as a
+ * whole, and so is every request of its user for {@code stickyWindow} after
+ * it, which should exceed the usual replication lag.
+ * <p>
+ * Runs after the security filter chain, so the user is known. Like the
+ * ownership cache, the recent writers are held per instance; a write made
+ * through another instance does not pin reads here.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Duration stickyWindow;
+    private final Clock clock;
+    private final Map<String, Instant> lastWrites;
+
+    public ReadYourWritesFilter(Duration stickyWindow, int maxEntries) {
+        this(stickyWindow, maxEntries, Clock.systemUTC());
+    }
+
+    ReadYourWritesFilter(Duration stickyWindow, int maxEntries, Clock clock) {
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+        this.lastWrites = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * @return whether read-only transactions of the current thread must use the primary
+     */
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String user = currentUser();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        PINNED.set(write || (user != null && recentlyWrote(user)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+            // Stamped once the write has finished, so the window covers the replication lag after commit
+            if (write && user != null) {
+                lastWrites.put(user, clock.instant());
+            }
+        }
+    }
+
+    private boolean recentlyWrote(String user) {
+        Instant lastWrite = lastWrites.get(user);
+        return lastWrite != null && lastWrite.plus(stickyWindow).isAfter(clock.instant());
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
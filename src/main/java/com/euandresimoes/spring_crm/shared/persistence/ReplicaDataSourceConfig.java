@@ -0,0 +1,111 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to a pool of replicas. Services mark their
+ * read paths {@code @Transactional(readOnly = true)}; the transaction manager
+ * then flags the connection read-only, and the lazy proxy only fetches the
+ * physical connection at the first statement, from the replicas for a
+ * read-only one and from the primary otherwise. Work outside a transaction,
+ * such as the sync feed, the outbox relay and Flyway, keeps using the primary.
+ * This needs {@code spring.jpa.open-in-view} off: a request-scoped
+ * EntityManager would hold the first connection for all of the request's
+ * transactions.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    ReplicaDataSourceConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Read replicas need spring.jpa.open-in-view=false");
+        }
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaPoolDataSource replicaDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            DataSourceProperties properties,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaPoolDataSource(primary, replicas, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replicas) {
+        return routingProxy(primary, replicas);
+    }
+
+    /**
+     * The proxy is given the connection defaults up front; left to itself it
+     * opens a primary connection just to read them, which would cost every
+     * replica read a round trip to the primary.
+     */
+    static LazyConnectionDataSourceProxy routingProxy(DataSource primary, DataSource replicas) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(primary);
+        proxy.setReadOnlyDataSource(replicas);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${datasource.replicas.sticky-window:5s}") Duration stickyWindow,
+            @Value("${datasource.replicas.sticky-users.max-entries:10000}") int maxEntries) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(stickyWindow, maxEntries));
+        // After the security filter chain, which sets the authenticated user
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,88 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The read-only side of the routing DataSource: hands out connections from
+ * the replica pools in turn. A request pinned by {@link ReadYourWritesFilter}
+ * gets a primary connection instead, and so does any request when every
+ * replica refuses a connection, so a replica outage degrades to reading from
+ * the primary rather than failing.
+ */
+public class ReplicaPoolDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPoolDataSource.class);
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder primaryConnections = new LongAdder();
+
+    public ReplicaPoolDataSource(DataSource primary, List<DataSource> replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+
+        FunctionCounter.builder("datasource.read.connections", replicaConnections, LongAdder::sum)
+                .tag("target", "replica")
+                .register(meterRegistry);
+        FunctionCounter.builder("datasource.read.connections", primaryConnections, LongAdder::sum)
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (!ReadYourWritesFilter.isPinned()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                DataSource replica = replicas.get((start + i) % replicas.size());
+                try {
+                    Connection connection = source.open(replica);
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    log.warn("Replica refused a connection, trying the next one", e);
+                }
+            }
+        }
+        primaryConnections.increment();
+        return source.open(primary);
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,90 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * A single conditional UPDATE for partial updates of versioned rows. Only the
+ * columns given a non-null value are written, and the row is only changed
+ * while its {@code version} still equals the caller's, which it then bumps.
+ * Nothing is read before the write; when no row matched, {@link #currentVersion}
+ * tells a missing row apart from a version conflict.
+ */
+public final class VersionedUpdate {
+
+    private final String table;
+    private final Map<String, Object> columns = new LinkedHashMap<>();
+    private final Map<String, Object> keys = new LinkedHashMap<>();
+
+    private VersionedUpdate(String table) {
+        this.table = table;
+    }
+
+    public static VersionedUpdate table(String table) {
+        return new VersionedUpdate(table);
+    }
+
+    /**
+     * Writes the column when {@code value} is non-null; null leaves it unchanged.
+     */
+    public VersionedUpdate set(String column, Object value) {
+        if (value != null) {
+            columns.put(column, value instanceof Enum<?> e ? e.name() : value);
+        }
+        return this;
+    }
+
+    public VersionedUpdate where(String column, Object value) {
+        keys.put(column, value);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return columns.isEmpty();
+    }
+
+    /**
+     * @return the number of rows updated: 0 when the row is missing or its version moved on
+     */
+    public int execute(NamedParameterJdbcTemplate jdbcTemplate, long expectedVersion, Instant now) {
+        MapSqlParameterSource params = keyParams()
+                .addValue("expected_version", expectedVersion)
+                .addValue("updated_at", now.atOffset(ZoneOffset.UTC));
+        columns.forEach((column, value) -> params.addValue("set_" + column, value));
+
+        String assignments = columns.keySet().stream()
+                .map(column -> column + " = :set_" + column)
+                .collect(Collectors.joining(", "));
+        String sql = "UPDATE " + table
+                + " SET " + assignments + ", updated_at = :updated_at, version = version + 1"
+                + " WHERE " + keyPredicate() + " AND version = :expected_version";
+
+        return jdbcTemplate.update(sql, params);
+    }
+
+    public Optional<Long> currentVersion(NamedParameterJdbcTemplate jdbcTemplate) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM " + table + " WHERE " + keyPredicate(), keyParams(), Long.class);
+        return versions.stream().findFirst();
+    }
+
+    private String keyPredicate() {
+        return keys.keySet().stream()
+                .map(column -> column + " = :key_" + column)
+                .collect(Collectors.joining(" AND "));
+    }
+
+    private MapSqlParameterSource keyParams() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        keys.forEach((column, value) -> params.addValue("key_" + column, value));
+        return params;
+    }
+}
@@ -1,11 +1,8 @@
 package com.euandresimoes.spring_crm.shared.security;
 
 import java.io.IOException;
-import java.util.List;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -22,9 +19,17 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService, VerifiedTokenCache tokenCache) {
         this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Streaming responses re-dispatch asynchronously and must stay authenticated
+        return false;
     }
 
     @Override
@@ -39,14 +44,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String token = authHeader.substring(7);
 
         try {
-            DecodedJWT decoded = jwtService.verifyAndDecode(token);
-            String userID = decoded.getSubject();
-            String role = decoded.getClaim("role").asString();
-
-            List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            VerifiedToken verified = tokenCache.get(token);
+            if (verified == null) {
+                DecodedJWT decoded = jwtService.verifyAndDecode(token);
+                verified = VerifiedToken.from(decoded);
+                tokenCache.put(token, verified);
+            }
 
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userID, null,
-                    authorities);
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    verified.subject(), null, verified.authorities());
 
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -5,6 +5,7 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -13,16 +14,20 @@ import java.time.Instant;
 @Service
 public class JwtService {
 
-    private final String secret;
     private final String ISSUER = "spring-crm";
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
 
     public JwtService(@Value("${security.jwt.secret}") String secret) {
-        this.secret = secret;
+        // Both are immutable and thread-safe, so build them once instead of per call
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
     }
 
     public String generate(String subject, String role) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
                     .withIssuer(ISSUER)
                     .withSubject(subject)
@@ -36,11 +41,7 @@ public class JwtService {
 
     public DecodedJWT verifyAndDecode(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer(ISSUER)
-                    .build()
-                    .verify(token);
+            return verifier.verify(token);
         } catch (JWTVerificationException exception) {
             throw new JWTVerificationException("Token invalid or expired");
         }
@@ -0,0 +1,32 @@
+package com.euandresimoes.spring_crm.shared.security;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * The parts of an already verified JWT that the authentication filter needs,
+ * with the authority list built once instead of on every request.
+ */
+public record VerifiedToken(
+        String subject,
+        List<GrantedAuthority> authorities,
+        Instant expiresAt) {
+
+    public static VerifiedToken from(DecodedJWT decoded) {
+        String role = decoded.getClaim("role").asString();
+
+        return new VerifiedToken(
+                decoded.getSubject(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)),
+                decoded.getExpiresAtAsInstant());
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !now.isBefore(expiresAt);
+    }
+}
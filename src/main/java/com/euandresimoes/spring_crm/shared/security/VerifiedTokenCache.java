@@ -0,0 +1,122 @@
+package com.euandresimoes.spring_crm.shared.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, keyed by
+ * a SHA-256 digest of the raw token so the bearer value itself is never kept
+ * in memory. Entries are dropped once the token's {@code exp} has passed.
+ * <p>
+ * A full cache sweeps out expired entries before it turns a new token away,
+ * at most once per {@link #SWEEP_INTERVAL}: the sweep walks every entry, and
+ * a cache full of live tokens would otherwise pay for it on each miss.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final Duration SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Clock clock;
+    private final AtomicLong nextSweepMillis = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-entries:10000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        this(maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+
+        FunctionCounter.builder("security.jwt.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("security.jwt.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken cached = entries.get(key);
+
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (cached.isExpired(clock.instant())) {
+            entries.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (verified.isExpired(clock.instant()))
+            return;
+
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            // Still full of live tokens: skip caching rather than grow past the bound
+            if (entries.size() >= maxEntries)
+                return;
+        }
+
+        entries.put(digest(token), verified);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        Instant now = clock.instant();
+        long due = nextSweepMillis.get();
+        // One thread per interval sweeps; the others go on without waiting for it
+        if (now.toEpochMilli() < due || !nextSweepMillis.compareAndSet(due, now.plus(SWEEP_INTERVAL).toEpochMilli()))
+            return;
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.euandresimoes.spring_crm.shared.security.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException() {
+        super("Too many authentication requests, please retry shortly");
+    }
+}
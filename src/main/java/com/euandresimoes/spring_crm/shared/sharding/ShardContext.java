@@ -0,0 +1,68 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works on, read by {@link ShardRoutingDataSource}
+ * whenever a connection is taken. Requests get it from
+ * {@link ShardRoutingInterceptor}; background work sets it explicitly. It must
+ * be set before a transaction starts: a transaction keeps the connection it
+ * began with, whatever the context says afterwards. No shard means the home
+ * database.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void run(String shard, Runnable task) {
+        call(shard, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T call(String shard, Supplier<T> task) {
+        String previous = CURRENT.get();
+        set(shard);
+        try {
+            return task.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Ties a streaming response to the shard that is current now. The body is
+     * written later on an async executor thread, after the interceptor has
+     * already cleared the context of the request thread.
+     */
+    public static StreamingResponseBody bind(StreamingResponseBody body) {
+        String shard = current();
+        return out -> {
+            String previous = CURRENT.get();
+            set(shard);
+            try {
+                body.writeTo(out);
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    static void set(String shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationDeletedEvent;
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Maps organizations to shards through {@code organization.organization_shards}
+ * on the home database. New organizations are placed by consistent hashing of
+ * their owner, so a user's organizations usually share a shard and the
+ * listings that fan out over the user's shards stay cheap; the directory row
+ * written at creation is what counts from then on, which is what lets
+ * {@code OrganizationShardMover} relocate an organization.
+ * <p>
+ * Lookups are cached per instance for {@code cacheTtl}. A move freezes writes
+ * and waits that long before it copies the last changes, so no instance can
+ * still be writing to the old shard when it cuts over.
+ */
+@Component
+public class ShardDirectory {
+
+    public static final String ACTIVE = "ACTIVE";
+    public static final String MOVING = "MOVING";
+
+    private static final String FIND_SQL = """
+            SELECT shard, state FROM organization.organization_shards WHERE organization_id = ?
+            """;
+
+    private static final String USER_SHARDS_SQL = """
+            SELECT DISTINCT shard FROM organization.organization_shards WHERE user_id = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO organization.organization_shards (organization_id, user_id, shard, state, updated_at)
+            VALUES (?, ?, ?, 'ACTIVE', ?)
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM organization.organization_shards WHERE organization_id = ?
+            """;
+
+    private static final String SET_STATE_SQL = """
+            UPDATE organization.organization_shards SET state = ?, updated_at = ?
+            WHERE organization_id = ? AND shard = ? AND state = ?
+            """;
+
+    private static final String RELOCATE_SQL = """
+            UPDATE organization.organization_shards SET shard = ?, state = 'ACTIVE', updated_at = ?
+            WHERE organization_id = ? AND shard = ? AND state = 'MOVING'
+            """;
+
+    private final ShardTopology topology;
+    // Always the home database, never the routing DataSource, so directory
+    // writes cannot end up on a shard connection bound to the current transaction
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRing ring;
+    private final Duration cacheTtl;
+    private final Clock clock;
+    private final Map<UUID, Cached> cache;
+
+    @Autowired
+    public ShardDirectory(
+            ShardTopology topology,
+            @Value("${sharding.directory.cache-ttl:5s}") Duration cacheTtl,
+            @Value("${sharding.directory.cache.max-entries:10000}") int maxEntries) {
+        this(topology, cacheTtl, maxEntries, Clock.systemUTC());
+    }
+
+    ShardDirectory(ShardTopology topology, Duration cacheTtl, int maxEntries, Clock clock) {
+        this.topology = topology;
+        this.jdbcTemplate = new JdbcTemplate(topology.home());
+        this.ring = new ShardRing(topology.names());
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * @return the shard to read the organization from; home when it is unknown,
+     *         where the lookup then finds nothing
+     */
+    public String shardForRead(UUID organizationId) {
+        return placementOf(organizationId).shard();
+    }
+
+    /**
+     * @throws OrganizationMovingException while the organization is being cut over to another shard
+     */
+    public String shardForWrite(UUID organizationId) {
+        Placement placement = placementOf(organizationId);
+        if (placement.moving()) {
+            throw new OrganizationMovingException(organizationId);
+        }
+        return placement.shard();
+    }
+
+    /**
+     * @return the shard a new organization of the user goes to
+     */
+    public String placeFor(UUID userId) {
+        return ring.shardFor(userId);
+    }
+
+    /**
+     * Runs a per-shard query on every shard holding organizations of the user
+     * and concatenates the results, home first. It must not be called inside
+     * a transaction: the query has to start its own on every shard, or all of
+     * them run on the connection the outer one already holds.
+     */
+    public <T> List<T> fanOut(UUID userId, Supplier<List<T>> query) {
+        if (!topology.isSharded()) {
+            return query.get();
+        }
+        Set<String> shards = new LinkedHashSet<>(jdbcTemplate.queryForList(USER_SHARDS_SQL, String.class, userId));
+        shards.add(placeFor(userId));
+
+        List<T> results = new ArrayList<>();
+        for (String shard : topology.names()) {
+            if (shards.contains(shard)) {
+                results.addAll(ShardContext.call(shard, query));
+            }
+        }
+        return results;
+    }
+
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+
+    @EventListener
+    public void onOrganizationCreated(OrganizationCreatedEvent event) {
+        String shard = ShardContext.current() != null ? ShardContext.current() : ShardTopology.HOME;
+        // Written up front, on a connection of its own when sharded, so the organization
+        // is never visible without its entry; a rolled back creation takes the entry with it
+        jdbcTemplate.update(INSERT_SQL, event.organizationId(), event.userId(), shard, now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        remove(event.organizationId());
+                    }
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(event.organizationId());
+                }
+            });
+        } else {
+            remove(event.organizationId());
+        }
+    }
+
+    /**
+     * Freezes writes to the organization on its current shard.
+     *
+     * @return false when the organization is not ACTIVE on that shard
+     */
+    public boolean markMoving(UUID organizationId, String shard) {
+        return setState(organizationId, shard, ACTIVE, MOVING);
+    }
+
+    /**
+     * Lifts the freeze of an abandoned move.
+     */
+    public boolean markActive(UUID organizationId, String shard) {
+        return setState(organizationId, shard, MOVING, ACTIVE);
+    }
+
+    /**
+     * Points the organization at its new shard and lifts the freeze.
+     */
+    public boolean relocate(UUID organizationId, String from, String to) {
+        cache.remove(organizationId);
+        return jdbcTemplate.update(RELOCATE_SQL, to, now(), organizationId, from) == 1;
+    }
+
+    /**
+     * @return the directory entry as stored, bypassing the cache
+     */
+    public Placement lookup(UUID organizationId) {
+        List<Placement> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new Placement(rs.getString("shard"), MOVING.equals(rs.getString("state"))),
+                organizationId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private Placement placementOf(UUID organizationId) {
+        if (!topology.isSharded()) {
+            return new Placement(ShardTopology.HOME, false);
+        }
+
+        Instant now = clock.instant();
+        Cached cached = cache.get(organizationId);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.placement();
+        }
+
+        Placement placement = lookup(organizationId);
+        if (placement == null) {
+            placement = new Placement(ShardTopology.HOME, false);
+        }
+        cache.put(organizationId, new Cached(placement, now.plus(cacheTtl)));
+        return placement;
+    }
+
+    private boolean setState(UUID organizationId, String shard, String from, String to) {
+        cache.remove(organizationId);
+        return jdbcTemplate.update(SET_STATE_SQL, to, now(), organizationId, shard, from) == 1;
+    }
+
+    private void remove(UUID organizationId) {
+        jdbcTemplate.update(DELETE_SQL, organizationId);
+        cache.remove(organizationId);
+    }
+
+    private Object now() {
+        return clock.instant().atOffset(ZoneOffset.UTC);
+    }
+
+    public record Placement(String shard, boolean moving) {
+    }
+
+    private record Cached(Placement placement, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Consistent hashing over the shard names, with virtual nodes so keys spread
+ * evenly. Adding a shard only claims the keys that land on its own nodes, so
+ * most placements stay where they were.
+ */
+public class ShardRing {
+
+    static final int VIRTUAL_NODES = 128;
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ShardRing(Collection<String> shards) {
+        for (String shard : shards) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    public String shardFor(UUID key) {
+        Map.Entry<Long, String> node = ring.ceilingEntry(hash(key.toString()));
+        return (node != null ? node : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
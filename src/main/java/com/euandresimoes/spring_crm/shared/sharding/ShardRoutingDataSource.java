@@ -0,0 +1,25 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+
+/**
+ * Hands out connections of the shard in the current {@link ShardContext}, or of
+ * the home database when none is set. An unknown shard name fails instead of
+ * silently falling back to home.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(ShardTopology topology) {
+        setTargetDataSources(new HashMap<>(topology.dataSources()));
+        setDefaultTargetDataSource(topology.home());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,66 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Routes every request with an {@code organizationID} path variable to that
+ * organization's shard before the controller, and so any transaction, runs.
+ * Writes to an organization that is being moved are refused with
+ * {@link OrganizationMovingException} until the move is cut over.
+ */
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ORGANIZATION_ID = "organizationID";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ShardDirectory directory;
+
+    public ShardRoutingInterceptor(ShardDirectory directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables == null ? null : variables.get(ORGANIZATION_ID);
+        if (value == null) {
+            return true;
+        }
+
+        UUID organizationId;
+        try {
+            organizationId = UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            // Left to the controller's argument conversion to reject
+            return true;
+        }
+
+        ShardContext.set(SAFE_METHODS.contains(request.getMethod())
+                ? directory.shardForRead(organizationId)
+                : directory.shardForWrite(organizationId));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        ShardContext.set(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ShardContext.set(null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ShardRoutingWebConfig implements WebMvcConfigurer {
+
+    private final ShardDirectory directory;
+
+    public ShardRoutingWebConfig(ShardDirectory directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(directory));
+    }
+}
@@ -0,0 +1,98 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * The databases organizations are spread over. The home database holds the
+ * users and the shard directory besides its own share of organizations; without
+ * sharding it is the only one.
+ */
+public class ShardTopology implements AutoCloseable {
+
+    public static final String HOME = "home";
+
+    private final Map<String, DataSource> shards;
+
+    public ShardTopology(Map<String, DataSource> shards) {
+        if (!shards.containsKey(HOME)) {
+            throw new IllegalArgumentException("The shard topology needs a \"" + HOME + "\" database");
+        }
+        Map<String, DataSource> ordered = new LinkedHashMap<>();
+        ordered.put(HOME, shards.get(HOME));
+        ordered.putAll(shards);
+        this.shards = Collections.unmodifiableMap(ordered);
+    }
+
+    public static ShardTopology single(DataSource dataSource) {
+        return new ShardTopology(Map.of(HOME, dataSource));
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    /**
+     * @return the shard names, home first
+     */
+    public Set<String> names() {
+        return shards.keySet();
+    }
+
+    public boolean contains(String shard) {
+        return shards.containsKey(shard);
+    }
+
+    public DataSource home() {
+        return shards.get(HOME);
+    }
+
+    public DataSource dataSource(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard " + shard);
+        }
+        return dataSource;
+    }
+
+    Map<String, DataSource> dataSources() {
+        return shards;
+    }
+
+    /**
+     * Runs the task once per shard with the {@link ShardContext} set, for jobs
+     * that work on every organization's data.
+     */
+    public void forEachShard(Runnable task) {
+        for (String shard : shards.keySet()) {
+            ShardContext.run(shard, task);
+        }
+    }
+
+    /**
+     * @return the sum of the task's results over every shard
+     */
+    public int sumOverShards(IntSupplier task) {
+        int sum = 0;
+        for (String shard : shards.keySet()) {
+            sum += ShardContext.call(shard, task::getAsInt);
+        }
+        return sum;
+    }
+
+    @Override
+    public void close() {
+        // The home pool is a bean of its own and closed by the container
+        shards.forEach((name, dataSource) -> {
+            if (!name.equals(HOME) && dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
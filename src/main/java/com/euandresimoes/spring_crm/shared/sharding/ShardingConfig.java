@@ -0,0 +1,112 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Without {@code sharding.enabled} the application's DataSource is the only,
+ * home shard. With it, {@code spring.datasource} becomes the home database and
+ * every {@code name=jdbc-url} entry of {@code sharding.shards} another shard
+ * with the same credentials; the application's DataSource then routes by
+ * {@link ShardContext}, and Flyway migrates every shard in turn.
+ */
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ShardTopology singleShardTopology(DataSource dataSource) {
+        return ShardTopology.single(dataSource);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        Sharded(@Value("${datasource.replicas.enabled:false}") boolean replicas,
+                @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+            if (replicas) {
+                throw new IllegalStateException("Read replicas are not supported together with sharding");
+            }
+            if (openInView) {
+                // A request-scoped EntityManager keeps the first shard's connection for the whole request
+                throw new IllegalStateException("Sharding needs spring.jpa.open-in-view=false");
+            }
+        }
+
+        @Bean
+        public HikariDataSource homeDataSource(DataSourceProperties properties) {
+            HikariDataSource home = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            home.setPoolName(ShardTopology.HOME);
+            return home;
+        }
+
+        @Bean
+        public ShardTopology shardTopology(
+                @Qualifier("homeDataSource") DataSource home,
+                DataSourceProperties properties,
+                @Value("${sharding.shards}") List<String> shards,
+                @Value("${sharding.maximum-pool-size:10}") int maximumPoolSize) {
+            Map<String, DataSource> dataSources = new LinkedHashMap<>();
+            dataSources.put(ShardTopology.HOME, home);
+            for (String entry : shards) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                int separator = entry.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Shard entries take the form name=jdbc-url: " + entry);
+                }
+                String name = entry.substring(0, separator).trim();
+                HikariDataSource shard = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .driverClassName(properties.determineDriverClassName())
+                        .url(entry.substring(separator + 1).trim())
+                        .username(properties.determineUsername())
+                        .password(properties.determinePassword())
+                        .build();
+                shard.setPoolName(name);
+                shard.setMaximumPoolSize(maximumPoolSize);
+                dataSources.put(name, shard);
+            }
+            return new ShardTopology(dataSources);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardTopology topology) {
+            return new ShardRoutingDataSource(topology);
+        }
+
+        @Bean
+        public FlywayMigrationStrategy shardedMigrations(ShardTopology topology) {
+            return flyway -> {
+                // The configured Flyway runs on the routing DataSource, i.e. home
+                flyway.migrate();
+                for (String shard : topology.names()) {
+                    if (!shard.equals(ShardTopology.HOME)) {
+                        Flyway.configure()
+                                .configuration(flyway.getConfiguration())
+                                .dataSource(topology.dataSource(shard))
+                                .load()
+                                .migrate();
+                    }
+                }
+            };
+        }
+    }
+}
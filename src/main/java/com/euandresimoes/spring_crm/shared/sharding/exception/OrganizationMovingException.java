@@ -0,0 +1,9 @@
+package com.euandresimoes.spring_crm.shared.sharding.exception;
+
+import java.util.UUID;
+
+public class OrganizationMovingException extends RuntimeException {
+    public OrganizationMovingException(UUID organizationId) {
+        super("Organization " + organizationId + " is being moved to another shard, retry shortly");
+    }
+}
@@ -0,0 +1,50 @@
+package com.euandresimoes.spring_crm.shared.web;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional GET for responses whose ETag is known before the body is built.
+ * A matching {@code If-None-Match} short-circuits to 304 without calling the
+ * supplier; otherwise the body is built and the ETag attached. The ETag is only
+ * set on success, so an error body is never revalidated as current.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<ApiResponse<T>> respond(String etag, String ifNoneMatch, Supplier<T> body) {
+        // Private caches may keep the body but must revalidate it on every use
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        T data = body.get();
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(ApiResponse.ok(data));
+    }
+
+    // Weak comparison (RFC 9110 13.1.2), as required for If-None-Match
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || opaque(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
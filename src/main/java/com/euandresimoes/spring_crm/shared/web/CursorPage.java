@@ -0,0 +1,12 @@
+package com.euandresimoes.spring_crm.shared.web;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is null on the
+ * last slice and otherwise is passed back as {@code cursor} to fetch the next one.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor) {
+}
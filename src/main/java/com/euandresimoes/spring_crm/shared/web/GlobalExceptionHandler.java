@@ -5,59 +5,196 @@ import com.euandresimoes.spring_crm.auth.exception.EmailAlreadyInUseException;
 import com.euandresimoes.spring_crm.auth.exception.EmailNotFoundException;
 import com.euandresimoes.spring_crm.auth.exception.InvalidCredentialsException;
 import com.euandresimoes.spring_crm.auth.exception.UserNotFoundException;
+import com.euandresimoes.spring_crm.organization.clients.exception.ClientImportNotFoundException;
 import com.euandresimoes.spring_crm.organization.clients.exception.ClientNotFoundException;
+import com.euandresimoes.spring_crm.organization.clients.exception.InvalidSearchQueryException;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationDeletionNotFoundException;
 import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.organization.sharding.exception.InvalidShardMoveException;
+import com.euandresimoes.spring_crm.organization.sync.exception.SyncCursorExpiredException;
+import com.euandresimoes.spring_crm.organization.transactions.exception.InvalidRollupRangeException;
+import com.euandresimoes.spring_crm.organization.transactions.exception.TransactionIngestNotFoundException;
 import com.euandresimoes.spring_crm.organization.transactions.exception.TransactionNotFoundException;
+import com.euandresimoes.spring_crm.shared.idempotency.exception.IdempotencyKeyInProgressException;
+import com.euandresimoes.spring_crm.shared.idempotency.exception.IdempotencyKeyReusedException;
+import com.euandresimoes.spring_crm.shared.idempotency.exception.InvalidIdempotencyKeyException;
+import com.euandresimoes.spring_crm.shared.security.exception.PasswordHashingUnavailableException;
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import com.euandresimoes.spring_crm.shared.web.exception.InvalidCursorException;
+import com.euandresimoes.spring_crm.shared.web.exception.VersionConflictException;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+/**
+ * Maps exceptions to {@link ApiResponse} errors. The HTTP status of the
+ * response always matches the status in the body.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiResponse<String> handleGeneric(Exception e) {
         return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
     }
 
     @ExceptionHandler(EmailAlreadyInUseException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
     public ApiResponse<String> handleEmailInUse(EmailAlreadyInUseException e) {
         return ApiResponse.error(HttpStatus.CONFLICT.value(), e.getMessage());
     }
 
     @ExceptionHandler(EmailNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<String> handleEmailNotFound(EmailNotFoundException e) {
         return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
     }
 
     @ExceptionHandler(AccountNotActiveException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
     public ApiResponse<String> handleAccountNotActive(AccountNotActiveException e) {
         return ApiResponse.error(HttpStatus.FORBIDDEN.value(), e.getMessage());
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ApiResponse<String> handleInvalidCredentials(InvalidCredentialsException e) {
         return ApiResponse.error(HttpStatus.UNAUTHORIZED.value(), e.getMessage());
     }
 
     @ExceptionHandler(UserNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<String> handleUserNotFound(UserNotFoundException e) {
         return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
     }
 
     @ExceptionHandler(OrganizationNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<String> handleOrganizationNotFound(OrganizationNotFoundException e) {
         return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
     }
 
+    @ExceptionHandler(OrganizationDeletionNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponse<String> handleOrganizationDeletionNotFound(OrganizationDeletionNotFoundException e) {
+        return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
+    }
+
     @ExceptionHandler(ClientNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<String> handleClientNotFound(ClientNotFoundException e) {
         return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
     }
 
+    @ExceptionHandler(ClientImportNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponse<String> handleClientImportNotFound(ClientImportNotFoundException e) {
+        return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<String> handleInvalidSearchQuery(InvalidSearchQueryException e) {
+        return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
     @ExceptionHandler(TransactionNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<String> handleTransactionNotFound(TransactionNotFoundException e) {
         return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
     }
+
+    @ExceptionHandler(TransactionIngestNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponse<String> handleTransactionIngestNotFound(TransactionIngestNotFoundException e) {
+        return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<String> handleInvalidCursor(InvalidCursorException e) {
+        return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<Long> handleVersionConflict(VersionConflictException e) {
+        return new ApiResponse<>(HttpStatus.CONFLICT.value(), e.getMessage(), e.getCurrentVersion());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<String> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ApiResponse.error(HttpStatus.CONFLICT.value(), "The record was modified concurrently, retry the update");
+    }
+
+    @ExceptionHandler(SyncCursorExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ApiResponse<String> handleSyncCursorExpired(SyncCursorExpiredException e) {
+        return ApiResponse.error(HttpStatus.GONE.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<String> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException e) {
+        return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ApiResponse<String> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return ApiResponse.error(HttpStatus.UNPROCESSABLE_ENTITY.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<String> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException e,
+            HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return ApiResponse.error(HttpStatus.CONFLICT.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRollupRangeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<String> handleInvalidRollupRange(InvalidRollupRangeException e) {
+        return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<String> handlePasswordHashingUnavailable(PasswordHashingUnavailableException e,
+            HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(OrganizationMovingException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<String> handleOrganizationMoving(OrganizationMovingException e, HttpServletResponse response) {
+        // Writes are frozen for the few seconds a move takes to cut over
+        response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+        return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidShardMoveException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<String> handleInvalidShardMove(InvalidShardMoveException e) {
+        return ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+
+    @ExceptionHandler(AmqpException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<String> handleBrokerUnavailable(AmqpException e, HttpServletResponse response) {
+        // The message was not confirmed by the broker, so nothing was accepted and a retry is safe
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), "Message broker unavailable, retry later");
+    }
 }
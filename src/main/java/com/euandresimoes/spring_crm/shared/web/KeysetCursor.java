@@ -0,0 +1,38 @@
+package com.euandresimoes.spring_crm.shared.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.euandresimoes.spring_crm.shared.web.exception.InvalidCursorException;
+
+/**
+ * Position in a listing ordered by {@code (created_at, id)}, exchanged with
+ * clients as an opaque URL-safe string.
+ */
+public record KeysetCursor(
+        Instant createdAt,
+        UUID id) {
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3)
+                throw new InvalidCursorException(cursor);
+
+            return new KeysetCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
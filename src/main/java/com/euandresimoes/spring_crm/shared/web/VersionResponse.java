@@ -0,0 +1,11 @@
+package com.euandresimoes.spring_crm.shared.web;
+
+import java.util.UUID;
+
+/**
+ * The version a row was left at by a partial update; send it with the next one.
+ */
+public record VersionResponse(
+        UUID id,
+        long version) {
+}
@@ -0,0 +1,17 @@
+package com.euandresimoes.spring_crm.shared.web.exception;
+
+import java.util.UUID;
+
+public class VersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionConflictException(UUID id, long expectedVersion, long currentVersion) {
+        super("Version conflict for id: " + id + " (expected " + expectedVersion + ", current " + currentVersion + ")");
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
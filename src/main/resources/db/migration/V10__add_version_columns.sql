@@ -0,0 +1,7 @@
+-- Optimistic locking for clients and transactions: every update bumps the
+-- version, and PATCH only applies when the caller's version still matches.
+ALTER TABLE organization.clients
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE organization.transactions
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
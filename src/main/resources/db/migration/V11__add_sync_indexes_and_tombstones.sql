@@ -0,0 +1,41 @@
+-- Delta sync seeks on (organization_id, updated_at, id). Auditing stamps
+-- updated_at on insert as well, so only rows written before it need a value.
+UPDATE organization.clients SET updated_at = created_at WHERE updated_at IS NULL;
+
+UPDATE organization.transactions SET updated_at = created_at WHERE updated_at IS NULL;
+
+ALTER TABLE organization.clients ALTER COLUMN updated_at SET NOT NULL;
+
+ALTER TABLE organization.transactions ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_clients_org_updated_id
+    ON organization.clients (organization_id, updated_at, id);
+
+CREATE INDEX idx_transactions_org_updated_id
+    ON organization.transactions (organization_id, updated_at, id);
+
+-- One row per deleted client or transaction, so sync clients learn about
+-- deletions. Rows past the retention window are purged, and a cursor older
+-- than that has to resync from scratch.
+CREATE TABLE organization.sync_tombstones (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    organization_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT pk_sync_tombstones
+        PRIMARY KEY (entity_type, entity_id),
+
+    CONSTRAINT fk_sync_tombstones_organization
+        FOREIGN KEY (organization_id)
+        REFERENCES organization.organizations(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX idx_sync_tombstones_org_deleted_id
+    ON organization.sync_tombstones (organization_id, deleted_at, entity_id);
+
+CREATE INDEX idx_sync_tombstones_deleted_at
+    ON organization.sync_tombstones (deleted_at);
@@ -0,0 +1,26 @@
+-- Transactional outbox: rows are written in the same transaction as the
+-- change they describe and relayed to the message broker afterwards. No
+-- foreign key to organizations, so the deletion event of an organization
+-- outlives it.
+CREATE TABLE organization.outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    organization_id UUID NOT NULL,
+    payload TEXT NOT NULL,
+
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    -- Lease of the relay batch currently publishing the row
+    claim_token UUID,
+    claimed_at TIMESTAMP WITH TIME ZONE,
+
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Pending rows (sent_at IS NULL) in id order
+CREATE INDEX idx_outbox_events_sent_id
+    ON organization.outbox_events (sent_at, id);
+
+CREATE INDEX idx_outbox_events_claim_token
+    ON organization.outbox_events (claim_token);
@@ -0,0 +1,15 @@
+-- Asynchronously ingested transactions the consumer could not persist, kept
+-- so the status endpoint can report them. Successful ones need no record:
+-- the transaction row itself is the proof. No foreign key, since a vanished
+-- organization is one of the reasons a row ends up here.
+CREATE TABLE organization.transaction_ingest_failures (
+    id UUID PRIMARY KEY,
+    organization_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+
+    error VARCHAR(500) NOT NULL,
+    failed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_transaction_ingest_failures_failed_at
+    ON organization.transaction_ingest_failures (failed_at);
@@ -0,0 +1,22 @@
+-- Idempotency-Key records of the create endpoints. A request claims its key
+-- as PENDING before running and the row turns COMPLETED, with the response,
+-- in the same transaction as the write, so a retry replays the response
+-- instead of inserting twice, across restarts and instances.
+CREATE TABLE organization.idempotency_keys (
+    user_id UUID NOT NULL,
+    scope VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response TEXT,
+
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT pk_idempotency_keys
+        PRIMARY KEY (user_id, scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at
+    ON organization.idempotency_keys (expires_at);
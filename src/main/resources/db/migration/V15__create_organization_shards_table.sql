@@ -0,0 +1,21 @@
+-- Shard directory: which database holds each organization, its clients,
+-- transactions and derived rows. Only the home database's copy is used; on
+-- the other shards the table stays empty. Organizations that exist already
+-- live on the home database.
+CREATE TABLE organization.organization_shards (
+    organization_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+
+    shard VARCHAR(50) NOT NULL,
+    -- MOVING while a move to another shard is being cut over; writes wait it out
+    state VARCHAR(20) NOT NULL,
+
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_organization_shards_user_id
+    ON organization.organization_shards (user_id);
+
+INSERT INTO organization.organization_shards (organization_id, user_id, shard, state, updated_at)
+SELECT id, user_id, 'home', 'ACTIVE', CURRENT_TIMESTAMP
+FROM organization.organizations;
@@ -0,0 +1,8 @@
+-- ETag counters of the listings, kept with the rows so every instance reads
+-- the same tags: an organization's clients and transactions, and a user's
+-- list of organizations
+ALTER TABLE organization.organizations
+    ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE auth.users
+    ADD COLUMN organizations_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Keyset pagination seeks on (organization_id, created_at, id); these replace
+-- the single-column organization_id indexes, which they fully cover.
+CREATE INDEX idx_clients_org_created_id
+    ON organization.clients (organization_id, created_at, id);
+
+CREATE INDEX idx_transactions_org_created_id
+    ON organization.transactions (organization_id, created_at, id);
+
+DROP INDEX organization.idx_clients_organization_id;
+
+DROP INDEX organization.idx_transactions_organization_id;
@@ -0,0 +1,29 @@
+CREATE TABLE organization.transaction_totals (
+    organization_id UUID NOT NULL,
+    type VARCHAR(20) NOT NULL,
+
+    total DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    tx_count BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_transaction_totals
+        PRIMARY KEY (organization_id, type),
+
+    CONSTRAINT fk_transaction_totals_organization
+        FOREIGN KEY (organization_id)
+        REFERENCES organization.organizations(id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO organization.transaction_totals (organization_id, type, total, tx_count)
+SELECT o.id, 'INCOME', COALESCE(SUM(t.amount), 0), COUNT(t.id)
+FROM organization.organizations o
+LEFT JOIN organization.transactions t
+    ON t.organization_id = o.id AND t.type = 'INCOME'
+GROUP BY o.id;
+
+INSERT INTO organization.transaction_totals (organization_id, type, total, tx_count)
+SELECT o.id, 'EXPENSE', COALESCE(SUM(t.amount), 0), COUNT(t.id)
+FROM organization.organizations o
+LEFT JOIN organization.transactions t
+    ON t.organization_id = o.id AND t.type = 'EXPENSE'
+GROUP BY o.id;
@@ -0,0 +1,22 @@
+CREATE TABLE organization.transaction_daily_rollups (
+    organization_id UUID NOT NULL,
+    -- Not "day", which H2 reserves
+    bucket_day DATE NOT NULL,
+    type VARCHAR(20) NOT NULL,
+
+    total DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    tx_count BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_transaction_daily_rollups
+        PRIMARY KEY (organization_id, bucket_day, type),
+
+    CONSTRAINT fk_transaction_daily_rollups_organization
+        FOREIGN KEY (organization_id)
+        REFERENCES organization.organizations(id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO organization.transaction_daily_rollups (organization_id, bucket_day, type, total, tx_count)
+SELECT organization_id, CAST(created_at AT TIME ZONE 'UTC' AS DATE), type, SUM(amount), COUNT(*)
+FROM organization.transactions
+GROUP BY organization_id, CAST(created_at AT TIME ZONE 'UTC' AS DATE), type;
@@ -0,0 +1,30 @@
+-- Status-filtered listings seek on (organization_id, status, created_at, id),
+-- which replaces the status-only index: status alone is too unselective to
+-- be useful without the organization in front of it.
+CREATE INDEX idx_clients_org_status_created_id
+    ON organization.clients (organization_id, status, created_at, id);
+
+DROP INDEX organization.idx_clients_status;
+
+CREATE TABLE organization.client_status_counts (
+    organization_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+
+    client_count BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_client_status_counts
+        PRIMARY KEY (organization_id, status),
+
+    CONSTRAINT fk_client_status_counts_organization
+        FOREIGN KEY (organization_id)
+        REFERENCES organization.organizations(id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO organization.client_status_counts (organization_id, status, client_count)
+SELECT o.id, s.status, (
+    SELECT COUNT(*)
+    FROM organization.clients c
+    WHERE c.organization_id = o.id AND c.status = s.status)
+FROM organization.organizations o
+CROSS JOIN (VALUES ('ACTIVE'), ('INACTIVE'), ('BLOCKED'), ('SUSPENDED'), ('PENDING')) AS s (status);
@@ -3,7 +3,7 @@ package com.euandresimoes.spring_crm;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "security.jwt.secret=test-secret-key-for-jwt")
 class SpringCrmApplicationTests {
 
 	@Test
@@ -0,0 +1,142 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSuggestion;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ClientAutocompleteIndex.
+ * Validates prefix matching, lazy loading, change application and eviction.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientAutocompleteIndexTest {
+
+    @Mock
+    private ClientRepository clientRepo;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should match the start of the name, of later name words and of the email")
+    void shouldMatchNameWordsAndEmail() {
+        // Arrange
+        ClientSuggestion ana = new ClientSuggestion(UUID.randomUUID(), "Ana Silva", "ana@acme.com");
+        ClientSuggestion joao = new ClientSuggestion(UUID.randomUUID(), "Jo\u00e3o Souza", "contato@souza.com");
+        when(clientRepo.findSuggestions(orgId)).thenReturn(List.of(ana, joao));
+        ClientAutocompleteIndex index = index(DataSize.ofMegabytes(1));
+
+        // Act & Assert
+        assertThat(index.suggest(userId, orgId, "an", 10)).containsExactly(ana);
+        assertThat(index.suggest(userId, orgId, "SIL", 10)).containsExactly(ana);
+        assertThat(index.suggest(userId, orgId, "joao", 10)).containsExactly(joao);
+        assertThat(index.suggest(userId, orgId, "contato@", 10)).containsExactly(joao);
+        assertThat(index.suggest(userId, orgId, "s", 10)).containsExactlyInAnyOrder(ana, joao);
+        assertThat(index.suggest(userId, orgId, "s", 1)).hasSize(1);
+        assertThat(index.suggest(userId, orgId, "  ", 10)).isEmpty();
+        // Loaded once, on the first lookup
+        verify(clientRepo, times(1)).findSuggestions(orgId);
+        assertThat(index.getBuilds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply created, updated and deleted clients of a loaded organization")
+    void shouldApplyChanges() {
+        // Arrange
+        UUID clientId = UUID.randomUUID();
+        when(clientRepo.findSuggestions(orgId)).thenReturn(List.of());
+        ClientAutocompleteIndex index = index(DataSize.ofMegabytes(1));
+        assertThat(index.suggest(userId, orgId, "bea", 10)).isEmpty();
+
+        // Act & Assert
+        ClientSnapshot created = new ClientSnapshot("Beatriz Lima", "bia@lima.com", ClientStatus.ACTIVE);
+        index.onClientsChanged(ClientsChangedEvent.of(orgId, userId, ClientChange.created(clientId, created)));
+        assertThat(index.suggest(userId, orgId, "bea", 10)).extracting(ClientSuggestion::id).containsExactly(clientId);
+
+        ClientSnapshot renamed = new ClientSnapshot("Carla Lima", "bia@lima.com", ClientStatus.ACTIVE);
+        index.onClientsChanged(ClientsChangedEvent.of(orgId, userId, ClientChange.updated(clientId, created, renamed)));
+        assertThat(index.suggest(userId, orgId, "bea", 10)).isEmpty();
+        assertThat(index.suggest(userId, orgId, "car", 10)).extracting(ClientSuggestion::name)
+                .containsExactly("Carla Lima");
+
+        index.onClientsChanged(ClientsChangedEvent.of(orgId, userId, ClientChange.deleted(clientId, renamed)));
+        assertThat(index.suggest(userId, orgId, "car", 10)).isEmpty();
+        assertThat(index.getBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore changes for organizations that are not loaded")
+    void shouldIgnoreChangesForUnloadedOrganizations() {
+        // Arrange
+        ClientAutocompleteIndex index = index(DataSize.ofMegabytes(1));
+        ClientSnapshot created = new ClientSnapshot("Ana Silva", "ana@acme.com", ClientStatus.ACTIVE);
+
+        // Act
+        index.onClientsChanged(ClientsChangedEvent.of(orgId, userId, ClientChange.created(UUID.randomUUID(), created)));
+
+        // Assert
+        assertThat(index.getBytes()).isZero();
+        verifyNoInteractions(clientRepo);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used organization once over the memory budget")
+    void shouldEvictColdOrganizations() {
+        // Arrange
+        UUID otherOrgId = UUID.randomUUID();
+        when(clientRepo.findSuggestions(orgId))
+                .thenReturn(List.of(new ClientSuggestion(UUID.randomUUID(), "Ana Silva", "ana@acme.com")));
+        when(clientRepo.findSuggestions(otherOrgId))
+                .thenReturn(List.of(new ClientSuggestion(UUID.randomUUID(), "Bruno Costa", "bruno@costa.com")));
+        ClientAutocompleteIndex index = index(DataSize.ofBytes(1000));
+
+        // Act
+        index.suggest(userId, orgId, "ana", 10);
+        index.suggest(userId, otherOrgId, "bru", 10);
+        index.suggest(userId, orgId, "ana", 10);
+
+        // Assert
+        assertThat(index.getEvictions()).isEqualTo(2);
+        assertThat(index.getBuilds()).isEqualTo(3);
+        verify(clientRepo, times(2)).findSuggestions(orgId);
+    }
+
+    @Test
+    @DisplayName("Should reject lookups for organizations the user does not own")
+    void shouldRejectUnknownOrganization() {
+        // Arrange
+        when(ownership.requireOwned(userId, orgId)).thenThrow(new OrganizationNotFoundException(orgId));
+        ClientAutocompleteIndex index = index(DataSize.ofMegabytes(1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> index.suggest(userId, orgId, "ana", 10))
+                .isInstanceOf(OrganizationNotFoundException.class);
+        verifyNoInteractions(clientRepo);
+    }
+
+    private ClientAutocompleteIndex index(DataSize budget) {
+        return new ClientAutocompleteIndex(clientRepo, ownership, budget, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,186 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientImportResponse;
+import com.euandresimoes.spring_crm.organization.clients.exception.ClientImportNotFoundException;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ClientImportService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientImportServiceTest {
+
+    @Mock
+    private ClientBatchWriter batchWriter;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    private ClientImportService importService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        importService = new ClientImportService(
+                batchWriter,
+                ownership,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.close();
+    }
+
+    @Test
+    @DisplayName("Should import valid CSV rows in batches and report invalid and duplicate rows")
+    void shouldImportCsv() throws Exception {
+        // Arrange
+        existingIdentities("existing@example.com", "123.456.789-01");
+        String body = """
+                name,description,email,cpf_cnpj,phone,status
+                Client One,,one@example.com,,,ACTIVE
+                Bad,,not-an-email,,,ACTIVE
+                Client Two,,ONE@example.com,,,ACTIVE
+                Client Three,,three@example.com,12345678901,,ACTIVE
+                Client Four,"Has, a comma",four@example.com,98765432100,11999999999,INACTIVE
+                Client Five,,five@example.com,,,ACTIVE
+                """;
+
+        // Act
+        ClientImportResponse response = importService.importClients(userId, orgId, ClientImportFormat.CSV, stream(body));
+
+        // Assert
+        assertThat(response.received()).isEqualTo(6);
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.duplicates()).isEqualTo(2);
+        assertThat(response.invalid()).isEqualTo(1);
+        verify(batchWriter, atLeast(2)).insert(eq(orgId), eq(userId), anyList());
+
+        List<String> report = Files.readAllLines(importService.report(userId, orgId, response.importId()));
+        assertThat(report).hasSize(7);
+        assertThat(report.get(0)).isEqualTo("row,status,client_id,message");
+        assertThat(report.get(1)).startsWith("1,IMPORTED,");
+        assertThat(report.get(2)).startsWith("2,INVALID,,");
+        assertThat(report.get(3)).isEqualTo("3,DUPLICATE,,Duplicate email");
+        assertThat(report.get(4)).isEqualTo("4,DUPLICATE,,Duplicate cpf_cnpj");
+        assertThat(report.get(5)).startsWith("5,IMPORTED,");
+    }
+
+    @Test
+    @DisplayName("Should stop at malformed NDJSON and keep the rows imported before it")
+    void shouldStopAtMalformedNdjson() throws Exception {
+        // Arrange
+        existingIdentities();
+        String body = """
+                {"name": "Client One", "email": "one@example.com", "status": "ACTIVE"}
+                {"name": "Client Two", "email": "two@example.com", "status": "NOT_A_STATUS"}
+                {"name": "Client Three", "email":
+                """;
+
+        // Act
+        ClientImportResponse response = importService.importClients(userId, orgId, ClientImportFormat.NDJSON, stream(body));
+
+        // Assert
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.invalid()).isEqualTo(2);
+        List<String> report = Files.readAllLines(importService.report(userId, orgId, response.importId()));
+        assertThat(report.get(2)).startsWith("2,INVALID,,");
+        assertThat(report.get(3)).contains("Malformed input, import stopped");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row and report the rows that still fail")
+    void shouldIsolateFailedRows() throws Exception {
+        // Arrange
+        existingIdentities();
+        lenient().doThrow(new DataIntegrityViolationException("batch failed"))
+                .when(batchWriter).insert(eq(orgId), eq(userId), argThat(rows -> rows.size() == 2));
+        lenient().doThrow(new DataIntegrityViolationException("row failed"))
+                .when(batchWriter).insert(eq(orgId), eq(userId),
+                        argThat(rows -> rows.size() == 1 && rows.get(0).name().equals("Client Two")));
+        String body = """
+                {"name": "Client One", "email": "one@example.com", "status": "ACTIVE"}
+                {"name": "Client Two", "email": "two@example.com", "status": "ACTIVE"}
+                """;
+
+        // Act
+        ClientImportResponse response = importService.importClients(userId, orgId, ClientImportFormat.NDJSON, stream(body));
+
+        // Assert
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(1);
+        List<String> report = Files.readAllLines(importService.report(userId, orgId, response.importId()));
+        assertThat(report.get(2)).startsWith("2,FAILED,,Insert failed");
+    }
+
+    @Test
+    @DisplayName("Should not expose a report to another user")
+    void shouldHideReportFromOtherUsers() throws Exception {
+        // Arrange
+        existingIdentities();
+        ClientImportResponse response = importService.importClients(userId, orgId, ClientImportFormat.CSV,
+                stream("name,email,status\n"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> importService.report(UUID.randomUUID(), orgId, response.importId()))
+                .isInstanceOf(ClientImportNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject the whole import when the organization is not owned by the user")
+    void shouldRejectUnknownOrganization() {
+        // Arrange
+        when(ownership.requireOwned(userId, orgId)).thenThrow(new OrganizationNotFoundException(orgId));
+
+        // Act & Assert
+        assertThatThrownBy(() -> importService.importClients(userId, orgId, ClientImportFormat.CSV, stream("")))
+                .isInstanceOf(OrganizationNotFoundException.class);
+        verifyNoInteractions(batchWriter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void existingIdentities(String... emailAndCpfCnpj) {
+        doAnswer(invocation -> {
+            BiConsumer<String, String> consumer = invocation.getArgument(1);
+            for (int i = 0; i < emailAndCpfCnpj.length; i += 2) {
+                consumer.accept(emailAndCpfCnpj[i], emailAndCpfCnpj[i + 1]);
+            }
+            return null;
+        }).when(batchWriter).forEachIdentity(eq(orgId), any(BiConsumer.class));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
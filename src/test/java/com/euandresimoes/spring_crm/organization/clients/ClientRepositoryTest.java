@@ -0,0 +1,71 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the ClientResponse projection read path.
+ * Runs against the embedded H2 database with the Flyway migrations applied.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ClientRepositoryTest {
+
+    @Autowired
+    private ClientRepository clientRepo;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should load a 500-row page of clients with a single statement and no managed entities")
+    void shouldLoadPageWithSingleStatement() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        OrganizationEntity organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+
+        for (int i = 0; i < 500; i++) {
+            clientRepo.save(new ClientEntity(
+                    organization,
+                    userId,
+                    "Client " + i,
+                    null,
+                    "client" + i + "@example.com",
+                    null,
+                    null,
+                    ClientStatus.ACTIVE));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // Act
+        List<ClientResponse> page = clientRepo.findResponses(userId, organization.getId(), PageRequest.of(0, 500));
+
+        // Assert
+        assertThat(page).hasSize(500);
+        assertThat(page.get(0).organization_id()).isEqualTo(organization.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,98 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * First-page latency of the client search over one large organization on the
+ * embedded H2 database. H2 has no trigram indexes and scans the
+ * organization's clients, so this is the unindexed fallback path. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+class ClientSearchBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1_000_000);
+    private static final int RUNS = 5;
+    private static final String[] LAST_NAMES = { "Silva", "Souza", "Costa", "Lima", "Alves", "Dias", "Rocha",
+            "Mendes", "Barros", "Freitas" };
+
+    private static final String INSERT_SQL = """
+            INSERT INTO organization.clients
+                (id, organization_id, user_id, name, description, email, cpf_cnpj, phone, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, NULL, ?, NULL, ?, 'ACTIVE', ?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should report first-page search latency for narrow and broad terms")
+    void measureSearchLatency() {
+        UUID userId = UUID.randomUUID();
+        OrganizationEntity organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+        entityManager.flush();
+        seed(organization.getId(), userId);
+
+        ClientSearchService searchService = new ClientSearchService(namedJdbcTemplate, 1000);
+        for (String term : List.of("user42424", "silva", "example")) {
+            // One unmeasured run per term warms up the query
+            searchService.search(userId, organization.getId(), term, null, 20);
+
+            long[] millis = new long[RUNS];
+            int found = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                found = searchService.search(userId, organization.getId(), term, null, 20).items().size();
+                millis[i] = (System.nanoTime() - start) / 1_000_000;
+            }
+            Arrays.sort(millis);
+            System.out.printf("search '%s' over %,d clients: %d results, p50 %d ms, max %d ms%n",
+                    term, CLIENTS, found, millis[RUNS / 2], millis[RUNS - 1]);
+            assertThat(found).isPositive();
+        }
+    }
+
+    private void seed(UUID organizationId, UUID userId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < CLIENTS; i++) {
+            batch.add(new Object[] { UUID.randomUUID(), organizationId, userId,
+                    "Client " + i + " " + LAST_NAMES[i % LAST_NAMES.length], "user" + i + "@example.com",
+                    "11" + String.format("%09d", i), now, now });
+            if (batch.size() == 1_000) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+}
@@ -0,0 +1,126 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientSearchResponse;
+import com.euandresimoes.spring_crm.organization.clients.exception.InvalidSearchQueryException;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Search tests for the ClientSearchService.
+ * Runs against the embedded H2 database, i.e. the non-indexed fallback path.
+ */
+@DataJpaTest
+@Import(ClientSearchService.class)
+class ClientSearchServiceTest {
+
+    @Autowired
+    private ClientSearchService searchService;
+
+    @Autowired
+    private ClientRepository clientRepo;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private OrganizationEntity organization;
+
+    @BeforeEach
+    void setUp() {
+        organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+        save("Mariana Lima", "mariana@example.com", "11999990000");
+        save("Ana Souza", "souza@example.com", null);
+        save("Bruno Costa", "ana.costa@example.com", null);
+        save("Carlos Dias", "contato.ana@example.com", null);
+        save("Diego Alves", "diego@example.com", "11888880000");
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should rank name prefixes, then field prefixes, then name substrings, then other substrings")
+    void shouldRankMatches() {
+        ClientSearchResponse page = searchService.search(userId, organization.getId(), "ANA", null, 10);
+
+        assertThat(page.items()).extracting(ClientResponse::name)
+                .containsExactly("Ana Souza", "Bruno Costa", "Mariana Lima", "Carlos Dias");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should continue a ranked result from the cursor without gaps or repeats")
+    void shouldPaginateWithCursor() {
+        ClientSearchResponse first = searchService.search(userId, organization.getId(), "ana", null, 2);
+        ClientSearchResponse second = searchService.search(userId, organization.getId(), "ana",
+                first.nextCursor(), 2);
+
+        assertThat(first.items()).extracting(ClientResponse::name).containsExactly("Ana Souza", "Bruno Costa");
+        assertThat(second.items()).extracting(ClientResponse::name).containsExactly("Mariana Lima", "Carlos Dias");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should match phone numbers and treat LIKE wildcards literally")
+    void shouldMatchPhoneAndEscapeWildcards() {
+        assertThat(searchService.search(userId, organization.getId(), "11888", null, 10).items())
+                .extracting(ClientResponse::name).containsExactly("Diego Alves");
+        assertThat(searchService.search(userId, organization.getId(), "na_", null, 10).items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject queries shorter than the minimum length")
+    void shouldRejectShortQueries() {
+        assertThatThrownBy(() -> searchService.search(userId, organization.getId(), " an ", null, 10))
+                .isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    @DisplayName("Should stop at the configured number of matches, keeping the best ranked ones, and flag it")
+    void shouldBoundRankedMatches() {
+        ClientSearchService bounded = new ClientSearchService(jdbcTemplate, 3);
+
+        ClientSearchResponse first = bounded.search(userId, organization.getId(), "ana", null, 2);
+        ClientSearchResponse second = bounded.search(userId, organization.getId(), "ana", first.nextCursor(), 2);
+
+        assertThat(first.items()).extracting(ClientResponse::name).containsExactly("Ana Souza", "Bruno Costa");
+        assertThat(first.truncated()).isFalse();
+        assertThat(second.items()).extracting(ClientResponse::name).containsExactly("Mariana Lima");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(second.truncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not flag a result that ends exactly at the match limit")
+    void shouldNotFlagCompleteResultAtLimit() {
+        ClientSearchService bounded = new ClientSearchService(jdbcTemplate, 4);
+
+        ClientSearchResponse page = bounded.search(userId, organization.getId(), "ana", null, 10);
+
+        assertThat(page.items()).hasSize(4);
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.truncated()).isFalse();
+    }
+
+    private void save(String name, String email, String phone) {
+        clientRepo.save(new ClientEntity(organization, userId, name, null, email, null, phone, ClientStatus.ACTIVE));
+    }
+}
@@ -2,19 +2,31 @@ package com.euandresimoes.spring_crm.organization.clients;
 
 import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
 import com.euandresimoes.spring_crm.organization.clients.dto.CreateClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.dto.PatchClientCommand;
 import com.euandresimoes.spring_crm.organization.clients.dto.UpdateClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.clients.exception.ClientNotFoundException;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
 import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
-import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
 import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.shared.web.CursorPage;
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import com.euandresimoes.spring_crm.shared.web.VersionResponse;
+import com.euandresimoes.spring_crm.shared.web.exception.VersionConflictException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.Instant;
 import java.util.List;
@@ -38,7 +50,16 @@ class ClientServiceTest {
     private ClientRepository clientRepo;
 
     @Mock
-    private OrganizationRepository organizationRepo;
+    private OrganizationOwnership ownership;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrganizationChangeVersions changeVersions;
 
     @InjectMocks
     private ClientService clientService;
@@ -62,7 +83,7 @@ class ClientServiceTest {
         OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
         organization.setId(orgId);
 
-        when(organizationRepo.findByIdAndUserId(orgId, userId)).thenReturn(Optional.of(organization));
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
 
         // Act
         ClientResponse response = clientService.createClient(userId, orgId, command);
@@ -72,7 +93,7 @@ class ClientServiceTest {
         assertThat(response.name()).isEqualTo(command.name());
         assertThat(response.email()).isEqualTo(command.email());
 
-        verify(organizationRepo).findByIdAndUserId(orgId, userId);
+        verify(ownership).requireOwned(userId, orgId);
         verify(clientRepo).save(any(ClientEntity.class));
     }
 
@@ -90,13 +111,13 @@ class ClientServiceTest {
                 "11999999999",
                 ClientStatus.ACTIVE);
 
-        when(organizationRepo.findByIdAndUserId(orgId, userId)).thenReturn(Optional.empty());
+        when(ownership.requireOwned(userId, orgId)).thenThrow(new OrganizationNotFoundException(orgId));
 
         // Act & Assert
         assertThatThrownBy(() -> clientService.createClient(userId, orgId, command))
                 .isInstanceOf(OrganizationNotFoundException.class);
 
-        verify(organizationRepo).findByIdAndUserId(orgId, userId);
+        verify(ownership).requireOwned(userId, orgId);
         verify(clientRepo, never()).save(any(ClientEntity.class));
     }
 
@@ -109,12 +130,36 @@ class ClientServiceTest {
         UUID userId = UUID.randomUUID();
         UUID orgId = UUID.randomUUID();
         UUID clientId = UUID.randomUUID();
+        when(clientRepo.lockSnapshot(clientId, userId, orgId))
+                .thenReturn(Optional.of(new ClientSnapshot("Client One", "client@example.com", ClientStatus.ACTIVE)));
+        when(clientRepo.deleteByIdAndUserIdAndOrganization_Id(clientId, userId, orgId)).thenReturn(1);
 
         // Act
-        clientService.deleteClient(userId, orgId, clientId);
+        int deleted = clientService.deleteClient(userId, orgId, clientId);
 
         // Assert
+        assertThat(deleted).isEqualTo(1);
         verify(clientRepo).deleteByIdAndUserIdAndOrganization_Id(clientId, userId, orgId);
+        verify(events).publishEvent(any(ClientsChangedEvent.class));
+        verify(changeVersions).bumpOrganization(orgId);
+    }
+
+    @Test
+    @DisplayName("Should not delete or publish anything when the client is not found")
+    void shouldSkipDeleteWhenClientNotFound() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        when(clientRepo.lockSnapshot(clientId, userId, orgId)).thenReturn(Optional.empty());
+
+        // Act
+        int deleted = clientService.deleteClient(userId, orgId, clientId);
+
+        // Assert
+        assertThat(deleted).isZero();
+        verify(clientRepo, never()).deleteByIdAndUserIdAndOrganization_Id(any(), any(), any());
+        verifyNoInteractions(events, changeVersions);
     }
 
     // --- Find Clients Tests ---
@@ -144,18 +189,68 @@ class ClientServiceTest {
         client.setCreatedAt(Instant.now());
         client.setUpdatedAt(Instant.now());
 
-        Page<ClientEntity> pageResult = new PageImpl<>(List.of(client));
-
-        when(clientRepo.findAllByUserIdAndOrganization_Id(eq(userId), eq(orgId), any(Pageable.class)))
-                .thenReturn(pageResult);
+        when(clientRepo.findResponses(eq(userId), eq(orgId), any(Pageable.class)))
+                .thenReturn(List.of(ClientResponse.from(client)));
 
         // Act
-        List<ClientResponse> responses = clientService.findClients(userId, orgId, page, size);
+        List<ClientResponse> responses = clientService.findClients(userId, orgId, null, page, size);
 
         // Assert
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).name()).isEqualTo("Client One");
-        verify(clientRepo).findAllByUserIdAndOrganization_Id(eq(userId), eq(orgId), any(Pageable.class));
+        verify(clientRepo).findResponses(eq(userId), eq(orgId), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should return a next cursor pointing at the last client of a full slice")
+    void shouldFindClientsByCursor() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+
+        ClientEntity client = new ClientEntity(
+                organization,
+                userId,
+                "Client One",
+                "Description",
+                "client@example.com",
+                "12345678901",
+                "11999999999",
+                ClientStatus.ACTIVE);
+        client.setId(UUID.randomUUID());
+        client.setCreatedAt(Instant.now());
+
+        when(clientRepo.findFirstSlice(eq(userId), eq(orgId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(ClientResponse.from(client)), Pageable.ofSize(1), true));
+
+        // Act
+        CursorPage<ClientResponse> result = clientService.findClientsByCursor(userId, orgId, null, "", 1);
+
+        // Assert
+        assertThat(result.items()).hasSize(1);
+        KeysetCursor next = KeysetCursor.decode(result.nextCursor());
+        assertThat(next.id()).isEqualTo(client.getId());
+        assertThat(next.createdAt()).isEqualTo(client.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should use the status-filtered query when a status is given")
+    void shouldFindClientsByStatus() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        when(clientRepo.findResponsesByStatus(eq(userId), eq(orgId), eq(ClientStatus.BLOCKED), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        List<ClientResponse> responses = clientService.findClients(userId, orgId, ClientStatus.BLOCKED, 0, 10);
+
+        // Assert
+        assertThat(responses).isEmpty();
+        verify(clientRepo, never()).findResponses(any(), any(), any());
     }
 
     // --- Update Client Tests ---
@@ -209,7 +304,7 @@ class ClientServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw OrganizationNotFoundException when updating a non-existent client")
+    @DisplayName("Should throw ClientNotFoundException when updating a non-existent client")
     void shouldThrowExceptionWhenUpdatingNonExistentClient() {
         // Arrange
         UUID userId = UUID.randomUUID();
@@ -228,12 +323,78 @@ class ClientServiceTest {
                 .thenReturn(Optional.empty());
 
         // Act & Assert
-        // Note: Currently ClientService throws OrganizationNotFoundException even for
-        // clients
         assertThatThrownBy(() -> clientService.updateClient(userId, orgId, command))
-                .isInstanceOf(OrganizationNotFoundException.class);
+                .isInstanceOf(ClientNotFoundException.class);
 
         verify(clientRepo).findByIdAndUserIdAndOrganization_Id(clientId, userId, orgId);
         verify(clientRepo, never()).save(any(ClientEntity.class));
     }
+
+    // --- Patch Client Tests ---
+
+    @Test
+    @DisplayName("Should patch the status with one conditional update and publish the status change")
+    void shouldPatchClientStatus() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        PatchClientCommand command = new PatchClientCommand(3L, null, null, null, null, null, ClientStatus.BLOCKED);
+        when(clientRepo.lockSnapshot(clientId, userId, orgId))
+                .thenReturn(Optional.of(new ClientSnapshot("Client One", "client@example.com", ClientStatus.ACTIVE)));
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+
+        // Act
+        VersionResponse response = clientService.patchClient(userId, orgId, clientId, command);
+
+        // Assert
+        assertThat(response.version()).isEqualTo(4);
+        verify(jdbcTemplate).update(argThat((String sql) -> sql.contains("status = :set_status")
+                && !sql.contains("name =") && sql.contains("version = :expected_version")),
+                any(SqlParameterSource.class));
+        verify(events).publishEvent(argThat((ClientsChangedEvent event) -> {
+            ClientChange change = event.changes().get(0);
+            return change.before().status() == ClientStatus.ACTIVE
+                    && change.after().status() == ClientStatus.BLOCKED
+                    && change.after().name().equals("Client One");
+        }));
+        verify(clientRepo, never()).save(any(ClientEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should report the current version when the client changed since the given one")
+    void shouldRejectStaleVersion() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        PatchClientCommand command = new PatchClientCommand(3L, null, "New description", null, null, null, null);
+        when(clientRepo.lockSnapshot(clientId, userId, orgId))
+                .thenReturn(Optional.of(new ClientSnapshot("Client One", "client@example.com", ClientStatus.ACTIVE)));
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(0);
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(5L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> clientService.patchClient(userId, orgId, clientId, command))
+                .isInstanceOf(VersionConflictException.class)
+                .satisfies(e -> assertThat(((VersionConflictException) e).getCurrentVersion()).isEqualTo(5));
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    @DisplayName("Should throw when patching a client that does not exist")
+    void shouldThrowWhenPatchedClientNotFound() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        PatchClientCommand command = new PatchClientCommand(0L, null, null, null, "11999999999", null, null);
+        when(clientRepo.lockSnapshot(clientId, userId, orgId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> clientService.patchClient(userId, orgId, clientId, command))
+                .isInstanceOf(ClientNotFoundException.class);
+        verifyNoInteractions(jdbcTemplate, events);
+    }
 }
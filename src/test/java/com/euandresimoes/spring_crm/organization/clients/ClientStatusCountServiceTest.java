@@ -0,0 +1,110 @@
+package com.euandresimoes.spring_crm.organization.clients;
+
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientStatusCountsResponse;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ClientStatusCountService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientStatusCountServiceTest {
+
+    @Mock
+    private ClientStatusCountRepository countRepo;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    @InjectMocks
+    private ClientStatusCountService countService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should seed a zero row per status when an organization is created")
+    void shouldSeedCountsForNewOrganization() {
+        countService.onOrganizationCreated(new OrganizationCreatedEvent(orgId, userId));
+
+        verify(countRepo, times(ClientStatus.values().length)).save(any(ClientStatusCountEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should move one client between statuses when its status changes")
+    void shouldApplyDeltasOfAStatusChange() {
+        ClientChange change = ClientChange.updated(
+                UUID.randomUUID(),
+                new ClientSnapshot("Client One", "client@example.com", ClientStatus.PENDING),
+                new ClientSnapshot("Client One", "client@example.com", ClientStatus.ACTIVE));
+        when(countRepo.addToCount(any(), any(), anyLong())).thenReturn(1);
+
+        countService.onClientsChanged(ClientsChangedEvent.of(orgId, userId, change));
+
+        verify(countRepo).addToCount(orgId, ClientStatus.PENDING, -1);
+        verify(countRepo).addToCount(orgId, ClientStatus.ACTIVE, 1);
+        verify(countRepo, never()).save(any(ClientStatusCountEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the write when a change keeps the status")
+    void shouldSkipNoOpDeltas() {
+        ClientSnapshot before = new ClientSnapshot("Client One", "client@example.com", ClientStatus.ACTIVE);
+        ClientSnapshot after = new ClientSnapshot("Client Renamed", "client@example.com", ClientStatus.ACTIVE);
+
+        countService.onClientsChanged(ClientsChangedEvent.of(orgId, userId,
+                ClientChange.updated(UUID.randomUUID(), before, after)));
+
+        verifyNoInteractions(countRepo);
+    }
+
+    @Test
+    @DisplayName("Should aggregate a batch into one write per status and insert a missing row")
+    void shouldAggregateBatchAndInsertMissingRow() {
+        ClientSnapshot active = new ClientSnapshot("Client One", "one@example.com", ClientStatus.ACTIVE);
+        ClientsChangedEvent event = new ClientsChangedEvent(orgId, userId, List.of(
+                ClientChange.created(UUID.randomUUID(), active),
+                ClientChange.created(UUID.randomUUID(), active),
+                ClientChange.created(UUID.randomUUID(), active)));
+        when(countRepo.addToCount(orgId, ClientStatus.ACTIVE, 3)).thenReturn(0);
+
+        countService.onClientsChanged(event);
+
+        verify(countRepo).addToCount(orgId, ClientStatus.ACTIVE, 3);
+        verify(countRepo).save(argThat((ClientStatusCountEntity count) -> count.getStatus() == ClientStatus.ACTIVE
+                && count.getCount() == 3));
+    }
+
+    @Test
+    @DisplayName("Should report every status, with zero for statuses that have no row")
+    void shouldReportCountsForEveryStatus() {
+        when(countRepo.findAllByOrganizationId(orgId)).thenReturn(List.of(
+                new ClientStatusCountEntity(orgId, ClientStatus.ACTIVE, 7),
+                new ClientStatusCountEntity(orgId, ClientStatus.BLOCKED, 2)));
+
+        ClientStatusCountsResponse response = countService.getCounts(userId, orgId);
+
+        assertThat(response.total()).isEqualTo(9);
+        assertThat(response.byStatus()).hasSize(ClientStatus.values().length)
+                .containsEntry(ClientStatus.ACTIVE, 7L)
+                .containsEntry(ClientStatus.BLOCKED, 2L)
+                .containsEntry(ClientStatus.PENDING, 0L);
+        verify(ownership).requireOwned(userId, orgId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.euandresimoes.spring_crm.shared.sharding.ShardingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the OrganizationChangeVersions.
+ * Validates that tags follow the stored versions and parameters, whichever
+ * instance made the write. Runs against the embedded H2 database with the
+ * Flyway migrations applied.
+ */
+@DataJpaTest
+@Import({OrganizationChangeVersions.class, ShardingConfig.class})
+class OrganizationChangeVersionsTest {
+
+    @Autowired
+    private OrganizationChangeVersions changeVersions;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final UUID userId = UUID.randomUUID();
+    private UUID orgId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO auth.users (id, email, password_hash, active, role)
+                VALUES (?, 'user@example.com', 'hash', TRUE, 'USER')
+                """, userId);
+        orgId = organizationRepo.saveAndFlush(new OrganizationEntity(userId, "Organization")).getId();
+    }
+
+    @Test
+    @DisplayName("Should keep the tag stable until the organization is bumped")
+    void shouldChangeTagOnBump() {
+        String before = changeVersions.organizationEtag(orgId, "clients", 0, 20);
+
+        assertThat(changeVersions.organizationEtag(orgId, "clients", 0, 20)).isEqualTo(before);
+        changeVersions.bumpOrganization(orgId);
+
+        assertThat(changeVersions.organizationEtag(orgId, "clients", 0, 20)).isNotEqualTo(before).startsWith("W/\"");
+        assertThat(changeVersions.organizationVersion(orgId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should issue different tags for different query parameters")
+    void shouldChangeTagWithParameters() {
+        assertThat(changeVersions.organizationEtag(orgId, "clients", 0, 20))
+                .isNotEqualTo(changeVersions.organizationEtag(orgId, "clients", 1, 20));
+    }
+
+    @Test
+    @DisplayName("Should see bumps made through another instance")
+    void shouldShareVersionsBetweenInstances() {
+        OrganizationChangeVersions other = new OrganizationChangeVersions(jdbcTemplate,
+                ShardTopology.single(dataSource));
+        String organizationTag = changeVersions.organizationEtag(orgId, "transactions");
+        String userTag = changeVersions.userEtag(userId, "organizations");
+
+        other.bumpOrganization(orgId);
+        other.bumpUser(userId);
+
+        assertThat(changeVersions.organizationEtag(orgId, "transactions")).isNotEqualTo(organizationTag);
+        assertThat(changeVersions.userEtag(userId, "organizations")).isNotEqualTo(userTag);
+        assertThat(changeVersions.userVersion(userId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop matching the tags of a deleted organization")
+    void shouldChangeTagOnDelete() {
+        String before = changeVersions.organizationEtag(orgId, "clients", 0, 20);
+
+        organizationRepo.deleteByIdAndUserId(orgId, userId);
+
+        assertThat(changeVersions.organizationVersion(orgId)).isEqualTo(-1);
+        assertThat(changeVersions.organizationEtag(orgId, "clients", 0, 20)).isNotEqualTo(before);
+    }
+}
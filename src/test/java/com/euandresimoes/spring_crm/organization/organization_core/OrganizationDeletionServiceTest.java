@@ -0,0 +1,108 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationDeletionResponse;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationDeletionNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the chunked OrganizationDeletionService.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrganizationDeletionServiceTest {
+
+    @Mock
+    private OrganizationRepository repository;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    @Mock
+    private OrganizationChangeVersions changeVersions;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrganizationDeletionService deletionService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        deletionService = new OrganizationDeletionService(repository, ownership, changeVersions, events,
+                jdbcTemplate, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deletionService.close();
+    }
+
+    @Test
+    @DisplayName("Should delete children in chunks, then the organization, and report progress")
+    void shouldDeleteInChunks() throws Exception {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(repository.findByIdAndUserId(orgId, userId)).thenReturn(Optional.of(organization));
+        when(jdbcTemplate.update(contains("organization.transactions"), eq(orgId), eq(2))).thenReturn(2, 2, 1, 0);
+        when(jdbcTemplate.update(contains("organization.clients"), eq(orgId), eq(2))).thenReturn(1, 0);
+        when(repository.deleteByIdAndUserId(orgId, userId)).thenReturn(1);
+
+        OrganizationDeletionResponse started = deletionService.start(userId, orgId);
+        OrganizationDeletionResponse finished = awaitFinished(started.jobId());
+
+        assertThat(finished.state()).isEqualTo(DeletionState.COMPLETED);
+        assertThat(finished.transactionsDeleted()).isEqualTo(5);
+        assertThat(finished.clientsDeleted()).isEqualTo(1);
+        verify(repository).deleteByIdAndUserId(orgId, userId);
+        verify(ownership, atLeastOnce()).invalidate(userId, orgId);
+    }
+
+    @Test
+    @DisplayName("Should hide jobs from users who did not start them")
+    void shouldNotExposeOtherUsersJobs() {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(repository.findByIdAndUserId(orgId, userId)).thenReturn(Optional.of(organization));
+
+        OrganizationDeletionResponse started = deletionService.start(userId, orgId);
+
+        assertThatThrownBy(() -> deletionService.status(UUID.randomUUID(), started.jobId()))
+                .isInstanceOf(OrganizationDeletionNotFoundException.class);
+    }
+
+    private OrganizationDeletionResponse awaitFinished(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            OrganizationDeletionResponse status = deletionService.status(userId, jobId);
+            if (status.state() != DeletionState.RUNNING) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Deletion did not finish in time");
+    }
+}
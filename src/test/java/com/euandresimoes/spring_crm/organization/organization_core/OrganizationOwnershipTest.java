@@ -0,0 +1,107 @@
+package com.euandresimoes.spring_crm.organization.organization_core;
+
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the OrganizationOwnership cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrganizationOwnershipTest {
+
+    @Mock
+    private OrganizationRepository repository;
+
+    private OrganizationOwnership ownership;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ownership = new OrganizationOwnership(repository, 2, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should load once and then return a lazy reference on hits")
+    void shouldReturnReferenceOnHit() {
+        OrganizationEntity organization = organization();
+        OrganizationEntity reference = new OrganizationEntity();
+        when(repository.findByIdAndUserId(organization.getId(), userId)).thenReturn(Optional.of(organization));
+        when(repository.getReferenceById(organization.getId())).thenReturn(reference);
+
+        OrganizationEntity first = ownership.requireOwned(userId, organization.getId());
+        OrganizationEntity second = ownership.requireOwned(userId, organization.getId());
+
+        assertThat(first).isSameAs(organization);
+        assertThat(second).isSameAs(reference);
+        assertThat(ownership.getMisses()).isEqualTo(1);
+        assertThat(ownership.getHits()).isEqualTo(1);
+        verify(repository, times(1)).findByIdAndUserId(organization.getId(), userId);
+    }
+
+    @Test
+    @DisplayName("Should not cache organizations the user does not own")
+    void shouldNotCacheMisses() {
+        UUID orgId = UUID.randomUUID();
+        when(repository.findByIdAndUserId(orgId, userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownership.requireOwned(userId, orgId))
+                .isInstanceOf(OrganizationNotFoundException.class);
+        assertThatThrownBy(() -> ownership.requireOwned(userId, orgId))
+                .isInstanceOf(OrganizationNotFoundException.class);
+
+        verify(repository, times(2)).findByIdAndUserId(orgId, userId);
+        verify(repository, never()).getReferenceById(any());
+    }
+
+    @Test
+    @DisplayName("Should go back to the database after invalidation")
+    void shouldReloadAfterInvalidate() {
+        OrganizationEntity organization = organization();
+        when(repository.findByIdAndUserId(organization.getId(), userId)).thenReturn(Optional.of(organization));
+
+        ownership.requireOwned(userId, organization.getId());
+        ownership.invalidate(userId, organization.getId());
+        ownership.requireOwned(userId, organization.getId());
+
+        verify(repository, times(2)).findByIdAndUserId(organization.getId(), userId);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used pair when full")
+    void shouldEvictLeastRecentlyUsed() {
+        OrganizationEntity a = organization();
+        OrganizationEntity b = organization();
+        OrganizationEntity c = organization();
+        for (OrganizationEntity org : new OrganizationEntity[] { a, b, c }) {
+            when(repository.findByIdAndUserId(org.getId(), userId)).thenReturn(Optional.of(org));
+        }
+
+        ownership.requireOwned(userId, a.getId());
+        ownership.requireOwned(userId, b.getId());
+        ownership.requireOwned(userId, c.getId());
+
+        assertThat(ownership.getEvictions()).isEqualTo(1);
+        ownership.requireOwned(userId, a.getId());
+        verify(repository, times(2)).findByIdAndUserId(a.getId(), userId);
+    }
+
+    private OrganizationEntity organization() {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(UUID.randomUUID());
+        return organization;
+    }
+}
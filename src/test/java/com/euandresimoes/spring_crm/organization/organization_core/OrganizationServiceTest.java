@@ -3,6 +3,7 @@ package com.euandresimoes.spring_crm.organization.organization_core;
 import com.euandresimoes.spring_crm.organization.organization_core.dto.CreateOrganizationCommand;
 import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationResponse;
 import com.euandresimoes.spring_crm.organization.organization_core.dto.UpdateOrganizationCommand;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
 import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +29,15 @@ class OrganizationServiceTest {
     @Mock
     private OrganizationRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    @Mock
+    private OrganizationChangeVersions changeVersions;
+
     @InjectMocks
     private OrganizationService organizationService;
 
@@ -48,6 +59,7 @@ class OrganizationServiceTest {
         assertThat(response.id()).isEqualTo(savedOrganization.getId());
         assertThat(response.name()).isEqualTo(organizationName);
         verify(repository).save(any(OrganizationEntity.class));
+        verify(events).publishEvent(new OrganizationCreatedEvent(savedOrganization.getId(), userId));
     }
 
     @Test
@@ -55,10 +67,13 @@ class OrganizationServiceTest {
     void shouldDeleteOrganizationSuccessfully() {
         UUID userId = UUID.randomUUID();
         UUID orgId = UUID.randomUUID();
+        when(repository.deleteByIdAndUserId(orgId, userId)).thenReturn(1);
 
-        organizationService.deleteOrganization(userId, orgId);
+        int deleted = organizationService.deleteOrganization(userId, orgId);
 
+        assertThat(deleted).isEqualTo(1);
         verify(repository).deleteByIdAndUserId(orgId, userId);
+        verify(ownership).invalidate(userId, orgId);
     }
 
     @Test
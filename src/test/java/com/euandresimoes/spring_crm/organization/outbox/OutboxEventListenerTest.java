@@ -0,0 +1,126 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import com.euandresimoes.spring_crm.organization.clients.ClientEntity;
+import com.euandresimoes.spring_crm.organization.clients.ClientRepository;
+import com.euandresimoes.spring_crm.organization.clients.ClientService;
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
+import com.euandresimoes.spring_crm.organization.clients.dto.PatchClientCommand;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.organization.transactions.TransactionEntity;
+import com.euandresimoes.spring_crm.organization.transactions.TransactionRepository;
+import com.euandresimoes.spring_crm.organization.transactions.TransactionService;
+import com.euandresimoes.spring_crm.organization.transactions.TransactionType;
+import com.euandresimoes.spring_crm.organization.transactions.dto.PatchTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the OutboxEventListener, fed by real service writes against the
+ * embedded H2 database.
+ */
+@DataJpaTest
+class OutboxEventListenerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private ClientRepository clientRepo;
+
+    @Autowired
+    private TransactionRepository transactionRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ClientService clientService;
+    private TransactionService transactionService;
+
+    private final UUID userId = UUID.randomUUID();
+    private OrganizationEntity organization;
+
+    @BeforeEach
+    void setUp() {
+        OutboxEventListener listener = new OutboxEventListener(
+                new OutboxWriter(jdbcTemplate, new ObjectMapper().findAndRegisterModules()));
+        ApplicationEventPublisher events = event -> {
+            if (event instanceof ClientsChangedEvent clients) {
+                listener.onClientsChanged(clients);
+            } else if (event instanceof TransactionsChangedEvent transactions) {
+                listener.onTransactionsChanged(transactions);
+            }
+        };
+        OrganizationChangeVersions changeVersions = new OrganizationChangeVersions(jdbcTemplate,
+                ShardTopology.single(jdbcTemplate.getDataSource()));
+        OrganizationOwnership ownership = mock(OrganizationOwnership.class);
+        clientService = new ClientService(clientRepo, ownership, events, namedJdbcTemplate, changeVersions);
+        transactionService = new TransactionService(transactionRepo, ownership, events, namedJdbcTemplate,
+                changeVersions);
+
+        organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+    }
+
+    @Test
+    @DisplayName("Should record an outbox event for a client PATCH of the description only")
+    void shouldRecordDescriptionOnlyClientPatch() {
+        ClientEntity client = clientRepo.save(new ClientEntity(organization, userId, "Client One", null,
+                "client@example.com", null, null, ClientStatus.ACTIVE));
+        entityManager.flush();
+
+        clientService.patchClient(userId, organization.getId(), client.getId(),
+                new PatchClientCommand(client.getVersion(), null, "New description", null, null, null, null));
+
+        assertThat(outboxEvents()).singleElement().satisfies(row -> {
+            assertThat(row.get("event_type")).isEqualTo("client.updated");
+            assertThat(row.get("aggregate_id")).isEqualTo(client.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("Should record an outbox event for a transaction PATCH of the description only")
+    void shouldRecordDescriptionOnlyTransactionPatch() {
+        TransactionEntity transaction = transactionRepo.save(new TransactionEntity(organization, userId, "Sale",
+                new BigDecimal("10.00"), TransactionType.INCOME));
+        entityManager.flush();
+
+        transactionService.patchTransaction(userId, organization.getId(), transaction.getId(),
+                new PatchTransactionCommand(transaction.getVersion(), "Refund", null, null));
+
+        assertThat(outboxEvents()).singleElement().satisfies(row -> {
+            assertThat(row.get("event_type")).isEqualTo("transaction.updated");
+            assertThat(row.get("aggregate_id")).isEqualTo(transaction.getId());
+        });
+    }
+
+    private List<Map<String, Object>> outboxEvents() {
+        return jdbcTemplate.queryForList("SELECT event_type, aggregate_id FROM organization.outbox_events");
+    }
+}
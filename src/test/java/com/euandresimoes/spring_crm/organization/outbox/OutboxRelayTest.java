@@ -0,0 +1,117 @@
+package com.euandresimoes.spring_crm.organization.outbox;
+
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationDeletedEvent;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Relay tests for the OutboxRelay.
+ * Runs the outbox SQL against the embedded H2 database; the broker is a mocked
+ * RabbitTemplate whose channel operations are recorded.
+ */
+@DataJpaTest
+class OutboxRelayTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxEventListener listener;
+    private OutboxRelay relay;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        listener = new OutboxEventListener(new OutboxWriter(jdbcTemplate, new ObjectMapper().findAndRegisterModules()));
+        relay = new OutboxRelay(namedJdbcTemplate, ShardTopology.single(jdbcTemplate.getDataSource()), rabbitTemplate,
+                meterRegistry, Clock.systemUTC(), "crm.events", 2, Duration.ofMinutes(1), Duration.ofSeconds(5),
+                Duration.ofHours(24));
+        when(rabbitTemplate.invoke(ArgumentMatchers.<RabbitOperations.OperationsCallback<Object>>any()))
+                .thenAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0)
+                        .doInRabbit(operations));
+    }
+
+    @Test
+    @DisplayName("Should publish pending events in confirmed batches and mark them sent")
+    void shouldRelayInConfirmedBatches() {
+        ClientSnapshot snapshot = new ClientSnapshot("Client", "client@example.com", ClientStatus.ACTIVE);
+        listener.onClientsChanged(new ClientsChangedEvent(orgId, userId, List.of(
+                ClientChange.created(UUID.randomUUID(), snapshot),
+                ClientChange.deleted(UUID.randomUUID(), snapshot))));
+        listener.onOrganizationDeleted(new OrganizationDeletedEvent(orgId, userId));
+
+        relay.drain();
+
+        ArgumentCaptor<String> routingKeys = ArgumentCaptor.forClass(String.class);
+        verify(operations, times(3)).send(eq("crm.events"), routingKeys.capture(), any(Message.class));
+        assertThat(routingKeys.getAllValues())
+                .containsExactly("client.created", "client.deleted", "organization.deleted");
+        // Batch size 2: one full batch plus the remainder, one confirm wait each
+        verify(operations, times(2)).waitForConfirmsOrDie(anyLong());
+        assertThat(pendingCount()).isZero();
+        assertThat(meterRegistry.counter("outbox.relay.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should release a batch the broker did not confirm so it is retried")
+    void shouldReleaseUnconfirmedBatch() {
+        listener.onOrganizationDeleted(new OrganizationDeletedEvent(orgId, userId));
+        doThrow(new AmqpTimeoutException("no confirm")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        int relayed = relay.relayBatch();
+
+        assertThat(relayed).isEqualTo(-1);
+        assertThat(pendingCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM organization.outbox_events WHERE claim_token IS NOT NULL", Long.class))
+                .isZero();
+        assertThat(meterRegistry.counter("outbox.relay.failures").count()).isEqualTo(1);
+
+        doNothing().when(operations).waitForConfirmsOrDie(anyLong());
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        verify(operations, times(2)).send(anyString(), eq("organization.deleted"), any(Message.class));
+    }
+
+    private long pendingCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM organization.outbox_events WHERE sent_at IS NULL", Long.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.euandresimoes.spring_crm.organization.sharding;
+
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.sharding.dto.ShardMoveResponse;
+import com.euandresimoes.spring_crm.organization.sharding.exception.InvalidShardMoveException;
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the OrganizationShardMover, moving organizations between two
+ * separate in-memory H2 databases with the Flyway migrations applied to each.
+ */
+class OrganizationShardMoverTest {
+
+    private static final String TARGET = "shard-b";
+
+    private ShardTopology topology;
+    private ShardDirectory directory;
+    private OrganizationShardMover mover;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID organizationId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (String shard : List.of(ShardTopology.HOME, TARGET)) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:" + shard + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+            dataSources.put(shard, dataSource);
+        }
+        topology = new ShardTopology(dataSources);
+        directory = new ShardDirectory(topology, Duration.ZERO, 100);
+        // Chunks of two, so the copy takes several rounds
+        mover = new OrganizationShardMover(topology, directory, Duration.ZERO, 2);
+
+        JdbcTemplate home = jdbc(ShardTopology.HOME);
+        home.update("INSERT INTO organization.organizations (id, user_id, name) VALUES (?, ?, ?)",
+                organizationId, userId, "Organization");
+        directory.onOrganizationCreated(new OrganizationCreatedEvent(organizationId, userId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        topology.names().forEach(shard -> jdbc(shard).execute("SHUTDOWN"));
+    }
+
+    @Test
+    @DisplayName("Should copy the organization with its rows to the target, repoint the directory and clear the source")
+    void shouldMoveOrganization() {
+        JdbcTemplate home = jdbc(ShardTopology.HOME);
+        for (int i = 0; i < 5; i++) {
+            home.update("""
+                    INSERT INTO organization.clients (id, organization_id, user_id, name, status, updated_at)
+                    VALUES (?, ?, ?, ?, 'ACTIVE', ?)
+                    """, UUID.randomUUID(), organizationId, userId, "Client " + i, now());
+        }
+        for (int i = 0; i < 3; i++) {
+            home.update("""
+                    INSERT INTO organization.transactions
+                        (id, organization_id, user_id, description, amount, type, updated_at)
+                    VALUES (?, ?, ?, ?, ?, 'INCOME', ?)
+                    """, UUID.randomUUID(), organizationId, userId, "Invoice " + i, new BigDecimal("10.00"), now());
+        }
+        home.update("""
+                INSERT INTO organization.transaction_totals (organization_id, type, total, tx_count)
+                VALUES (?, 'INCOME', 30.00, 3)
+                """, organizationId);
+        home.update("""
+                INSERT INTO organization.idempotency_keys
+                    (user_id, scope, idempotency_key, request_hash, status, response, created_at, expires_at)
+                VALUES (?, ?, 'key-1', 'hash', 'COMPLETED', '{}', ?, ?)
+                """, userId, "client.create:" + organizationId, now(), now());
+
+        ShardMoveResponse response = mover.move(organizationId, TARGET);
+
+        assertThat(response.source()).isEqualTo(ShardTopology.HOME);
+        assertThat(response.target()).isEqualTo(TARGET);
+        assertThat(directory.lookup(organizationId)).isEqualTo(new ShardDirectory.Placement(TARGET, false));
+
+        JdbcTemplate target = jdbc(TARGET);
+        assertThat(count(target, "organization.organizations", "id")).isEqualTo(1);
+        assertThat(count(target, "organization.clients", "organization_id")).isEqualTo(5);
+        assertThat(count(target, "organization.transactions", "organization_id")).isEqualTo(3);
+        assertThat(target.queryForObject(
+                "SELECT total FROM organization.transaction_totals WHERE organization_id = ? AND type = 'INCOME'",
+                BigDecimal.class, organizationId)).isEqualByComparingTo("30.00");
+        assertThat(target.queryForObject("SELECT COUNT(*) FROM organization.idempotency_keys WHERE user_id = ?",
+                Integer.class, userId)).isEqualTo(1);
+
+        assertThat(count(home, "organization.organizations", "id")).isZero();
+        assertThat(count(home, "organization.clients", "organization_id")).isZero();
+        assertThat(count(home, "organization.transactions", "organization_id")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop rows deleted since the copy started from the target")
+    void shouldApplyDeletionsRecordedAsTombstones() {
+        JdbcTemplate home = jdbc(ShardTopology.HOME);
+        UUID deletedId = UUID.randomUUID();
+        // Already copied by an earlier, interrupted attempt and deleted on the source since
+        jdbc(TARGET).update("INSERT INTO organization.organizations (id, user_id, name) VALUES (?, ?, ?)",
+                organizationId, userId, "Organization");
+        jdbc(TARGET).update("""
+                INSERT INTO organization.clients (id, organization_id, user_id, name, status, updated_at)
+                VALUES (?, ?, ?, 'Gone', 'ACTIVE', ?)
+                """, deletedId, organizationId, userId, now());
+        home.update("""
+                INSERT INTO organization.sync_tombstones (entity_type, entity_id, organization_id, user_id, deleted_at)
+                VALUES ('CLIENT', ?, ?, ?, ?)
+                """, deletedId, organizationId, userId, now().plusSeconds(1));
+
+        mover.move(organizationId, TARGET);
+
+        assertThat(count(jdbc(TARGET), "organization.clients", "organization_id")).isZero();
+        assertThat(count(jdbc(TARGET), "organization.sync_tombstones", "organization_id")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a move to an unknown shard or to the shard the organization is on")
+    void shouldRejectInvalidTarget() {
+        assertThatThrownBy(() -> mover.move(organizationId, "shard-x"))
+                .isInstanceOf(InvalidShardMoveException.class);
+        assertThatThrownBy(() -> mover.move(organizationId, ShardTopology.HOME))
+                .isInstanceOf(InvalidShardMoveException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start a second move of an organization that is being moved")
+    void shouldRejectConcurrentMove() {
+        directory.markMoving(organizationId, ShardTopology.HOME);
+
+        assertThatThrownBy(() -> mover.move(organizationId, TARGET))
+                .isInstanceOf(OrganizationMovingException.class);
+        assertThat(count(jdbc(TARGET), "organization.organizations", "id")).isZero();
+    }
+
+    private int count(JdbcTemplate jdbcTemplate, String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?",
+                Integer.class, organizationId);
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(topology.dataSource(shard));
+    }
+
+    private static OffsetDateTime now() {
+        return Instant.now().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,69 @@
+package com.euandresimoes.spring_crm.organization.sharding;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationService;
+import com.euandresimoes.spring_crm.organization.organization_core.dto.OrganizationResponse;
+import com.euandresimoes.spring_crm.shared.security.JwtService;
+import com.euandresimoes.spring_crm.shared.sharding.ShardContext;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end test of the organization listing over a home database and a
+ * second shard, both in-memory H2, through the web layer and JPA.
+ */
+@SpringBootTest(properties = {
+        "security.jwt.secret=test-secret-key-for-jwt",
+        "sharding.enabled=true"
+})
+@AutoConfigureMockMvc
+class ShardedOrganizationListingTest {
+
+    private static final String SHARD = "shard-b";
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:mem:home-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        registry.add("sharding.shards",
+                () -> SHARD + "=jdbc:h2:mem:" + SHARD + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("Should list a user's organizations from every shard in one request")
+    void shouldListOrganizationsAcrossShards() throws Exception {
+        UUID userId = UUID.randomUUID();
+        OrganizationResponse onHome = ShardContext.call(ShardTopology.HOME,
+                () -> organizationService.createOrganization(userId, "Home"));
+        OrganizationResponse onShard = ShardContext.call(SHARD,
+                () -> organizationService.createOrganization(userId, "Shard"));
+
+        mockMvc.perform(get("/api/v1/organization/find/all")
+                        .header("Authorization", "Bearer " + jwtService.generate(userId.toString(), "USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id").value(containsInAnyOrder(
+                        onHome.id().toString(), onShard.id().toString())));
+    }
+}
@@ -0,0 +1,185 @@
+package com.euandresimoes.spring_crm.organization.summary;
+
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.organization.summary.dto.OrganizationSummaryResponse;
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the OrganizationSummaryService.
+ * Runs the summary query against the embedded H2 database with the Flyway
+ * migrations applied.
+ */
+@DataJpaTest
+class OrganizationSummaryServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private OrganizationSummaryService summaryService;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+    private final UUID userId = UUID.randomUUID();
+    private OrganizationEntity organization;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new OrganizationSummaryService(
+                jdbcTemplate,
+                new ShardDirectory(ShardTopology.single(jdbcTemplate.getDataSource()), Duration.ofSeconds(5), 100),
+                Duration.ofSeconds(30),
+                100,
+                new SimpleMeterRegistry(),
+                clock);
+        organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+        organizationRepo.save(new OrganizationEntity(UUID.randomUUID(), "Someone else's"));
+        entityManager.flush();
+
+        insertClientCount(organization.getId(), "ACTIVE", 3);
+        insertClientCount(organization.getId(), "BLOCKED", 1);
+        insertTotal(organization.getId(), "INCOME", "1500.00", 4);
+        insertTotal(organization.getId(), "EXPENSE", "400.50", 2);
+    }
+
+    @Test
+    @DisplayName("Should summarize every organization of the user from the counter tables")
+    void shouldSummarizeOrganizations() {
+        OrganizationEntity empty = organizationRepo.save(new OrganizationEntity(userId, "Empty"));
+        entityManager.flush();
+
+        List<OrganizationSummaryResponse> summary = summaryService.summary(userId);
+
+        assertThat(summary).extracting(OrganizationSummaryResponse::id)
+                .containsExactlyInAnyOrder(organization.getId(), empty.getId());
+        OrganizationSummaryResponse first = summary.stream()
+                .filter(row -> row.id().equals(organization.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(first.clientCount()).isEqualTo(4);
+        assertThat(first.transactionCount()).isEqualTo(6);
+        assertThat(first.netBalance()).isEqualByComparingTo(new BigDecimal("1099.50"));
+        OrganizationSummaryResponse second = summary.stream()
+                .filter(row -> row.id().equals(empty.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(second.clientCount()).isZero();
+        assertThat(second.netBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should serve the cached summary until a write of the user invalidates it")
+    void shouldInvalidateOnWrite() {
+        summaryService.summary(userId);
+        addToTotal(organization.getId(), "INCOME", "100.00");
+
+        assertThat(summaryService.summary(userId).get(0).transactionCount()).isEqualTo(6);
+        assertThat(summaryService.getHits()).isEqualTo(1);
+
+        summaryService.onClientsChanged(new ClientsChangedEvent(organization.getId(), userId, List.of()));
+
+        assertThat(summaryService.summary(userId).get(0).transactionCount()).isEqualTo(7);
+        assertThat(summaryService.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the cached summary of a user whose data did not change")
+    void shouldKeepOtherUsersCached() {
+        summaryService.summary(userId);
+
+        summaryService.onClientsChanged(new ClientsChangedEvent(UUID.randomUUID(), UUID.randomUUID(), List.of()));
+        summaryService.summary(userId);
+
+        assertThat(summaryService.getHits()).isEqualTo(1);
+        assertThat(summaryService.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload the summary once the entry expires, catching writes made elsewhere")
+    void shouldExpireCachedSummary() {
+        summaryService.summary(userId);
+        addToTotal(organization.getId(), "INCOME", "100.00");
+
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(summaryService.summary(userId).get(0).transactionCount()).isEqualTo(6);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(summaryService.summary(userId).get(0).transactionCount()).isEqualTo(7);
+        assertThat(summaryService.getMisses()).isEqualTo(2);
+    }
+
+    private void insertClientCount(UUID organizationId, String status, long count) {
+        jdbcTemplate.update("""
+                INSERT INTO organization.client_status_counts (organization_id, status, client_count)
+                VALUES (?, ?, ?)
+                """, organizationId, status, count);
+    }
+
+    private void insertTotal(UUID organizationId, String type, String total, long count) {
+        jdbcTemplate.update("""
+                INSERT INTO organization.transaction_totals (organization_id, type, total, tx_count)
+                VALUES (?, ?, ?, ?)
+                """, organizationId, type, new BigDecimal(total), count);
+    }
+
+    private void addToTotal(UUID organizationId, String type, String amount) {
+        jdbcTemplate.update("""
+                UPDATE organization.transaction_totals SET total = total + ?, tx_count = tx_count + 1
+                WHERE organization_id = ? AND type = ?
+                """, new BigDecimal(amount), organizationId, type);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.euandresimoes.spring_crm.organization.sync;
+
+import com.euandresimoes.spring_crm.organization.clients.ClientEntity;
+import com.euandresimoes.spring_crm.organization.clients.ClientRepository;
+import com.euandresimoes.spring_crm.organization.clients.ClientStatus;
+import com.euandresimoes.spring_crm.organization.clients.dto.ClientResponse;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientChange;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientSnapshot;
+import com.euandresimoes.spring_crm.organization.clients.event.ClientsChangedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.organization.sync.dto.SyncResponse;
+import com.euandresimoes.spring_crm.organization.sync.exception.SyncCursorExpiredException;
+import com.euandresimoes.spring_crm.shared.sharding.ShardingConfig;
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Change feed tests for the SyncService.
+ * Runs against the embedded H2 database with the Flyway migrations applied.
+ */
+@DataJpaTest(properties = "sync.settle-window=0s")
+@Import({SyncService.class, SyncTombstoneWriter.class, ShardingConfig.class})
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private SyncTombstoneWriter tombstoneWriter;
+
+    @Autowired
+    private ClientRepository clientRepo;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private OrganizationEntity organization;
+    private final List<ClientEntity> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+        for (int i = 0; i < 3; i++) {
+            clients.add(clientRepo.save(new ClientEntity(organization, userId, "Client " + i, null,
+                    "client" + i + "@example.com", null, null, ClientStatus.ACTIVE)));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should page through an initial sync and then report nothing new")
+    void shouldPageInitialSync() {
+        SyncResponse first = syncService.changesSince(userId, organization.getId(), null, 2);
+        SyncResponse second = syncService.changesSince(userId, organization.getId(), first.nextCursor(), 2);
+        SyncResponse third = syncService.changesSince(userId, organization.getId(), second.nextCursor(), 2);
+
+        assertThat(first.clients()).hasSize(2);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.clients()).hasSize(1);
+        assertThat(second.hasMore()).isFalse();
+        assertThat(third.clients()).isEmpty();
+        assertThat(third.deleted()).isEmpty();
+        assertThat(first.clients()).extracting(ClientResponse::id)
+                .doesNotContainAnyElementsOf(second.clients().stream().map(ClientResponse::id).toList());
+    }
+
+    @Test
+    @DisplayName("Should return only the rows updated and the tombstones recorded since the cursor")
+    void shouldReturnChangesSinceCursor() {
+        String cursor = syncService.changesSince(userId, organization.getId(), null, 10).nextCursor();
+
+        ClientEntity updated = clients.get(0);
+        updated.setName("Renamed");
+        ClientEntity deleted = clients.get(1);
+        clientRepo.delete(deleted);
+        tombstoneWriter.onClientsChanged(ClientsChangedEvent.of(organization.getId(), userId,
+                ClientChange.deleted(deleted.getId(), ClientSnapshot.from(deleted))));
+        entityManager.flush();
+
+        SyncResponse changes = syncService.changesSince(userId, organization.getId(), cursor, 10);
+
+        assertThat(changes.clients()).extracting(ClientResponse::name).containsExactly("Renamed");
+        assertThat(changes.deleted()).singleElement().satisfies(tombstone -> {
+            assertThat(tombstone.type()).isEqualTo(SyncEntityType.CLIENT);
+            assertThat(tombstone.id()).isEqualTo(deleted.getId());
+        });
+        assertThat(changes.transactions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor older than the tombstone retention")
+    void shouldRejectExpiredCursor() {
+        KeysetCursor start = new KeysetCursor(Instant.EPOCH, new UUID(0, 0));
+        String cursor = new SyncCursor(start, start,
+                new KeysetCursor(Instant.now().minus(Duration.ofDays(60)), new UUID(0, 0))).encode();
+
+        assertThatThrownBy(() -> syncService.changesSince(userId, organization.getId(), cursor, 10))
+                .isInstanceOf(SyncCursorExpiredException.class);
+    }
+}
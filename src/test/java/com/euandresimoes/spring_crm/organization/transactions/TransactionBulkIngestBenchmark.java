@@ -0,0 +1,105 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rows per second of the streaming bulk ingestion against saving one entity
+ * per item, both on the embedded H2 database. Change listeners are left out,
+ * so only the write path is measured. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+class TransactionBulkIngestBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepo;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+    private OrganizationEntity organization;
+    private TransactionBulkService bulkService;
+
+    @Test
+    @DisplayName("Should ingest a bulk NDJSON stream faster than saving the items one by one")
+    void compareBulkIngestWithEntitySaves() throws Exception {
+        userId = UUID.randomUUID();
+        organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+        OrganizationOwnership ownership = mock(OrganizationOwnership.class);
+        when(ownership.requireOwned(userId, organization.getId())).thenReturn(organization);
+        TransactionBatchWriter batchWriter = new TransactionBatchWriter(jdbcTemplate, event -> {
+        }, new OrganizationChangeVersions(jdbcTemplate, ShardTopology.single(jdbcTemplate.getDataSource())));
+        bulkService = new TransactionBulkService(batchWriter, ownership, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 500);
+
+        // Warm up both paths before measuring
+        saveEntities(ROWS / 10);
+        ingest(ROWS / 10);
+
+        double entityRowsPerSecond = saveEntities(ROWS);
+        double bulkRowsPerSecond = ingest(ROWS);
+
+        System.out.printf("entity saves: %,d rows, %,.0f rows/s%n", ROWS, entityRowsPerSecond);
+        System.out.printf("bulk ingest:  %,d rows, %,.0f rows/s%n", ROWS, bulkRowsPerSecond);
+        assertThat(bulkRowsPerSecond).isGreaterThan(entityRowsPerSecond);
+    }
+
+    private double saveEntities(int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            transactionRepo.save(new TransactionEntity(organization, userId, "Item " + i, new BigDecimal("10.00"),
+                    TransactionType.INCOME));
+        }
+        entityManager.flush();
+        double rowsPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+        entityManager.clear();
+        return rowsPerSecond;
+    }
+
+    private double ingest(int rows) throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            ndjson.append("{\"description\": \"Item ").append(i)
+                    .append("\", \"amount\": 10.00, \"type\": \"INCOME\"}\n");
+        }
+        byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        int inserted = bulkService.ingest(userId, organization.getId(), new ByteArrayInputStream(body)).inserted();
+        double rowsPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+        assertThat(inserted).isEqualTo(rows);
+        return rowsPerSecond;
+    }
+}
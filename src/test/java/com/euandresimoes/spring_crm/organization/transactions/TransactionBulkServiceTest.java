@@ -0,0 +1,145 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BulkIngestResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TransactionBulkService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionBulkServiceTest {
+
+    @Mock
+    private TransactionBatchWriter batchWriter;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    private TransactionBulkService bulkService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new TransactionBulkService(
+                batchWriter,
+                ownership,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2);
+    }
+
+    @Test
+    @DisplayName("Should insert valid items of a JSON array in batches and report invalid ones by index")
+    void shouldIngestJsonArray() throws Exception {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
+
+        String body = """
+                [
+                  {"description": "Rent", "amount": 1500.00, "type": "EXPENSE"},
+                  {"description": "", "amount": 10.00, "type": "INCOME"},
+                  {"description": "Invoice 42", "amount": 900.00, "type": "INCOME"},
+                  {"description": "Coffee", "amount": 4.50, "type": "EXPENSE"}
+                ]
+                """;
+
+        BulkIngestResponse response = bulkService.ingest(userId, orgId, stream(body));
+
+        assertThat(response.received()).isEqualTo(4);
+        assertThat(response.inserted()).isEqualTo(3);
+        assertThat(response.errors()).singleElement()
+                .satisfies(error -> assertThat(error.index()).isEqualTo(1));
+        // Batch size 2: one full batch plus the remainder
+        verify(batchWriter, times(2)).insert(anyList());
+        verify(ownership, times(1)).requireOwned(userId, orgId);
+    }
+
+    @Test
+    @DisplayName("Should accept newline-delimited JSON and report malformed items")
+    void shouldIngestNdjson() throws Exception {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
+
+        String body = """
+                {"description": "Rent", "amount": 1500.00, "type": "EXPENSE"}
+                {"description": "Refund", "amount": 20.00, "type": "NOT_A_TYPE"}
+                """;
+
+        BulkIngestResponse response = bulkService.ingest(userId, orgId, stream(body));
+
+        assertThat(response.received()).isEqualTo(2);
+        assertThat(response.inserted()).isEqualTo(1);
+        assertThat(response.errors()).extracting("index").containsExactly(1);
+        verify(batchWriter).insert(argThat((List<TransactionRow> rows) -> rows.size() == 1
+                && rows.get(0).organizationId().equals(orgId)));
+    }
+
+    @Test
+    @DisplayName("Should keep the batches before malformed JSON and report where the stream broke")
+    void shouldStopAtMalformedJson() throws Exception {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
+
+        String body = """
+                [
+                  {"description": "Rent", "amount": 1500.00, "type": "EXPENSE"},
+                  {"description": "Invoice 42", "amount": 900.00, "type": "INCOME"},
+                  {"description": "Coffee", "amount": 4.50, "type": "EXPENSE"},
+                  {"description": "Broken", "amount": 1.00, "type": },
+                  {"description": "Never read", "amount": 2.00, "type": "INCOME"}
+                ]
+                """;
+
+        BulkIngestResponse response = bulkService.ingest(userId, orgId, stream(body));
+
+        assertThat(response.received()).isEqualTo(3);
+        assertThat(response.inserted()).isEqualTo(3);
+        assertThat(response.errors()).singleElement().satisfies(error -> {
+            assertThat(error.index()).isEqualTo(3);
+            assertThat(error.message()).startsWith("Malformed input at line 5");
+        });
+        // The full first batch and the remainder read before the break
+        verify(batchWriter, times(2)).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole request when the organization is not owned by the user")
+    void shouldRejectUnknownOrganization() {
+        when(ownership.requireOwned(userId, orgId)).thenThrow(new OrganizationNotFoundException(orgId));
+
+        assertThatThrownBy(() -> bulkService.ingest(userId, orgId, stream("[]")))
+                .isInstanceOf(OrganizationNotFoundException.class);
+
+        verify(batchWriter, never()).insert(anyList());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Export tests for the TransactionExportService.
+ * Streams rows from the embedded H2 database into an in-memory buffer.
+ */
+@DataJpaTest
+class TransactionExportServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TransactionExportService exportService;
+
+    private final UUID userId = UUID.randomUUID();
+    private OrganizationEntity organization;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TransactionExportService(dataSource, transactionManager,
+                mock(OrganizationOwnership.class), objectMapper, 2);
+        organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields containing commas, quotes or line breaks")
+    void shouldEscapeCsvFields() throws IOException {
+        UUID plain = insert("Rent", "2026-01-01T10:00:00Z");
+        UUID comma = insert("Rent, January", "2026-01-02T10:00:00Z");
+        UUID quote = insert("The \"big\" sale", "2026-01-03T10:00:00Z");
+        UUID newline = insert("Line one\nLine two", "2026-01-04T10:00:00Z");
+
+        String csv = export(ExportFormat.CSV, null, null);
+
+        assertThat(csv).isEqualTo("""
+                id,description,amount,type,created_at,updated_at
+                %s,Rent,10.00,INCOME,2026-01-01T10:00:00Z,2026-01-01T10:00:00Z
+                %s,"Rent, January",10.00,INCOME,2026-01-02T10:00:00Z,2026-01-02T10:00:00Z
+                %s,"The ""big"" sale",10.00,INCOME,2026-01-03T10:00:00Z,2026-01-03T10:00:00Z
+                %s,"Line one
+                Line two",10.00,INCOME,2026-01-04T10:00:00Z,2026-01-04T10:00:00Z
+                """.formatted(plain, comma, quote, newline));
+    }
+
+    @Test
+    @DisplayName("Should export only transactions created from the lower bound up to, not including, the upper one")
+    void shouldApplyCreatedAtBounds() throws IOException {
+        insert("Before", "2026-01-31T23:59:59Z");
+        UUID atFrom = insert("At from", "2026-02-01T00:00:00Z");
+        UUID inside = insert("Inside", "2026-02-15T12:00:00Z");
+        insert("At to", "2026-03-01T00:00:00Z");
+
+        String csv = export(ExportFormat.CSV, Instant.parse("2026-02-01T00:00:00Z"),
+                Instant.parse("2026-03-01T00:00:00Z"));
+
+        assertThat(csv.lines().skip(1)).extracting(line -> line.substring(0, line.indexOf(',')))
+                .containsExactly(atFrom.toString(), inside.toString());
+        assertThat(export(ExportFormat.CSV, null, Instant.parse("2026-02-01T00:00:00Z")).lines()).hasSize(2);
+        assertThat(export(ExportFormat.CSV, Instant.parse("2026-02-15T12:00:00Z"), null).lines()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line without a header for NDJSON")
+    void shouldWriteNdjson() throws IOException {
+        UUID first = insert("Rent, January", "2026-01-01T10:00:00Z");
+        UUID second = insert("Coffee", "2026-01-02T10:00:00Z");
+
+        String ndjson = export(ExportFormat.NDJSON, null, null);
+
+        assertThat(ndjson.lines()).hasSize(2);
+        JsonNode row = objectMapper.readTree(ndjson.lines().findFirst().orElseThrow());
+        assertThat(row.get("id").asText()).isEqualTo(first.toString());
+        assertThat(row.get("description").asText()).isEqualTo("Rent, January");
+        assertThat(row.get("type").asText()).isEqualTo("INCOME");
+        assertThat(objectMapper.readTree(ndjson.lines().skip(1).findFirst().orElseThrow()).get("id").asText())
+                .isEqualTo(second.toString());
+    }
+
+    @Test
+    @DisplayName("Should gzip the export when asked to")
+    void shouldGzipExport() throws IOException {
+        insert("Rent", "2026-01-01T10:00:00Z");
+        insert("Coffee", "2026-01-02T10:00:00Z");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(userId, organization.getId(), ExportFormat.CSV, null, null, true, out);
+
+        byte[] unzipped;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            unzipped = in.readAllBytes();
+        }
+        assertThat(new String(unzipped, StandardCharsets.UTF_8)).isEqualTo(export(ExportFormat.CSV, null, null));
+    }
+
+    private String export(ExportFormat format, Instant from, Instant to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(userId, organization.getId(), format, from, to, false, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private UUID insert(String description, String createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO organization.transactions
+                    (id, organization_id, user_id, description, amount, type, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, id, organization.getId(), userId, description, new BigDecimal("10.00"), "INCOME",
+                Instant.parse(createdAt).atOffset(ZoneOffset.UTC), Instant.parse(createdAt).atOffset(ZoneOffset.UTC));
+        return id;
+    }
+}
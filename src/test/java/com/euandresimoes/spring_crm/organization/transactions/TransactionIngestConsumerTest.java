@@ -0,0 +1,110 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardDirectory;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TransactionIngestConsumer.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionIngestConsumerTest {
+
+    @Mock
+    private TransactionBatchWriter batchWriter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransactionIngestConsumer consumer;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ShardTopology topology = ShardTopology.single(mock(DataSource.class));
+        consumer = new TransactionIngestConsumer(batchWriter, jdbcTemplate, topology,
+                new ShardDirectory(topology, Duration.ofSeconds(5), 100), objectMapper, meterRegistry,
+                Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should persist a whole batch with one insert and record its latency")
+    void shouldPersistBatchWithOneInsert() throws Exception {
+        consumer.onBatch(List.of(message(ingest("Rent")), message(ingest("Invoice 42"))));
+
+        verify(batchWriter).insert(argThat((List<TransactionRow> rows) -> rows.size() == 2
+                && rows.get(0).organizationId().equals(orgId)));
+        assertThat(meterRegistry.counter("transactions.ingest.persisted").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer("transactions.ingest.latency").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row, skipping redelivered rows and recording failures")
+    void shouldRetryFailedBatchRowByRow() throws Exception {
+        TransactionIngestMessage redelivered = ingest("Already stored");
+        TransactionIngestMessage orphan = ingest("Organization gone");
+        TransactionIngestMessage fresh = ingest("Fresh");
+        lenient().doThrow(new DuplicateKeyException("duplicate")).when(batchWriter)
+                .insert(argThat(rows -> rows.size() == 3));
+        lenient().doThrow(new DuplicateKeyException("duplicate")).when(batchWriter)
+                .insert(List.of(redelivered.toRow()));
+        lenient().doThrow(new DataIntegrityViolationException("fk_transactions_organization")).when(batchWriter)
+                .insert(List.of(orphan.toRow()));
+
+        consumer.onBatch(List.of(message(redelivered), message(orphan), message(fresh)));
+
+        verify(batchWriter).insert(List.of(fresh.toRow()));
+        verify(jdbcTemplate).update(anyString(), eq(orphan.id()), eq(orgId), eq(userId),
+                eq("fk_transactions_organization"), any());
+        assertThat(meterRegistry.counter("transactions.ingest.persisted").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("transactions.ingest.failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop unreadable messages without touching the database")
+    void shouldDropUnreadableMessages() {
+        consumer.onBatch(List.of(new Message("not json".getBytes(), new MessageProperties())));
+
+        verify(batchWriter, never()).insert(anyList());
+        assertThat(meterRegistry.counter("transactions.ingest.failed").count()).isEqualTo(1);
+    }
+
+    private TransactionIngestMessage ingest(String description) {
+        return new TransactionIngestMessage(UUID.randomUUID(), orgId, userId, description, new BigDecimal("10.00"),
+                TransactionType.INCOME, Instant.now());
+    }
+
+    private Message message(TransactionIngestMessage body) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(body), new MessageProperties());
+    }
+}
@@ -0,0 +1,64 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TransactionPartitionMaintainer.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionMaintainerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should ensure the current month and the configured months ahead")
+    void shouldEnsureFuturePartitions() {
+        TransactionPartitionMaintainer maintainer = new TransactionPartitionMaintainer(jdbcTemplate,
+                ShardTopology.single(mock(DataSource.class)), CLOCK, 2, 0);
+
+        maintainer.maintain();
+
+        for (LocalDate month : List.of(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1))) {
+            verify(jdbcTemplate).queryForObject("SELECT organization.ensure_transaction_partition(?)", String.class, month);
+        }
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+    }
+
+    @Test
+    @DisplayName("Should detach only monthly partitions older than the retention window")
+    void shouldDetachExpiredPartitions() {
+        TransactionPartitionMaintainer maintainer = new TransactionPartitionMaintainer(jdbcTemplate,
+                ShardTopology.single(mock(DataSource.class)), CLOCK, 0, 6);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "transactions_default", "transactions_2026_03", "transactions_2026_04", "transactions_2026_10"));
+        when(jdbcTemplate.queryForObject("SELECT organization.detach_transaction_partition(?)", String.class,
+                LocalDate.of(2026, 3, 1))).thenReturn("transactions_2026_03");
+
+        List<String> detached = maintainer.detachExpiredPartitions();
+
+        assertThat(detached).containsExactly("transactions_2026_03");
+        verify(jdbcTemplate, times(1)).queryForObject(eq("SELECT organization.detach_transaction_partition(?)"),
+                eq(String.class), any(Object[].class));
+    }
+}
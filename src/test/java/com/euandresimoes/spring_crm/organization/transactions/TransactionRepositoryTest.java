@@ -0,0 +1,67 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests for the TransactionResponse projection read path.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TransactionRepository transactionRepo;
+
+    @Autowired
+    private OrganizationRepository organizationRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should load a 500-row keyset slice of transactions with a single statement")
+    void shouldLoadSliceWithSingleStatement() {
+        UUID userId = UUID.randomUUID();
+        OrganizationEntity organization = organizationRepo.save(new OrganizationEntity(userId, "Organization"));
+
+        for (int i = 0; i < 501; i++) {
+            transactionRepo.save(new TransactionEntity(
+                    organization,
+                    userId,
+                    "Transaction " + i,
+                    new BigDecimal("10.00"),
+                    TransactionType.INCOME));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        Slice<TransactionResponse> slice = transactionRepo.findFirstSlice(
+                userId, organization.getId(), PageRequest.of(0, 500));
+
+        assertThat(slice.getContent()).hasSize(500);
+        assertThat(slice.hasNext()).isTrue();
+        // No COUNT(*) and no lazy organization loads: one SELECT for the whole slice
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.transactions.dto.RollupBucketResponse;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import com.euandresimoes.spring_crm.organization.transactions.exception.InvalidRollupRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TransactionRollupService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionRollupServiceTest {
+
+    @Mock
+    private TransactionRollupRepository rollupRepo;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    private TransactionRollupService rollupService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new TransactionRollupService(rollupRepo, ownership, 10);
+    }
+
+    @Test
+    @DisplayName("Should add each created transaction to the rollup of its UTC day")
+    void shouldApplyDeltasPerDay() {
+        when(rollupRepo.addToRollup(any(), any(), any(), any(), anyLong())).thenReturn(1, 0);
+
+        rollupService.onTransactionsChanged(new TransactionsChangedEvent(orgId, userId, List.of(
+                TransactionChange.created(UUID.randomUUID(), new TransactionSnapshot(
+                        TransactionType.INCOME, new BigDecimal("10.00"), Instant.parse("2026-03-01T23:59:00Z"))),
+                TransactionChange.created(UUID.randomUUID(), new TransactionSnapshot(
+                        TransactionType.INCOME, new BigDecimal("5.00"), Instant.parse("2026-03-02T00:01:00Z"))))));
+
+        verify(rollupRepo).addToRollup(orgId, LocalDate.of(2026, 3, 1), TransactionType.INCOME,
+                new BigDecimal("10.00"), 1);
+        verify(rollupRepo).addToRollup(orgId, LocalDate.of(2026, 3, 2), TransactionType.INCOME,
+                new BigDecimal("5.00"), 1);
+        // The second day had no row yet
+        verify(rollupRepo).save(argThat(row -> row.getDay().equals(LocalDate.of(2026, 3, 2))));
+    }
+
+    @Test
+    @DisplayName("Should merge daily rollups into monthly buckets including empty months")
+    void shouldMergeIntoMonthlyBuckets() {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
+
+        LocalDate from = LocalDate.of(2026, 1, 15);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        when(rollupRepo.findAllByOrganizationIdAndDayBetweenOrderByDay(orgId, from, to)).thenReturn(List.of(
+                new TransactionRollupEntity(orgId, LocalDate.of(2026, 1, 20), TransactionType.INCOME,
+                        new BigDecimal("100.00"), 2),
+                new TransactionRollupEntity(orgId, LocalDate.of(2026, 1, 31), TransactionType.EXPENSE,
+                        new BigDecimal("30.00"), 1),
+                new TransactionRollupEntity(orgId, LocalDate.of(2026, 3, 3), TransactionType.INCOME,
+                        new BigDecimal("50.00"), 1)));
+
+        List<RollupBucketResponse> buckets = rollupService.findRollups(userId, orgId, from, to, RollupBucket.MONTH);
+
+        assertThat(buckets).extracting(RollupBucketResponse::start).containsExactly(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 1));
+        assertThat(buckets.get(0).net()).isEqualTo(new BigDecimal("70.00"));
+        assertThat(buckets.get(0).incomeCount()).isEqualTo(2);
+        assertThat(buckets.get(1).incomeCount()).isZero();
+        assertThat(buckets.get(2).income()).isEqualTo(new BigDecimal("50.00"));
+    }
+
+    @Test
+    @DisplayName("Should reject ranges that yield more buckets than allowed")
+    void shouldRejectTooManyBuckets() {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
+
+        assertThatThrownBy(() -> rollupService.findRollups(userId, orgId,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), RollupBucket.DAY))
+                .isInstanceOf(InvalidRollupRangeException.class);
+
+        verify(rollupRepo, never()).findAllByOrganizationIdAndDayBetweenOrderByDay(any(), any(), any());
+    }
+}
@@ -1,21 +1,31 @@
 package com.euandresimoes.spring_crm.organization.transactions;
 
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationChangeVersions;
 import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
-import com.euandresimoes.spring_crm.organization.organization_core.OrganizationRepository;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
 import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
 import com.euandresimoes.spring_crm.organization.transactions.dto.CreateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.dto.PatchTransactionCommand;
 import com.euandresimoes.spring_crm.organization.transactions.dto.TransactionResponse;
 import com.euandresimoes.spring_crm.organization.transactions.dto.UpdateTransactionCommand;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
 import com.euandresimoes.spring_crm.organization.transactions.exception.TransactionNotFoundException;
+import com.euandresimoes.spring_crm.shared.web.CursorPage;
+import com.euandresimoes.spring_crm.shared.web.KeysetCursor;
+import com.euandresimoes.spring_crm.shared.web.VersionResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -38,7 +48,16 @@ class TransactionServiceTest {
     private TransactionRepository transactionRepo;
 
     @Mock
-    private OrganizationRepository organizationRepo;
+    private OrganizationOwnership ownership;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrganizationChangeVersions changeVersions;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -56,7 +75,7 @@ class TransactionServiceTest {
         OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
         organization.setId(orgId);
 
-        when(organizationRepo.findByIdAndUserId(orgId, userId)).thenReturn(Optional.of(organization));
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
 
         TransactionResponse response = transactionService.createTransaction(userId, orgId, command);
 
@@ -65,8 +84,11 @@ class TransactionServiceTest {
         assertThat(response.amount()).isEqualTo(command.amount());
         assertThat(response.type()).isEqualTo(command.type().name());
 
-        verify(organizationRepo).findByIdAndUserId(orgId, userId);
+        verify(ownership).requireOwned(userId, orgId);
         verify(transactionRepo).save(any(TransactionEntity.class));
+        verify(events).publishEvent(argThat((TransactionsChangedEvent event) -> event.organizationId().equals(orgId)
+                && event.changes().get(0).before() == null
+                && event.changes().get(0).after().amount().equals(command.amount())));
     }
 
     @Test
@@ -79,12 +101,12 @@ class TransactionServiceTest {
                 new BigDecimal("100.00"),
                 TransactionType.INCOME);
 
-        when(organizationRepo.findByIdAndUserId(orgId, userId)).thenReturn(Optional.empty());
+        when(ownership.requireOwned(userId, orgId)).thenThrow(new OrganizationNotFoundException(orgId));
 
         assertThatThrownBy(() -> transactionService.createTransaction(userId, orgId, command))
                 .isInstanceOf(OrganizationNotFoundException.class);
 
-        verify(organizationRepo).findByIdAndUserId(orgId, userId);
+        verify(ownership).requireOwned(userId, orgId);
         verify(transactionRepo, never()).save(any(TransactionEntity.class));
     }
 
@@ -108,16 +130,44 @@ class TransactionServiceTest {
         transaction.setId(UUID.randomUUID());
         transaction.setCreatedAt(Instant.now());
 
-        Page<TransactionEntity> pageResult = new PageImpl<>(List.of(transaction));
-
-        when(transactionRepo.findAllByUserIdAndOrganization_Id(eq(userId), eq(orgId), any(Pageable.class)))
-                .thenReturn(pageResult);
+        when(transactionRepo.findResponses(eq(userId), eq(orgId), any(Pageable.class)))
+                .thenReturn(List.of(TransactionResponse.from(transaction)));
 
         List<TransactionResponse> responses = transactionService.findTransactions(userId, orgId, page, size);
 
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).description()).isEqualTo("Test Transaction");
-        verify(transactionRepo).findAllByUserIdAndOrganization_Id(eq(userId), eq(orgId), any(Pageable.class));
+        verify(transactionRepo).findResponses(eq(userId), eq(orgId), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should seek after the decoded cursor and return no next cursor on the last slice")
+    void shouldFindTransactionsAfterCursor() {
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-01-01T10:15:30.123456Z"), UUID.randomUUID());
+
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+
+        TransactionEntity transaction = new TransactionEntity(
+                organization,
+                userId,
+                "Test Transaction",
+                new BigDecimal("100.00"),
+                TransactionType.INCOME);
+        transaction.setId(UUID.randomUUID());
+        transaction.setCreatedAt(Instant.parse("2025-01-01T09:00:00Z"));
+
+        when(transactionRepo.findSliceAfter(eq(userId), eq(orgId), eq(cursor.createdAt()), eq(cursor.id()),
+                any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(TransactionResponse.from(transaction)), Pageable.ofSize(10), false));
+
+        CursorPage<TransactionResponse> result = transactionService.findTransactionsByCursor(
+                userId, orgId, cursor.encode(), 10);
+
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
     }
 
     @Test
@@ -157,6 +207,13 @@ class TransactionServiceTest {
 
         verify(transactionRepo).findByIdAndUserIdAndOrganization_Id(transactionId, userId, orgId);
         verify(transactionRepo).save(existingTransaction);
+        verify(events).publishEvent(argThat((TransactionsChangedEvent event) -> {
+            TransactionChange change = event.changes().get(0);
+            return change.before().type() == TransactionType.INCOME
+                    && change.before().amount().equals(new BigDecimal("100.00"))
+                    && change.after().type() == TransactionType.EXPENSE
+                    && change.after().amount().equals(new BigDecimal("200.00"));
+        }));
     }
 
     @Test
@@ -188,8 +245,73 @@ class TransactionServiceTest {
         UUID orgId = UUID.randomUUID();
         UUID transactionId = UUID.randomUUID();
 
-        transactionService.deleteTransaction(userId, orgId, transactionId);
+        TransactionSnapshot snapshot = new TransactionSnapshot(
+                TransactionType.INCOME,
+                new BigDecimal("100.00"),
+                Instant.now());
 
+        when(transactionRepo.lockSnapshot(transactionId, userId, orgId)).thenReturn(Optional.of(snapshot));
+        when(transactionRepo.deleteByIdAndUserIdAndOrganization_Id(transactionId, userId, orgId)).thenReturn(1);
+
+        int deleted = transactionService.deleteTransaction(userId, orgId, transactionId);
+
+        assertThat(deleted).isEqualTo(1);
         verify(transactionRepo).deleteByIdAndUserIdAndOrganization_Id(transactionId, userId, orgId);
+        verify(events).publishEvent(argThat((TransactionsChangedEvent event) -> event.changes().get(0).after() == null
+                && event.changes().get(0).before().equals(snapshot)));
+    }
+
+    @Test
+    @DisplayName("Should not publish a change when deleting a non-existent transaction")
+    void shouldIgnoreDeleteOfNonExistentTransaction() {
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID transactionId = UUID.randomUUID();
+
+        when(transactionRepo.lockSnapshot(transactionId, userId, orgId)).thenReturn(Optional.empty());
+
+        int deleted = transactionService.deleteTransaction(userId, orgId, transactionId);
+
+        assertThat(deleted).isZero();
+        verify(transactionRepo, never()).deleteByIdAndUserIdAndOrganization_Id(any(), any(), any());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    @DisplayName("Should patch the amount with one conditional update and publish the amount change")
+    void shouldPatchTransactionAmount() {
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID transactionId = UUID.randomUUID();
+        Instant createdAt = Instant.now();
+        PatchTransactionCommand command = new PatchTransactionCommand(0L, null, new BigDecimal("75.00"), null);
+        when(transactionRepo.lockSnapshot(transactionId, userId, orgId)).thenReturn(Optional.of(
+                new TransactionSnapshot(TransactionType.EXPENSE, new BigDecimal("50.00"), createdAt)));
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+
+        VersionResponse response = transactionService.patchTransaction(userId, orgId, transactionId, command);
+
+        assertThat(response.version()).isEqualTo(1);
+        verify(events).publishEvent(argThat((TransactionsChangedEvent event) -> {
+            TransactionChange change = event.changes().get(0);
+            return change.after().amount().equals(new BigDecimal("75.00"))
+                    && change.after().type() == TransactionType.EXPENSE
+                    && change.after().createdAt().equals(createdAt);
+        }));
+        verify(transactionRepo, never()).save(any(TransactionEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should throw when patching the amount of a transaction that does not exist")
+    void shouldThrowWhenPatchedTransactionNotFound() {
+        UUID userId = UUID.randomUUID();
+        UUID orgId = UUID.randomUUID();
+        UUID transactionId = UUID.randomUUID();
+        PatchTransactionCommand command = new PatchTransactionCommand(0L, null, new BigDecimal("75.00"), null);
+        when(transactionRepo.lockSnapshot(transactionId, userId, orgId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> transactionService.patchTransaction(userId, orgId, transactionId, command))
+                .isInstanceOf(TransactionNotFoundException.class);
+        verifyNoInteractions(jdbcTemplate, events);
     }
 }
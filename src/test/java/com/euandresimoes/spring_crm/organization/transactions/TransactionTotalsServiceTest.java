@@ -0,0 +1,124 @@
+package com.euandresimoes.spring_crm.organization.transactions;
+
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationEntity;
+import com.euandresimoes.spring_crm.organization.organization_core.OrganizationOwnership;
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.organization.organization_core.exception.OrganizationNotFoundException;
+import com.euandresimoes.spring_crm.organization.transactions.dto.BalanceResponse;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionChange;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionSnapshot;
+import com.euandresimoes.spring_crm.organization.transactions.event.TransactionsChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TransactionTotalsService.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionTotalsServiceTest {
+
+    @Mock
+    private TransactionTotalRepository totalRepo;
+
+    @Mock
+    private OrganizationOwnership ownership;
+
+    @InjectMocks
+    private TransactionTotalsService totalsService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orgId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should seed a zero row per transaction type when an organization is created")
+    void shouldSeedTotalsForNewOrganization() {
+        totalsService.onOrganizationCreated(new OrganizationCreatedEvent(orgId, userId));
+
+        verify(totalRepo, times(TransactionType.values().length)).save(any(TransactionTotalEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should move the amount between types when a transaction changes type")
+    void shouldApplyDeltasOfAnUpdate() {
+        Instant createdAt = Instant.now();
+        TransactionChange change = TransactionChange.updated(
+                UUID.randomUUID(),
+                new TransactionSnapshot(TransactionType.INCOME, new BigDecimal("100.00"), createdAt),
+                new TransactionSnapshot(TransactionType.EXPENSE, new BigDecimal("80.00"), createdAt));
+        when(totalRepo.addToTotal(any(), any(), any(), anyLong())).thenReturn(1);
+
+        totalsService.onTransactionsChanged(TransactionsChangedEvent.of(orgId, userId, change));
+
+        verify(totalRepo).addToTotal(orgId, TransactionType.INCOME, new BigDecimal("-100.00"), -1);
+        verify(totalRepo).addToTotal(orgId, TransactionType.EXPENSE, new BigDecimal("80.00"), 1);
+        verify(totalRepo, never()).save(any(TransactionTotalEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the write when a change leaves the totals untouched")
+    void shouldSkipNoOpDeltas() {
+        TransactionSnapshot snapshot = new TransactionSnapshot(TransactionType.INCOME, new BigDecimal("10.00"),
+                Instant.now());
+
+        totalsService.onTransactionsChanged(TransactionsChangedEvent.of(orgId, userId,
+                TransactionChange.updated(UUID.randomUUID(), snapshot, snapshot)));
+
+        verifyNoInteractions(totalRepo);
+    }
+
+    @Test
+    @DisplayName("Should insert the row when no totals row exists yet")
+    void shouldInsertMissingRow() {
+        when(totalRepo.addToTotal(any(), any(), any(), anyLong())).thenReturn(0);
+
+        totalsService.onTransactionsChanged(TransactionsChangedEvent.of(orgId, userId, TransactionChange.created(
+                UUID.randomUUID(),
+                new TransactionSnapshot(TransactionType.INCOME, new BigDecimal("10.00"), Instant.now()))));
+
+        verify(totalRepo).save(argThat(row -> row.getType() == TransactionType.INCOME && row.getCount() == 1));
+    }
+
+    @Test
+    @DisplayName("Should compute the balance from the stored totals")
+    void shouldReturnBalance() {
+        OrganizationEntity organization = new OrganizationEntity(userId, "Organization Name");
+        organization.setId(orgId);
+        when(ownership.requireOwned(userId, orgId)).thenReturn(organization);
+        when(totalRepo.findAllByOrganizationId(orgId)).thenReturn(List.of(
+                new TransactionTotalEntity(orgId, TransactionType.INCOME, new BigDecimal("1500.00"), 3),
+                new TransactionTotalEntity(orgId, TransactionType.EXPENSE, new BigDecimal("400.50"), 2)));
+
+        BalanceResponse balance = totalsService.getBalance(userId, orgId);
+
+        assertThat(balance.income()).isEqualTo(new BigDecimal("1500.00"));
+        assertThat(balance.expense()).isEqualTo(new BigDecimal("400.50"));
+        assertThat(balance.net()).isEqualTo(new BigDecimal("1099.50"));
+        assertThat(balance.incomeCount()).isEqualTo(3);
+        assertThat(balance.expenseCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should throw OrganizationNotFoundException for a balance of a foreign organization")
+    void shouldRejectBalanceOfUnknownOrganization() {
+        when(ownership.requireOwned(userId, orgId)).thenThrow(new OrganizationNotFoundException(orgId));
+
+        assertThatThrownBy(() -> totalsService.getBalance(userId, orgId))
+                .isInstanceOf(OrganizationNotFoundException.class);
+
+        verify(totalRepo, never()).findAllByOrganizationId(any());
+    }
+}
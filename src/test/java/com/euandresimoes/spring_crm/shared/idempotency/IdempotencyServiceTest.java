@@ -0,0 +1,162 @@
+package com.euandresimoes.spring_crm.shared.idempotency;
+
+import com.euandresimoes.spring_crm.shared.idempotency.exception.IdempotencyKeyReusedException;
+import com.euandresimoes.spring_crm.shared.idempotency.exception.InvalidIdempotencyKeyException;
+import com.euandresimoes.spring_crm.shared.sharding.ShardTopology;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the IdempotencyService.
+ * Runs against the embedded H2 database without a surrounding test transaction,
+ * so the claims commit and are visible to concurrent requests as in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String scope = "client.create:" + UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should run the action once and replay its response for a retry with the same key")
+    void shouldReplayCompletedRequest() {
+        IdempotencyService idempotency = newService();
+        AtomicInteger runs = new AtomicInteger();
+
+        Created first = idempotency.execute(userId, scope, "key-1", new Command("Client"), Created.class,
+                () -> create(runs, "Client"));
+        Created retry = idempotency.execute(userId, scope, "key-1", new Command("Client"), Created.class,
+                () -> create(runs, "Client"));
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should replay from the database after a restart emptied the in-memory cache")
+    void shouldReplayAfterRestart() {
+        AtomicInteger runs = new AtomicInteger();
+        Created first = newService().execute(userId, scope, "key-2", new Command("Client"), Created.class,
+                () -> create(runs, "Client"));
+
+        Created retry = newService().execute(userId, scope, "key-2", new Command("Client"), Created.class,
+                () -> create(runs, "Client"));
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the first request and return its response")
+    void shouldWaitForInFlightDuplicate() throws Exception {
+        IdempotencyService idempotency = newService();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Created> first = CompletableFuture.supplyAsync(() -> idempotency.execute(
+                userId, scope, "key-3", new Command("Client"), Created.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return create(runs, "Client");
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Created> duplicate = CompletableFuture.supplyAsync(() -> idempotency.execute(
+                userId, scope, "key-3", new Command("Client"), Created.class, () -> create(runs, "Client")));
+
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request body")
+    void shouldRejectReusedKey() {
+        IdempotencyService idempotency = newService();
+        AtomicInteger runs = new AtomicInteger();
+        idempotency.execute(userId, scope, "key-4", new Command("Client"), Created.class,
+                () -> create(runs, "Client"));
+
+        assertThatThrownBy(() -> idempotency.execute(userId, scope, "key-4", new Command("Other"), Created.class,
+                () -> create(runs, "Other")))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key of a failed request so a retry runs again")
+    void shouldReleaseKeyOnFailure() {
+        IdempotencyService idempotency = newService();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThatThrownBy(() -> idempotency.execute(userId, scope, "key-5", new Command("Client"), Created.class,
+                () -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        Created retry = idempotency.execute(userId, scope, "key-5", new Command("Client"), Created.class,
+                () -> create(runs, "Client"));
+
+        assertThat(retry.name()).isEqualTo("Client");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank Idempotency-Key")
+    void shouldRejectBlankKey() {
+        assertThatThrownBy(() -> newService().execute(userId, scope, " ", new Command("Client"), Created.class,
+                () -> new Created(UUID.randomUUID(), "Client")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    private IdempotencyService newService() {
+        return new IdempotencyService(jdbcTemplate, ShardTopology.single(jdbcTemplate.getDataSource()),
+                transactionManager, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), Duration.ofHours(24), Duration.ofSeconds(5), Duration.ofMinutes(1), 100);
+    }
+
+    private static Created create(AtomicInteger runs, String name) {
+        runs.incrementAndGet();
+        return new Created(UUID.randomUUID(), name);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Command(String name) {
+    }
+
+    record Created(UUID id, String name) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ReplicaPoolDataSource and the ReadYourWritesFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplicaPoolDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send read-only connections to the replica and the rest to the primary")
+    void shouldRouteByReadOnlyFlag() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        DataSource routing = routing();
+
+        try (Connection connection = routing.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+        try (Connection connection = routing.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica refuses a connection")
+    void shouldFallBackToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenThrow(new SQLException("replica down"));
+        ReplicaPoolDataSource replicas = new ReplicaPoolDataSource(primary, List.of(replica),
+                new SimpleMeterRegistry());
+
+        assertThat(replicas.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("Should pin reads to the primary during a write and for the sticky window after it")
+    void shouldPinReadsAfterWrite() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaPoolDataSource replicas = new ReplicaPoolDataSource(primary, List.of(replica),
+                new SimpleMeterRegistry());
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1), 100);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(UUID.randomUUID().toString(), null, List.of()));
+        AtomicReference<Connection> duringWrite = new AtomicReference<>();
+        AtomicReference<Connection> afterWrite = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/clients"), new MockHttpServletResponse(),
+                (request, response) -> duringWrite.set(getConnection(replicas)));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/clients"), new MockHttpServletResponse(),
+                (request, response) -> afterWrite.set(getConnection(replicas)));
+
+        assertThat(duringWrite.get()).isSameAs(primaryConnection);
+        assertThat(afterWrite.get()).isSameAs(primaryConnection);
+        assertThat(ReadYourWritesFilter.isPinned()).isFalse();
+        verify(replica, never()).getConnection();
+    }
+
+    private DataSource routing() {
+        return ReplicaDataSourceConfig.routingProxy(primary,
+                new ReplicaPoolDataSource(primary, List.of(replica), new SimpleMeterRegistry()));
+    }
+
+    private static Connection getConnection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
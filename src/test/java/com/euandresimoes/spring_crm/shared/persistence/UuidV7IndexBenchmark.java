@@ -0,0 +1,81 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput and table size of random (v4) against time-ordered (v7)
+ * ids, each into its own table of a file-based H2 database. H2 stores and
+ * splits pages differently from a Postgres B-tree, so its sizes do not carry
+ * over; the throughput gap is the number to read. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class UuidV7IndexBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should insert time-ordered ids at least as fast as random ones")
+    void compareRandomWithTimeOrderedIds() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:" + directory.resolve("ids"), true);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            // Warm up both paths before measuring
+            insert(jdbcTemplate, "warmup_v4", UUID::randomUUID, ROWS / 10);
+            insert(jdbcTemplate, "warmup_v7", UuidV7::generate, ROWS / 10);
+
+            double v4RowsPerSecond = insert(jdbcTemplate, "ids_v4", UUID::randomUUID, ROWS);
+            double v7RowsPerSecond = insert(jdbcTemplate, "ids_v7", UuidV7::generate, ROWS);
+            jdbcTemplate.execute("CHECKPOINT SYNC");
+            long v4Bytes = spaceUsed(jdbcTemplate, "IDS_V4");
+            long v7Bytes = spaceUsed(jdbcTemplate, "IDS_V7");
+
+            System.out.printf("uuid v4: %,d rows, %,.0f rows/s, %,d bytes on disk%n", ROWS, v4RowsPerSecond, v4Bytes);
+            System.out.printf("uuid v7: %,d rows, %,.0f rows/s, %,d bytes on disk%n", ROWS, v7RowsPerSecond, v7Bytes);
+            assertThat(v7RowsPerSecond).isGreaterThan(v4RowsPerSecond);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private static double insert(JdbcTemplate jdbcTemplate, String table, Supplier<UUID> ids, int rows) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, payload VARCHAR(64))");
+        String sql = "INSERT INTO " + table + " (id, payload) VALUES (?, ?)";
+
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[] { ids.get(), "payload " + i });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            jdbcTemplate.batchUpdate(sql, batch);
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static long spaceUsed(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('" + table + "')", Long.class);
+    }
+}
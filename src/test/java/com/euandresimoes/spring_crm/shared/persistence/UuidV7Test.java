@@ -0,0 +1,63 @@
+package com.euandresimoes.spring_crm.shared.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the UUIDv7 generator.
+ * Validates the version and variant bits, the embedded timestamp and ordering.
+ */
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should produce RFC 9562 version 7 UUIDs carrying the current time")
+    void shouldProduceVersion7Uuids() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID id = UuidV7.generate();
+
+        // Assert
+        long after = System.currentTimeMillis();
+        long embeddedMillis = id.getMostSignificantBits() >>> 16;
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(embeddedMillis).isBetween(before, after + 1);
+    }
+
+    @Test
+    @DisplayName("Should read back the embedded creation time of version 7 ids only")
+    void shouldExposeEmbeddedTimestamp() {
+        long before = System.currentTimeMillis();
+
+        Instant timestamp = UuidV7.timestamp(UuidV7.generate());
+
+        assertThat(timestamp.toEpochMilli()).isBetween(before, System.currentTimeMillis() + 1);
+        assertThat(UuidV7.timestamp(UUID.randomUUID())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids in strictly increasing order")
+    void shouldGenerateMonotonicIds() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+
+        // Assert: the textual form sorts like the index does
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        assertThat(ids.stream().map(UUID::toString).toList()).isSorted();
+    }
+}
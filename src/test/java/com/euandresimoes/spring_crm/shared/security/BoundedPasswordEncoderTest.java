@@ -0,0 +1,71 @@
+package com.euandresimoes.spring_crm.shared.security;
+
+import com.euandresimoes.spring_crm.shared.security.exception.PasswordHashingUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the bounded password encoder.
+ * Validates delegation and fail-fast rejection when the queue is full.
+ */
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should delegate encode and matches to the wrapped encoder")
+    void shouldDelegateToWrappedEncoder() {
+        // Arrange
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("senha123")).thenReturn("hash");
+        when(delegate.matches("senha123", "hash")).thenReturn(true);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1, new SimpleMeterRegistry())) {
+            // Act & Assert
+            assertThat(encoder.encode("senha123")).isEqualTo("hash");
+            assertThat(encoder.matches("senha123", "hash")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the worker and queue are both busy")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1, new SimpleMeterRegistry())) {
+            // One task occupies the worker, a second one fills the queue
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            Thread.sleep(100);
+
+            // Act & Assert
+            assertThatThrownBy(() -> encoder.encode("third"))
+                    .isInstanceOf(PasswordHashingUnavailableException.class);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.euandresimoes.spring_crm.shared.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-request cost of verifying a JWT against a hit in the
+ * verified token cache. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class JwtVerificationBenchmark {
+
+    private static final int TOKENS = 1_000;
+    private static final int ROUNDS = 200;
+
+    @Test
+    @DisplayName("Should serve repeat tokens from the cache faster than verifying them")
+    void compareVerificationWithCacheHits() {
+        JwtService jwtService = new JwtService("test-secret-key-for-jwt");
+        VerifiedTokenCache cache = new VerifiedTokenCache(TOKENS, new SimpleMeterRegistry());
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            String token = jwtService.generate("user-" + i, "USER");
+            tokens.add(token);
+            cache.put(token, VerifiedToken.from(jwtService.verifyAndDecode(token)));
+        }
+
+        // Warm up both paths before measuring
+        measure(() -> tokens.forEach(token -> VerifiedToken.from(jwtService.verifyAndDecode(token))), ROUNDS / 4);
+        measure(() -> tokens.forEach(cache::get), ROUNDS / 4);
+
+        double verifyNanos = measure(
+                () -> tokens.forEach(token -> VerifiedToken.from(jwtService.verifyAndDecode(token))), ROUNDS);
+        double cachedNanos = measure(() -> tokens.forEach(cache::get), ROUNDS);
+
+        System.out.printf("jwt verify+decode: %,.0f ns/op (%,.0f ops/s)%n", verifyNanos, 1e9 / verifyNanos);
+        System.out.printf("jwt cache hit:     %,.0f ns/op (%,.0f ops/s)%n", cachedNanos, 1e9 / cachedNanos);
+        assertThat(cachedNanos).isLessThan(verifyNanos);
+    }
+
+    private static double measure(Runnable round, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            round.run();
+        }
+        return (double) (System.nanoTime() - start) / ((long) rounds * TOKENS);
+    }
+}
@@ -0,0 +1,137 @@
+package com.euandresimoes.spring_crm.shared.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the verified token cache.
+ * Validates hit/miss accounting, expiry and the size bound.
+ */
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(2, new SimpleMeterRegistry());
+        jwtService = new JwtService("test-secret-key-for-jwt");
+    }
+
+    @Test
+    @DisplayName("Should return the cached subject and authorities after a put")
+    void shouldReturnCachedTokenAfterPut() {
+        // Arrange
+        String token = jwtService.generate("user-id-123", "ADMIN");
+        VerifiedToken verified = VerifiedToken.from(jwtService.verifyAndDecode(token));
+
+        // Act
+        VerifiedToken beforePut = cache.get(token);
+        cache.put(token, verified);
+        VerifiedToken afterPut = cache.get(token);
+
+        // Assert
+        assertThat(beforePut).isNull();
+        assertThat(afterPut).isNotNull();
+        assertThat(afterPut.subject()).isEqualTo("user-id-123");
+        assertThat(afterPut.authorities()).containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not return an entry whose expiration has passed")
+    void shouldNotReturnExpiredEntry() {
+        // Arrange
+        VerifiedToken expired = new VerifiedToken("user-id", List.of(), Instant.now().minusSeconds(1));
+        VerifiedToken live = new VerifiedToken("user-id", List.of(), Instant.now().plusSeconds(60));
+        cache.put("expired-token", expired);
+        cache.put("live-token", live);
+
+        // Act & Assert
+        assertThat(cache.get("expired-token")).isNull();
+        assertThat(cache.get("live-token")).isEqualTo(live);
+    }
+
+    @Test
+    @DisplayName("Should not grow past the configured maximum number of entries")
+    void shouldRespectMaxEntries() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        // Act
+        cache.put("token-1", new VerifiedToken("user-1", List.of(), expiresAt));
+        cache.put("token-2", new VerifiedToken("user-2", List.of(), expiresAt));
+        cache.put("token-3", new VerifiedToken("user-3", List.of(), expiresAt));
+
+        // Assert
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token-3")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should sweep expired entries out of a full cache at most once per interval")
+    void shouldRateLimitSweepsOfFullCache() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+        VerifiedTokenCache bounded = new VerifiedTokenCache(2, new SimpleMeterRegistry(), clock);
+        Instant start = clock.instant();
+        bounded.put("token-1", new VerifiedToken("user-1", List.of(), start.plusSeconds(10)));
+        bounded.put("token-2", new VerifiedToken("user-2", List.of(), start.plusSeconds(60)));
+
+        // Act: a sweep that finds nothing, then token-1 expires right after it
+        clock.advance(Duration.ofMillis(9_500));
+        bounded.put("token-3", new VerifiedToken("user-3", List.of(), start.plusSeconds(60)));
+        clock.advance(Duration.ofMillis(700));
+        bounded.put("token-4", new VerifiedToken("user-4", List.of(), start.plusSeconds(60)));
+        boolean storedWithinInterval = bounded.get("token-4") != null;
+        clock.advance(Duration.ofMillis(400));
+        bounded.put("token-5", new VerifiedToken("user-5", List.of(), start.plusSeconds(60)));
+
+        // Assert
+        assertThat(storedWithinInterval).isFalse();
+        assertThat(bounded.get("token-5")).isNotNull();
+        assertThat(bounded.size()).isEqualTo(2);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.euandresimoes.spring_crm.shared.sharding;
+
+import com.euandresimoes.spring_crm.organization.organization_core.event.OrganizationCreatedEvent;
+import com.euandresimoes.spring_crm.shared.sharding.exception.OrganizationMovingException;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing tests for the sharding layer, against three separate in-memory H2
+ * databases with the Flyway migrations applied to each.
+ */
+class ShardRoutingTest {
+
+    private static final List<String> SHARDS = List.of(ShardTopology.HOME, "shard-b", "shard-c");
+
+    private ShardTopology topology;
+    private ShardRoutingDataSource routing;
+    private ShardDirectory directory;
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (String shard : SHARDS) {
+            DataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:" + shard + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+            dataSources.put(shard, dataSource);
+        }
+        topology = new ShardTopology(dataSources);
+        routing = new ShardRoutingDataSource(topology);
+        directory = new ShardDirectory(topology, Duration.ofMinutes(1), 100, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SHARDS.forEach(shard -> jdbc(shard).execute("SHUTDOWN"));
+    }
+
+    @Test
+    @DisplayName("Should spread users evenly over the shards and place each one consistently")
+    void shouldSpreadPlacementsOverShards() {
+        ShardRing ring = new ShardRing(SHARDS);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            counts.merge(ring.shardFor(UUID.randomUUID()), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys(SHARDS);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(700, 1300));
+
+        UUID userId = UUID.randomUUID();
+        assertThat(directory.placeFor(userId)).isEqualTo(new ShardRing(SHARDS).shardFor(userId));
+    }
+
+    @Test
+    @DisplayName("Should send connections to the shard of the current context and to home without one")
+    void shouldRouteByShardContext() {
+        UUID onB = UUID.randomUUID();
+        UUID onHome = UUID.randomUUID();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+
+        ShardContext.run("shard-b", () -> insertOrganization(jdbcTemplate, onB));
+        insertOrganization(jdbcTemplate, onHome);
+
+        assertThat(organizationIds("shard-b")).containsExactly(onB);
+        assertThat(organizationIds(ShardTopology.HOME)).containsExactly(onHome);
+        assertThat(organizationIds("shard-c")).isEmpty();
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should register new organizations in the home directory under the shard they were created on")
+    void shouldRecordPlacementOfNewOrganization() {
+        UUID organizationId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        ShardContext.run("shard-c", () -> directory.onOrganizationCreated(
+                new OrganizationCreatedEvent(organizationId, userId)));
+
+        assertThat(directory.lookup(organizationId)).isEqualTo(new ShardDirectory.Placement("shard-c", false));
+        assertThat(directory.shardForRead(organizationId)).isEqualTo("shard-c");
+        assertThat(jdbc("shard-c").queryForObject(
+                "SELECT COUNT(*) FROM organization.organization_shards", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse writes but keep serving reads while an organization is being moved")
+    void shouldFreezeWritesOfMovingOrganization() {
+        UUID organizationId = UUID.randomUUID();
+        ShardContext.run("shard-b", () -> directory.onOrganizationCreated(
+                new OrganizationCreatedEvent(organizationId, UUID.randomUUID())));
+
+        assertThat(directory.markMoving(organizationId, "shard-b")).isTrue();
+
+        assertThat(directory.shardForRead(organizationId)).isEqualTo("shard-b");
+        assertThatThrownBy(() -> directory.shardForWrite(organizationId))
+                .isInstanceOf(OrganizationMovingException.class);
+
+        assertThat(directory.relocate(organizationId, "shard-b", "shard-c")).isTrue();
+        assertThat(directory.shardForWrite(organizationId)).isEqualTo("shard-c");
+    }
+
+    @Test
+    @DisplayName("Should fan a per-user query out to every shard holding organizations of the user")
+    void shouldFanOutOverShardsOfUser() {
+        UUID userId = UUID.randomUUID();
+        UUID onB = UUID.randomUUID();
+        UUID onC = UUID.randomUUID();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+        for (Map.Entry<String, UUID> entry : Map.of("shard-b", onB, "shard-c", onC).entrySet()) {
+            ShardContext.run(entry.getKey(), () -> {
+                insertOrganization(jdbcTemplate, entry.getValue(), userId);
+                directory.onOrganizationCreated(new OrganizationCreatedEvent(entry.getValue(), userId));
+            });
+        }
+
+        List<UUID> found = directory.fanOut(userId, () -> jdbcTemplate.queryForList(
+                "SELECT id FROM organization.organizations WHERE user_id = ?", UUID.class, userId));
+
+        assertThat(found).containsExactly(onB, onC);
+    }
+
+    @Test
+    @DisplayName("Should write a streaming response from the shard of the request on another thread")
+    void shouldStreamFromShardOfRequest() throws Exception {
+        UUID onB = UUID.randomUUID();
+        UUID onHome = UUID.randomUUID();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+        ShardContext.run("shard-b", () -> insertOrganization(jdbcTemplate, onB));
+        insertOrganization(jdbcTemplate, onHome);
+
+        StreamingResponseBody body = ShardContext.call("shard-b", () -> ShardContext.bind(out -> out.write(
+                jdbcTemplate.queryForList("SELECT id FROM organization.organizations", UUID.class)
+                        .toString().getBytes(StandardCharsets.UTF_8))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                body.writeTo(out);
+                return null;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(List.of(onB).toString());
+        assertThat(ShardContext.current()).isNull();
+    }
+
+    private void insertOrganization(JdbcTemplate jdbcTemplate, UUID organizationId) {
+        insertOrganization(jdbcTemplate, organizationId, UUID.randomUUID());
+    }
+
+    private void insertOrganization(JdbcTemplate jdbcTemplate, UUID organizationId, UUID userId) {
+        jdbcTemplate.update("INSERT INTO organization.organizations (id, user_id, name) VALUES (?, ?, ?)",
+                organizationId, userId, "Organization");
+    }
+
+    private List<UUID> organizationIds(String shard) {
+        return jdbc(shard).queryForList("SELECT id FROM organization.organizations", UUID.class);
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(topology.dataSource(shard));
+    }
+}
@@ -0,0 +1,53 @@
+package com.euandresimoes.spring_crm.shared.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ConditionalGet helper.
+ */
+class ConditionalGetTest {
+
+    private static final String ETAG = "W/\"abc-1-ff\"";
+
+    @Test
+    @DisplayName("Should answer 304 without building the body when If-None-Match matches")
+    void shouldReturnNotModifiedOnMatch() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<ApiResponse<List<String>>> response = ConditionalGet.respond(ETAG, "\"other\", " + ETAG,
+                () -> {
+                    calls.incrementAndGet();
+                    return List.of("a");
+                });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should build the body and attach the ETag when nothing matches")
+    void shouldReturnBodyWithETag() {
+        ResponseEntity<ApiResponse<List<String>>> response = ConditionalGet.respond(ETAG, null, () -> List.of("a"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(response.getBody().data()).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("Should compare tags weakly")
+    void shouldIgnoreWeakPrefix() {
+        assertThat(ConditionalGet.matches("\"abc-1-ff\"", ETAG)).isTrue();
+        assertThat(ConditionalGet.matches("*", ETAG)).isTrue();
+        assertThat(ConditionalGet.matches("W/\"abc-2-ff\"", ETAG)).isFalse();
+    }
+}